@@ -0,0 +1,241 @@
+package org.fluttercode.datafactory.benchmark;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.fluttercode.datafactory.impl.DataFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for each of the public generator methods on {@link DataFactory}. Subclasses decide how the factory is
+ * shared between threads and how many threads are used, so the same set of benchmarks can be used to measure both the
+ * raw cost per call and the cost under contention.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class AbstractDataFactoryBenchmark {
+
+  static final long SEED = 93285;
+
+  private static final String[] ITEM_ARRAY = { "Cat", "Dog", "Goat", "Horse", "Sheep" };
+  private static final List<String> ITEM_LIST = Arrays.asList(ITEM_ARRAY);
+
+  private DataFactory dataFactory;
+  private Date baseDate;
+  private Date maxDate;
+
+  @Setup
+  public void setUp() {
+    dataFactory = createDataFactory();
+    baseDate = dataFactory.getDate(2000, 1, 1);
+    maxDate = dataFactory.getDate(2015, 1, 1);
+  }
+
+  /**
+   * @return the factory instance to benchmark against
+   */
+  protected abstract DataFactory createDataFactory();
+
+  @Benchmark
+  public String getItemFromList() {
+    return dataFactory.getItem(ITEM_LIST);
+  }
+
+  @Benchmark
+  public String getItemFromListWithProbability() {
+    return dataFactory.getItem(ITEM_LIST, 80);
+  }
+
+  @Benchmark
+  public String getItemFromListWithDefault() {
+    return dataFactory.getItem(ITEM_LIST, 80, "None");
+  }
+
+  @Benchmark
+  public String getItemFromArray() {
+    return dataFactory.getItem(ITEM_ARRAY);
+  }
+
+  @Benchmark
+  public String getItemFromArrayWithProbability() {
+    return dataFactory.getItem(ITEM_ARRAY, 80);
+  }
+
+  @Benchmark
+  public String getItemFromArrayWithDefault() {
+    return dataFactory.getItem(ITEM_ARRAY, 80, "None");
+  }
+
+  @Benchmark
+  public String getFirstName() {
+    return dataFactory.getFirstName();
+  }
+
+  @Benchmark
+  public String getLastName() {
+    return dataFactory.getLastName();
+  }
+
+  @Benchmark
+  public String getName() {
+    return dataFactory.getName();
+  }
+
+  @Benchmark
+  public String getPrefix() {
+    return dataFactory.getPrefix(50);
+  }
+
+  @Benchmark
+  public String getSuffix() {
+    return dataFactory.getSuffix(50);
+  }
+
+  @Benchmark
+  public String getStreetName() {
+    return dataFactory.getStreetName();
+  }
+
+  @Benchmark
+  public String getStreetSuffix() {
+    return dataFactory.getStreetSuffix();
+  }
+
+  @Benchmark
+  public String getCity() {
+    return dataFactory.getCity();
+  }
+
+  @Benchmark
+  public String getAddress() {
+    return dataFactory.getAddress();
+  }
+
+  @Benchmark
+  public String getAddressLine2() {
+    return dataFactory.getAddressLine2();
+  }
+
+  @Benchmark
+  public String getAddressLine2WithProbability() {
+    return dataFactory.getAddressLine2(50);
+  }
+
+  @Benchmark
+  public String getAddressLine2WithDefault() {
+    return dataFactory.getAddressLine2(50, "");
+  }
+
+  @Benchmark
+  public String getBusinessName() {
+    return dataFactory.getBusinessName();
+  }
+
+  @Benchmark
+  public String getEmailAddress() {
+    return dataFactory.getEmailAddress();
+  }
+
+  @Benchmark
+  public int getNumber() {
+    return dataFactory.getNumber();
+  }
+
+  @Benchmark
+  public int getNumberUpTo() {
+    return dataFactory.getNumberUpTo(1000);
+  }
+
+  @Benchmark
+  public int getNumberBetween() {
+    return dataFactory.getNumberBetween(-1000, 1000);
+  }
+
+  @Benchmark
+  public String getNumberText() {
+    return dataFactory.getNumberText(10);
+  }
+
+  @Benchmark
+  public boolean chance() {
+    return dataFactory.chance(50);
+  }
+
+  @Benchmark
+  public Date getBirthDate() {
+    return dataFactory.getBirthDate();
+  }
+
+  @Benchmark
+  public Date getDateFromFields() {
+    return dataFactory.getDate(2011, 2, 8);
+  }
+
+  @Benchmark
+  public Date getDateFromBaseDate() {
+    return dataFactory.getDate(baseDate, -10, 10);
+  }
+
+  @Benchmark
+  public Date getDateBetween() {
+    return dataFactory.getDateBetween(baseDate, maxDate);
+  }
+
+  @Benchmark
+  public char getRandomChar() {
+    return dataFactory.getRandomChar();
+  }
+
+  @Benchmark
+  public String getRandomChars() {
+    return dataFactory.getRandomChars(20);
+  }
+
+  @Benchmark
+  public String getRandomCharsBetween() {
+    return dataFactory.getRandomChars(10, 30);
+  }
+
+  @Benchmark
+  public String getRandomWord() {
+    return dataFactory.getRandomWord();
+  }
+
+  @Benchmark
+  public String getRandomWordOfLength() {
+    return dataFactory.getRandomWord(6);
+  }
+
+  @Benchmark
+  public String getRandomWordUpToLength() {
+    return dataFactory.getRandomWord(6, false);
+  }
+
+  @Benchmark
+  public String getRandomWordBetween() {
+    return dataFactory.getRandomWord(4, 10);
+  }
+
+  @Benchmark
+  public String getRandomText() {
+    return dataFactory.getRandomText(100);
+  }
+
+  @Benchmark
+  public String getRandomTextBetween() {
+    return dataFactory.getRandomText(50, 500);
+  }
+
+}
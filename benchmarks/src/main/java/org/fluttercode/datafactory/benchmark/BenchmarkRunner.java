@@ -0,0 +1,33 @@
+package org.fluttercode.datafactory.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for the benchmarks jar. Runs the benchmarks with the GC profiler enabled so that allocation rates are
+ * reported alongside the timings. Any standard JMH command line arguments can be passed in, for example a regular
+ * expression to select a subset of the benchmarks :
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar SingleThreadBenchmark.getEmailAddress
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {
+  }
+
+  public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+    Options options = new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(options).run();
+  }
+
+}
@@ -0,0 +1,54 @@
+package org.fluttercode.datafactory.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.fluttercode.datafactory.impl.ColumnGenerator;
+import org.fluttercode.datafactory.impl.DataFactory;
+import org.fluttercode.datafactory.impl.Row;
+import org.fluttercode.datafactory.impl.RowPlan;
+import org.fluttercode.datafactory.impl.RowSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the number of rows per second a compiled {@link RowPlan} generates for a typical user table.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowPlanBenchmark {
+
+  private RowPlan plan;
+  private Row row;
+
+  @Setup
+  public void setUp() {
+    plan = RowSchema.create()
+        .column("id", ColumnGenerator.sequence(1))
+        .column("first_name", ColumnGenerator.firstName())
+        .column("last_name", ColumnGenerator.lastName())
+        .column("email", ColumnGenerator.emailAddress())
+        .column("birth_date", ColumnGenerator.birthDate())
+        .column("city", ColumnGenerator.city(), 90, null)
+        .compile(DataFactory.create(AbstractDataFactoryBenchmark.SEED));
+    row = plan.newRow();
+  }
+
+  @Benchmark
+  public Row userRow() {
+    plan.next(row);
+    return row;
+  }
+
+}
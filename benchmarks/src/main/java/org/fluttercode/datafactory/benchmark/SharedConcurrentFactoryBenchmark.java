@@ -0,0 +1,21 @@
+package org.fluttercode.datafactory.benchmark;
+
+import org.fluttercode.datafactory.impl.DataFactory;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Runs the generator benchmarks on all available processors against a single shared concurrent factory, which gives
+ * each thread its own random stream. Compare with {@link SharedFactoryBenchmark} for the cost of contention.
+ */
+@State(Scope.Benchmark)
+@Threads(Threads.MAX)
+public class SharedConcurrentFactoryBenchmark extends AbstractDataFactoryBenchmark {
+
+  @Override
+  protected DataFactory createDataFactory() {
+    return DataFactory.createConcurrent(SEED);
+  }
+
+}
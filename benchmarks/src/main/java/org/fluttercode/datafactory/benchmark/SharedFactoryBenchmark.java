@@ -0,0 +1,21 @@
+package org.fluttercode.datafactory.benchmark;
+
+import org.fluttercode.datafactory.impl.DataFactory;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Runs the generator benchmarks on all available processors against a single shared factory, which measures the cost
+ * of contention on the shared random number generator.
+ */
+@State(Scope.Benchmark)
+@Threads(Threads.MAX)
+public class SharedFactoryBenchmark extends AbstractDataFactoryBenchmark {
+
+  @Override
+  protected DataFactory createDataFactory() {
+    return DataFactory.create(SEED);
+  }
+
+}
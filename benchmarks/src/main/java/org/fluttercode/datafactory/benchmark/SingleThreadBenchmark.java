@@ -0,0 +1,20 @@
+package org.fluttercode.datafactory.benchmark;
+
+import org.fluttercode.datafactory.impl.DataFactory;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Runs the generator benchmarks on a single thread with its own seeded factory.
+ */
+@State(Scope.Thread)
+@Threads(1)
+public class SingleThreadBenchmark extends AbstractDataFactoryBenchmark {
+
+  @Override
+  protected DataFactory createDataFactory() {
+    return DataFactory.create(SEED);
+  }
+
+}
@@ -0,0 +1,21 @@
+package org.fluttercode.datafactory.benchmark;
+
+import org.fluttercode.datafactory.impl.DataFactory;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Runs the generator benchmarks on all available processors, with each thread using its own factory instance. This is
+ * the baseline for how well the generators scale when nothing is shared.
+ */
+@State(Scope.Thread)
+@Threads(Threads.MAX)
+public class ThreadLocalFactoryBenchmark extends AbstractDataFactoryBenchmark {
+
+  @Override
+  protected DataFactory createDataFactory() {
+    return DataFactory.create(SEED);
+  }
+
+}
@@ -0,0 +1,435 @@
+package org.fluttercode.datafactory.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+import org.fluttercode.datafactory.annotation.Address;
+import org.fluttercode.datafactory.annotation.BirthDate;
+import org.fluttercode.datafactory.annotation.BusinessName;
+import org.fluttercode.datafactory.annotation.City;
+import org.fluttercode.datafactory.annotation.Email;
+import org.fluttercode.datafactory.annotation.FirstName;
+import org.fluttercode.datafactory.annotation.LastName;
+import org.fluttercode.datafactory.annotation.Name;
+import org.fluttercode.datafactory.annotation.NumberBetween;
+import org.fluttercode.datafactory.annotation.PhoneNumber;
+import org.fluttercode.datafactory.annotation.Text;
+
+/**
+ * Annotation processor that writes a populator class for each class with fields marked with the annotations in
+ * <code>org.fluttercode.datafactory.annotation</code>. The populator for <code>Person</code> is
+ * <code>PersonPopulator</code> in the same package (<code>Outer_InnerPopulator</code> for nested classes) and is
+ * plain Java code that calls the {@link org.fluttercode.datafactory.impl.DataFactory} generators for each field in the
+ * order they are declared, starting with the fields inherited from superclasses, so there is no reflection or start
+ * up cost at run time :
+ *
+ * <pre>
+ * public class Person {
+ *   &#64;FirstName String firstName;
+ *   &#64;Email String email;
+ *   &#64;NumberBetween(min = 18, max = 90) int age;
+ * }
+ *
+ * Person person = PersonPopulator.create(dataFactory);
+ * PersonPopulator.populate(existingPerson, dataFactory);
+ * </pre>
+ *
+ * Fields are assigned directly when they are not private, final or static and can be seen from the populator,
+ * otherwise through a <code>set</code> method taking the field type. The <code>create</code> method is only written
+ * for classes with a no argument constructor. Mistakes such as an annotation on a field of the wrong type, or two
+ * classes that would share a populator name, are reported as compile errors.
+ */
+@SupportedAnnotationTypes("org.fluttercode.datafactory.annotation.*")
+public class PopulatorProcessor extends AbstractProcessor {
+
+  private static final String DATA_FACTORY = "org.fluttercode.datafactory.impl.DataFactory";
+
+  private static final List<Class<? extends Annotation>> ANNOTATIONS = Arrays.asList(
+      FirstName.class, LastName.class, Name.class, Email.class, Address.class, City.class, BusinessName.class,
+      PhoneNumber.class, BirthDate.class, NumberBetween.class, Text.class);
+
+  // populator name to the class it was generated for
+  private final Map<String, String> generated = new HashMap<String, String>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+    Set<TypeElement> types = new LinkedHashSet<TypeElement>();
+    for (Class<? extends Annotation> annotation : ANNOTATIONS) {
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        if (element.getKind() == ElementKind.FIELD) {
+          types.add((TypeElement) element.getEnclosingElement());
+        }
+      }
+    }
+    for (TypeElement type : types) {
+      String beanType = type.getQualifiedName().toString();
+      String populator = qualifiedPopulatorName(type);
+      String existing = generated.get(populator);
+      if (existing == null) {
+        generated.put(populator, beanType);
+        generate(type);
+      } else if (!existing.equals(beanType)) {
+        error(type, "Populator " + populator + " is already generated for " + existing + ", rename one of the classes");
+      }
+    }
+    return true;
+  }
+
+  private void generate(final TypeElement type) {
+    if (!checkType(type)) {
+      return;
+    }
+    String packageName = packageOf(type).getQualifiedName().toString();
+    List<String> statements = new ArrayList<String>();
+    boolean valid = true;
+    for (VariableElement field : fieldsOf(type)) {
+      String value = valueOf(field);
+      if (value == null) {
+        valid &= !hasAnnotation(field);
+        continue;
+      }
+      String statement = assignment(type, packageName, field, value);
+      if (statement == null) {
+        valid = false;
+      } else {
+        statements.add(statement);
+      }
+    }
+    if (!valid) {
+      return;
+    }
+
+    String populator = populatorName(type);
+    String beanType = type.getQualifiedName().toString();
+    StringBuilder source = new StringBuilder();
+    if (!packageName.isEmpty()) {
+      source.append("package ").append(packageName).append(";\n\n");
+    }
+    source.append("// Generated by the DataFactory annotation processor from ").append(beanType)
+        .append(", do not edit\n");
+    source.append("public final class ").append(populator).append(" {\n\n");
+    source.append("  private ").append(populator).append("() {\n  }\n\n");
+    source.append("  public static ").append(beanType).append(" populate(final ").append(beanType)
+        .append(" bean, final ").append(DATA_FACTORY).append(" dataFactory) {\n");
+    for (String statement : statements) {
+      source.append("    ").append(statement).append('\n');
+    }
+    source.append("    return bean;\n  }\n");
+    if (hasDefaultConstructor(type)) {
+      source.append("\n  public static ").append(beanType).append(" create(final ").append(DATA_FACTORY)
+          .append(" dataFactory) {\n");
+      source.append("    return populate(new ").append(beanType).append("(), dataFactory);\n  }\n");
+    }
+    source.append("\n}\n");
+
+    String name = qualifiedPopulatorName(type);
+    try {
+      Writer writer = processingEnv.getFiler().createSourceFile(name, type).openWriter();
+      try {
+        writer.write(source.toString());
+      } finally {
+        writer.close();
+      }
+    } catch (IOException e) {
+      error(type, "Could not write " + name + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Checks the populator will be able to see the class.
+   */
+  private boolean checkType(final TypeElement type) {
+    if (type.getKind() != ElementKind.CLASS) {
+      error(type, "Populators can only be generated for classes");
+      return false;
+    }
+    if (!type.getTypeParameters().isEmpty()) {
+      error(type, "Populators cannot be generated for generic classes");
+      return false;
+    }
+    Element element = type;
+    while (element.getKind().isClass() || element.getKind().isInterface()) {
+      TypeElement enclosing = (TypeElement) element;
+      if (enclosing.getModifiers().contains(Modifier.PRIVATE)) {
+        error(type, "Populators cannot be generated for private classes");
+        return false;
+      }
+      if (enclosing.getNestingKind() == NestingKind.MEMBER) {
+        if (!enclosing.getModifiers().contains(Modifier.STATIC) && enclosing.getKind() == ElementKind.CLASS) {
+          error(type, "Populators cannot be generated for inner classes, make the class static");
+          return false;
+        }
+      } else if (enclosing.getNestingKind() != NestingKind.TOP_LEVEL) {
+        error(type, "Populators cannot be generated for local or anonymous classes");
+        return false;
+      }
+      element = enclosing.getEnclosingElement();
+    }
+    return true;
+  }
+
+  /**
+   * @return fields of the class and its superclasses, those of the superclasses first
+   */
+  private List<VariableElement> fieldsOf(final TypeElement type) {
+    List<VariableElement> fields = new ArrayList<VariableElement>();
+    TypeElement current = type;
+    while (current != null) {
+      fields.addAll(0, ElementFilter.fieldsIn(current.getEnclosedElements()));
+      current = superclassOf(current);
+    }
+    return fields;
+  }
+
+  /**
+   * @return superclass of the class, or null if it is Object or there is none
+   */
+  private static TypeElement superclassOf(final TypeElement type) {
+    TypeMirror superclass = type.getSuperclass();
+    if (superclass.getKind() != TypeKind.DECLARED) {
+      return null;
+    }
+    TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+    return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+  }
+
+  /**
+   * Returns the expression that generates the value of a field, or null if it is not annotated or the annotation does
+   * not fit the field, in which case an error has been reported.
+   */
+  private String valueOf(final VariableElement field) {
+    String value = null;
+    int count = 0;
+    if (field.getAnnotation(FirstName.class) != null) {
+      value = text(field, "getFirstName()");
+      count++;
+    }
+    if (field.getAnnotation(LastName.class) != null) {
+      value = text(field, "getLastName()");
+      count++;
+    }
+    if (field.getAnnotation(Name.class) != null) {
+      value = text(field, "getName()");
+      count++;
+    }
+    if (field.getAnnotation(Email.class) != null) {
+      value = text(field, "getEmailAddress()");
+      count++;
+    }
+    if (field.getAnnotation(Address.class) != null) {
+      value = text(field, "getAddress()");
+      count++;
+    }
+    if (field.getAnnotation(City.class) != null) {
+      value = text(field, "getCity()");
+      count++;
+    }
+    if (field.getAnnotation(BusinessName.class) != null) {
+      value = text(field, "getBusinessName()");
+      count++;
+    }
+    if (field.getAnnotation(PhoneNumber.class) != null) {
+      value = text(field, "getPhoneNumber()");
+      count++;
+    }
+    if (field.getAnnotation(BirthDate.class) != null) {
+      value = birthDate(field);
+      count++;
+    }
+    NumberBetween number = field.getAnnotation(NumberBetween.class);
+    if (number != null) {
+      value = numberBetween(field, number);
+      count++;
+    }
+    Text text = field.getAnnotation(Text.class);
+    if (text != null) {
+      if (text.min() < 0 || text.max() < text.min()) {
+        error(field, String.format("Invalid length range (min=%d, max=%d)", text.min(), text.max()));
+      } else {
+        value = text(field, String.format("getRandomText(%d, %d)", text.min(), text.max()));
+      }
+      count++;
+    }
+    if (count > 1) {
+      error(field, "Field can only have one DataFactory annotation");
+      return null;
+    }
+    return value;
+  }
+
+  private String text(final VariableElement field, final String call) {
+    if (!isType(field.asType(), "java.lang.String")) {
+      error(field, "Field must be a String");
+      return null;
+    }
+    return "dataFactory." + call;
+  }
+
+  private String birthDate(final VariableElement field) {
+    if (isType(field.asType(), "java.util.Date")) {
+      return "dataFactory.getBirthDate()";
+    }
+    if (isType(field.asType(), "java.time.LocalDate")) {
+      return "dataFactory.getBirthLocalDate()";
+    }
+    error(field, "Field must be a java.util.Date or java.time.LocalDate");
+    return null;
+  }
+
+  private String numberBetween(final VariableElement field, final NumberBetween number) {
+    if (number.max() < number.min()) {
+      error(field, String.format("Minimum must be less than maximum (min=%d, max=%d)", number.min(), number.max()));
+      return null;
+    }
+    String call = String.format("dataFactory.getNumberBetween(%d, %d)", number.min(), number.max());
+    TypeMirror type = field.asType();
+    if (type.getKind() == TypeKind.INT || isType(type, "java.lang.Integer")) {
+      return call;
+    }
+    if (type.getKind() == TypeKind.LONG || isType(type, "java.lang.Long")) {
+      return "(long) " + call;
+    }
+    error(field, "Field must be an int or long");
+    return null;
+  }
+
+  /**
+   * Returns the statement that sets a field, directly if it can or through a set method.
+   */
+  private String assignment(final TypeElement type, final String packageName, final VariableElement field,
+      final String value) {
+    Set<Modifier> modifiers = field.getModifiers();
+    String name = field.getSimpleName().toString();
+    if (!modifiers.contains(Modifier.FINAL) && !modifiers.contains(Modifier.STATIC)
+        && isVisible(field, packageName)) {
+      if (!isHidden(type, field)) {
+        return "bean." + name + " = " + value + ";";
+      }
+      TypeElement declaring = (TypeElement) field.getEnclosingElement();
+      return "((" + declaring.getQualifiedName() + ") bean)." + name + " = " + value + ";";
+    }
+    String setter = "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+      if (method.getSimpleName().contentEquals(setter) && method.getParameters().size() == 1
+          && !method.getModifiers().contains(Modifier.STATIC) && isVisible(method, packageName)
+          && processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), field.asType())) {
+        return "bean." + setter + "(" + value + ");";
+      }
+    }
+    error(field, "Field must not be private, final or static unless there is a " + setter + " method for it");
+    return null;
+  }
+
+  /**
+   * @return whether a class between <code>type</code> and the class declaring the field has a field of the same name
+   */
+  private static boolean isHidden(final TypeElement type, final VariableElement field) {
+    for (TypeElement current = type; current != null && !current.equals(field.getEnclosingElement());
+        current = superclassOf(current)) {
+      for (VariableElement other : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+        if (other.getSimpleName().equals(field.getSimpleName())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return whether the populator, in package <code>packageName</code>, can use the field or method
+   */
+  private boolean isVisible(final Element member, final String packageName) {
+    Set<Modifier> modifiers = member.getModifiers();
+    if (modifiers.contains(Modifier.PUBLIC)) {
+      return true;
+    }
+    if (modifiers.contains(Modifier.PRIVATE)) {
+      return false;
+    }
+    return packageOf((TypeElement) member.getEnclosingElement()).getQualifiedName().contentEquals(packageName);
+  }
+
+  private boolean hasDefaultConstructor(final TypeElement type) {
+    if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+      return false;
+    }
+    for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean hasAnnotation(final Element field) {
+    for (Class<? extends Annotation> annotation : ANNOTATIONS) {
+      if (field.getAnnotation(annotation) != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isType(final TypeMirror type, final String name) {
+    TypeElement element = processingEnv.getElementUtils().getTypeElement(name);
+    return element != null && processingEnv.getTypeUtils().isSameType(type, element.asType());
+  }
+
+  private PackageElement packageOf(final TypeElement type) {
+    return processingEnv.getElementUtils().getPackageOf(type);
+  }
+
+  /**
+   * @return simple name of the populator, with the names of any enclosing classes joined by underscores
+   */
+  private static String populatorName(final TypeElement type) {
+    StringBuilder name = new StringBuilder(type.getSimpleName());
+    Element enclosing = type.getEnclosingElement();
+    while (enclosing.getKind().isClass() || enclosing.getKind().isInterface()) {
+      name.insert(0, enclosing.getSimpleName() + "_");
+      enclosing = enclosing.getEnclosingElement();
+    }
+    return name.append("Populator").toString();
+  }
+
+  private String qualifiedPopulatorName(final TypeElement type) {
+    String packageName = packageOf(type).getQualifiedName().toString();
+    return packageName.isEmpty() ? populatorName(type) : packageName + "." + populatorName(type);
+  }
+
+  private void error(final Element element, final String message) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+
+}
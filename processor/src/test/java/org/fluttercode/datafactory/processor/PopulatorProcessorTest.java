@@ -0,0 +1,220 @@
+package org.fluttercode.datafactory.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.fluttercode.datafactory.impl.DataFactory;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PopulatorProcessorTest {
+
+	private static final String PERSON = "package example;\n"
+			+ "import org.fluttercode.datafactory.annotation.*;\n"
+			+ "public class Person {\n"
+			+ "	@FirstName String firstName;\n"
+			+ "	@LastName private String lastName;\n"
+			+ "	@Email public String email;\n"
+			+ "	@NumberBetween(min = 18, max = 90) int age;\n"
+			+ "	@NumberBetween(min = 5, max = 6) Long visits;\n"
+			+ "	@Text(min = 10, max = 40) String notes;\n"
+			+ "	@BirthDate java.util.Date birthDate;\n"
+			+ "	String ignored;\n"
+			+ "	public String getLastName() { return lastName; }\n"
+			+ "	public void setLastName(String lastName) { this.lastName = lastName; }\n"
+			+ "	public static class Address {\n"
+			+ "		@City String city;\n"
+			+ "		@BirthDate java.time.LocalDate since;\n"
+			+ "		Address(String unused) {}\n"
+			+ "	}\n"
+			+ "}\n";
+
+	private File output;
+
+	@Before
+	public void createOutput() throws IOException {
+		output = Files.createTempDirectory("populators").toFile();
+	}
+
+	@Test
+	public void shouldGeneratePopulators() throws Exception {
+		Assert.assertEquals(Collections.emptyList(), compile("example.Person", PERSON));
+		Assert.assertTrue(new File(output, "example/PersonPopulator.class").exists());
+		Assert.assertTrue(new File(output, "example/Person_AddressPopulator.class").exists());
+
+		ClassLoader loader = new URLClassLoader(new URL[] { output.toURI().toURL() }, getClass().getClassLoader());
+		Class<?> populator = loader.loadClass("example.PersonPopulator");
+		DataFactory df = DataFactory.create(8114);
+		Object person = populator.getMethod("create", DataFactory.class).invoke(null, df);
+		Assert.assertNotNull(value(person, "firstName"));
+		Assert.assertNotNull(value(person, "lastName"));
+		Assert.assertTrue(((String) value(person, "email")).contains("@"));
+		int age = (Integer) value(person, "age");
+		Assert.assertTrue(age >= 18 && age <= 90);
+		Assert.assertEquals(Long.valueOf(5), value(person, "visits"));
+		String notes = (String) value(person, "notes");
+		Assert.assertTrue(notes.length() >= 10 && notes.length() <= 40);
+		Assert.assertTrue(((Date) value(person, "birthDate")).before(new Date()));
+		Assert.assertNull(value(person, "ignored"));
+
+		// same seed, same values, in field order
+		Object second = populator.getMethod("create", DataFactory.class).invoke(null, DataFactory.create(8114));
+		Assert.assertEquals(value(person, "email"), value(second, "email"));
+		Assert.assertEquals(value(person, "notes"), value(second, "notes"));
+
+		// no create method without a no argument constructor
+		Class<?> addressPopulator = loader.loadClass("example.Person_AddressPopulator");
+		for (Method method : addressPopulator.getMethods()) {
+			Assert.assertFalse(method.getName().equals("create"));
+		}
+	}
+
+	@Test
+	public void shouldReportMisusedAnnotations() throws Exception {
+		String source = "package example;\n"
+				+ "import org.fluttercode.datafactory.annotation.*;\n"
+				+ "public class Broken {\n"
+				+ "	@FirstName int notText;\n"
+				+ "	@NumberBetween(min = 10, max = 1) int range;\n"
+				+ "	@Email private String hidden;\n"
+				+ "	@City @FirstName String twice;\n"
+				+ "}\n";
+		List<String> errors = compile("example.Broken", source);
+		Assert.assertEquals(errors.toString(), 4, errors.size());
+		Assert.assertFalse(new File(output, "example/BrokenPopulator.class").exists());
+	}
+
+	@Test
+	public void shouldUseSettersForPrivateFields() throws Exception {
+		String source = "package example;\n"
+				+ "import org.fluttercode.datafactory.annotation.*;\n"
+				+ "public class Account {\n"
+				+ "	@NumberBetween(min = 1, max = 3) private long count;\n"
+				+ "	@NumberBetween(min = 4, max = 4) private Long boxed;\n"
+				+ "	@BirthDate private java.time.LocalDate born;\n"
+				+ "	public void setCount(long count) { this.count = count; }\n"
+				+ "	public void setBoxed(Long boxed) { this.boxed = boxed; }\n"
+				+ "	void setBorn(java.time.LocalDate born) { this.born = born; }\n"
+				+ "}\n";
+		Assert.assertEquals(Collections.emptyList(), compile("example.Account", source));
+		Object account = create("example.AccountPopulator");
+		long count = (Long) value(account, "count");
+		Assert.assertTrue(count >= 1 && count <= 3);
+		Assert.assertEquals(Long.valueOf(4), value(account, "boxed"));
+		Assert.assertTrue(((LocalDate) value(account, "born")).isBefore(LocalDate.now()));
+	}
+
+	@Test
+	public void shouldPopulateInheritedFields() throws Exception {
+		String base = "package example;\n"
+				+ "import org.fluttercode.datafactory.annotation.*;\n"
+				+ "public class Base {\n"
+				+ "	@Email String name;\n"
+				+ "	@City private String city;\n"
+				+ "	public void setCity(String city) { this.city = city; }\n"
+				+ "}\n";
+		String child = "package example;\n"
+				+ "import org.fluttercode.datafactory.annotation.*;\n"
+				+ "public class Child extends Base {\n"
+				+ "	@FirstName String name;\n"
+				+ "}\n";
+		Assert.assertEquals(Collections.emptyList(), compile(source("example.Base", base), source("example.Child", child)));
+		Object bean = create("example.ChildPopulator");
+		Assert.assertTrue(((String) value(bean, "name")).indexOf('@') < 0);
+		Assert.assertTrue(((String) inherited(bean, "name")).contains("@"));
+		Assert.assertNotNull(inherited(bean, "city"));
+	}
+
+	@Test
+	public void shouldReportPopulatorNameCollision() throws Exception {
+		String outer = "package example;\n"
+				+ "import org.fluttercode.datafactory.annotation.*;\n"
+				+ "public class Outer {\n"
+				+ "	public static class Inner {\n"
+				+ "		@City String city;\n"
+				+ "	}\n"
+				+ "}\n";
+		String topLevel = "package example;\n"
+				+ "import org.fluttercode.datafactory.annotation.*;\n"
+				+ "public class Outer_Inner {\n"
+				+ "	@City String city;\n"
+				+ "}\n";
+		List<String> errors = compile(source("example.Outer", outer), source("example.Outer_Inner", topLevel));
+		Assert.assertEquals(errors.toString(), 1, errors.size());
+		Assert.assertTrue(errors.get(0), errors.get(0).contains("example.Outer_InnerPopulator"));
+	}
+
+	private List<String> compile(final String className, final String source) throws IOException {
+		return compile(source(className, source));
+	}
+
+	private List<String> compile(final JavaFileObject... files) throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		String classpath = new File(DataFactory.class.getProtectionDomain().getCodeSource().getLocation().getPath())
+				.getPath();
+		List<String> options = Arrays.asList("-d", output.getPath(), "-s", output.getPath(), "-classpath", classpath,
+				"-encoding", StandardCharsets.UTF_8.name());
+		JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null,
+				Arrays.asList(files));
+		task.setProcessors(Collections.singletonList(new PopulatorProcessor()));
+		task.call();
+		List<String> errors = new ArrayList<String>();
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+				errors.add(diagnostic.getMessage(null));
+			}
+		}
+		return errors;
+	}
+
+	private static JavaFileObject source(final String className, final String source) {
+		return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"),
+				JavaFileObject.Kind.SOURCE) {
+
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return source;
+			}
+		};
+	}
+
+	private Object create(final String populatorName) throws Exception {
+		ClassLoader loader = new URLClassLoader(new URL[] { output.toURI().toURL() }, getClass().getClassLoader());
+		Class<?> populator = loader.loadClass(populatorName);
+		return populator.getMethod("create", DataFactory.class).invoke(null, DataFactory.create(8114));
+	}
+
+	private static Object inherited(final Object bean, final String name) throws Exception {
+		Field field = bean.getClass().getSuperclass().getDeclaredField(name);
+		field.setAccessible(true);
+		return field.get(bean);
+	}
+
+	private static Object value(final Object bean, final String name) throws Exception {
+		Field field = bean.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		return field.get(bean);
+	}
+}
@@ -42,4 +42,24 @@ public interface AddressDataValues {
 	 */
 	String[] getAddressSuffixes();
 
+	/**
+	 * Returns the relative weights of the street names, one for each value in the same order, or null if all values are
+	 * equally likely. The same array should be returned each time as the factory builds its lookup table once per array.
+	 *
+	 * @return weights of the street names or null
+	 */
+	default double[] getStreetNameWeights() {
+		return null;
+	}
+
+	/**
+	 * Returns the relative weights of the cities or null if they are all equally likely. See
+	 * {@link #getStreetNameWeights()}.
+	 *
+	 * @return weights of the cities or null
+	 */
+	default double[] getCityWeights() {
+		return null;
+	}
+
 }
@@ -32,4 +32,14 @@ public interface ContentDataValues {
 	String[] getEmailHosts();
 
 	String[] getTlds();
+
+	/**
+	 * Returns the relative weights of the words or null if they are all equally likely. See
+	 * {@link NameDataValues#getFirstNameWeights()}.
+	 *
+	 * @return weights of the words or null
+	 */
+	default double[] getWordWeights() {
+		return null;
+	}
 }
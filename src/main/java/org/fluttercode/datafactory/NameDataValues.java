@@ -31,4 +31,24 @@ public interface NameDataValues {
 	String[] getPrefixes();
 	String[] getSuffixes();
 
+	/**
+	 * Returns the relative weights of the first names, one for each value in the same order, or null if all values are
+	 * equally likely. The same array should be returned each time as the factory builds its lookup table once per array.
+	 *
+	 * @return weights of the first names or null
+	 */
+	default double[] getFirstNameWeights() {
+		return null;
+	}
+
+	/**
+	 * Returns the relative weights of the last names or null if they are all equally likely. See
+	 * {@link #getFirstNameWeights()}.
+	 *
+	 * @return weights of the last names or null
+	 */
+	default double[] getLastNameWeights() {
+		return null;
+	}
+
 }
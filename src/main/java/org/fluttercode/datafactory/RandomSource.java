@@ -0,0 +1,35 @@
+package org.fluttercode.datafactory;
+
+/**
+ * Source of random numbers used by the data factory to pick values. Implementations do not need to be thread safe.
+ * The default implementation wraps {@link java.util.Random} so existing seeded data stays the same, but faster
+ * generators can be plugged in when creating the factory.
+ */
+public interface RandomSource {
+
+	/**
+	 * @return a uniformly distributed int value
+	 */
+	int nextInt();
+
+	/**
+	 * @param bound upper bound (exclusive), must be positive
+	 * @return a uniformly distributed int value between 0 (inclusive) and <code>bound</code> (exclusive)
+	 */
+	int nextInt(int bound);
+
+	/**
+	 * @return a uniformly distributed long value
+	 */
+	long nextLong();
+
+	/**
+	 * @return a uniformly distributed double value between 0.0 (inclusive) and 1.0 (exclusive)
+	 */
+	double nextDouble();
+
+	/**
+	 * @return a normally distributed double value with a mean of 0.0 and a standard deviation of 1.0
+	 */
+	double nextGaussian();
+}
@@ -0,0 +1,17 @@
+package org.fluttercode.datafactory.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fills a {@link java.util.Date} field with {@link org.fluttercode.datafactory.impl.DataFactory#getBirthDate()} or a
+ * {@link java.time.LocalDate} field with {@link org.fluttercode.datafactory.impl.DataFactory#getBirthLocalDate()}.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface BirthDate {
+}
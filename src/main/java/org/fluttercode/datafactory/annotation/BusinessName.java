@@ -0,0 +1,16 @@
+package org.fluttercode.datafactory.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fills a String field with {@link org.fluttercode.datafactory.impl.DataFactory#getBusinessName()}.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface BusinessName {
+}
@@ -0,0 +1,27 @@
+package org.fluttercode.datafactory.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fills an int or long field with
+ * {@link org.fluttercode.datafactory.impl.DataFactory#getNumberBetween(int, int)}.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface NumberBetween {
+
+	/**
+	 * @return minimum value
+	 */
+	int min();
+
+	/**
+	 * @return maximum value
+	 */
+	int max();
+}
@@ -0,0 +1,26 @@
+package org.fluttercode.datafactory.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fills a String field with {@link org.fluttercode.datafactory.impl.DataFactory#getRandomText(int, int)}.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface Text {
+
+	/**
+	 * @return minimum length of the text
+	 */
+	int min();
+
+	/**
+	 * @return maximum length of the text
+	 */
+	int max();
+}
@@ -0,0 +1,71 @@
+package org.fluttercode.datafactory.impl;
+
+import org.fluttercode.datafactory.RandomSource;
+
+/**
+ * Base class for {@link RandomSource} implementations that only need to supply 64 random bits at a time. Bounded
+ * values use Lemire's multiply and shift method, which only needs a division when the first draw is rejected.
+ */
+public abstract class AbstractRandomSource implements RandomSource {
+
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+  private double nextGaussian;
+  private boolean haveNextGaussian;
+
+  public abstract long nextLong();
+
+  /**
+   * Discards the spare gaussian value, for use when the generator state is reset.
+   */
+  void clearGaussian() {
+    haveNextGaussian = false;
+  }
+
+  public int nextInt() {
+    return (int) (nextLong() >>> 32);
+  }
+
+  public int nextInt(final int bound) {
+    if (bound <= 0) {
+      throw new IllegalArgumentException("Bound must be positive");
+    }
+    long product = (nextInt() & 0xFFFFFFFFL) * bound;
+    int low = (int) product;
+    if (Integer.compareUnsigned(low, bound) < 0) {
+      int threshold = Integer.remainderUnsigned(-bound, bound);
+      while (Integer.compareUnsigned(low, threshold) < 0) {
+        product = (nextInt() & 0xFFFFFFFFL) * bound;
+        low = (int) product;
+      }
+    }
+    return (int) (product >>> 32);
+  }
+
+  public double nextDouble() {
+    return (nextLong() >>> 11) * DOUBLE_UNIT;
+  }
+
+  /**
+   * Generates normally distributed values using the Marsaglia polar method, which produces values in pairs.
+   */
+  public double nextGaussian() {
+    if (haveNextGaussian) {
+      haveNextGaussian = false;
+      return nextGaussian;
+    }
+    double v1;
+    double v2;
+    double s;
+    do {
+      v1 = 2 * nextDouble() - 1;
+      v2 = 2 * nextDouble() - 1;
+      s = v1 * v1 + v2 * v2;
+    } while (s >= 1 || s == 0);
+    double multiplier = Math.sqrt(-2 * Math.log(s) / s);
+    nextGaussian = v2 * multiplier;
+    haveNextGaussian = true;
+    return v1 * multiplier;
+  }
+
+}
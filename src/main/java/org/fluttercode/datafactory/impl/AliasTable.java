@@ -0,0 +1,109 @@
+package org.fluttercode.datafactory.impl;
+
+import org.fluttercode.datafactory.RandomSource;
+
+/**
+ * Alias table for picking indexes with given relative weights in constant time, built with Vose's method. Each index
+ * gets a column holding the probability of keeping the index and an alias to use otherwise, so a pick is one column
+ * draw and one probability test no matter how many entries there are.
+ */
+final class AliasTable {
+
+  private final Object owner;
+  private final int dictionary;
+  private final double[] probability;
+  private final int[] alias;
+
+  /**
+   * @param owner what the table is cached against, the data values or the weights themselves
+   * @param dictionary which of the data values dictionaries the weights are for
+   * @param weights relative weight of each index
+   */
+  AliasTable(final Object owner, final int dictionary, final double[] weights) {
+    if (weights == null) {
+      throw new IllegalArgumentException("Weights cannot be null");
+    }
+    if (weights.length == 0) {
+      throw new IllegalArgumentException("Weights cannot be empty");
+    }
+    final int n = weights.length;
+    double total = 0;
+    for (double weight : weights) {
+      if (!(weight >= 0) || Double.isInfinite(weight)) {
+        throw new IllegalArgumentException("Weights must be finite and not negative");
+      }
+      total += weight;
+    }
+    if (!(total > 0) || Double.isInfinite(total)) {
+      throw new IllegalArgumentException("Weights must add up to a finite value greater than zero");
+    }
+    this.owner = owner;
+    this.dictionary = dictionary;
+    probability = new double[n];
+    alias = new int[n];
+
+    // scale so the average weight is 1, then pair each under full column with an over full one
+    double[] scaled = new double[n];
+    int[] small = new int[n];
+    int[] large = new int[n];
+    int smallCount = 0;
+    int largeCount = 0;
+    for (int i = 0; i < n; i++) {
+      scaled[i] = weights[i] * n / total;
+      if (scaled[i] < 1) {
+        small[smallCount++] = i;
+      } else {
+        large[largeCount++] = i;
+      }
+    }
+    while (smallCount > 0 && largeCount > 0) {
+      int less = small[--smallCount];
+      int more = large[--largeCount];
+      probability[less] = scaled[less];
+      alias[less] = more;
+      scaled[more] = (scaled[more] + scaled[less]) - 1;
+      if (scaled[more] < 1) {
+        small[smallCount++] = more;
+      } else {
+        large[largeCount++] = more;
+      }
+    }
+    // anything left over is full, give or take rounding
+    while (largeCount > 0) {
+      int index = large[--largeCount];
+      probability[index] = 1;
+      alias[index] = index;
+    }
+    while (smallCount > 0) {
+      int index = small[--smallCount];
+      probability[index] = 1;
+      alias[index] = index;
+    }
+  }
+
+  /**
+   * @param owner data values or weights to check
+   * @param dictionary dictionary to check
+   * @return true if this table was built for the dictionary of <code>owner</code>
+   */
+  boolean isTableOf(final Object owner, final int dictionary) {
+    return this.owner == owner && this.dictionary == dictionary;
+  }
+
+  /**
+   * @return number of entries in the table
+   */
+  int size() {
+    return probability.length;
+  }
+
+  /**
+   * @param random random source to draw from
+   * @return an index picked in proportion to its weight
+   */
+  int next(final RandomSource random) {
+    int column = random.nextInt(probability.length);
+    return random.nextDouble() < probability[column] ? column : alias[column];
+  }
+
+}
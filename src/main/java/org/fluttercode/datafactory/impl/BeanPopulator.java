@@ -0,0 +1,480 @@
+package org.fluttercode.datafactory.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+
+/**
+ * Fills in the properties of beans with values from a {@link DataFactory}. Each class is inspected once and its
+ * setters are mapped to generators by the name and type of the property, for example a String named
+ * <code>email</code> gets an email address and a Date named <code>birthDate</code> gets a birth date. The result is
+ * a plan of method handles and operation codes, so populating a bean is a loop over the setters with no reflection.
+ * Plans are cached per class and can be shared between threads.
+ *
+ * <pre>
+ * Person person = dataFactory.populate(new Person());
+ * </pre>
+ *
+ * Properties are matched ignoring case and underscores :
+ * <ul>
+ * <li>Strings : <code>email</code>, <code>firstName</code>, <code>lastName</code>, <code>name</code>,
+ * <code>businessName</code> or <code>company</code>, <code>city</code>, <code>street</code>, <code>address</code>,
+ * <code>addressLine2</code>, <code>phone</code>, <code>zip</code> or <code>postcode</code>, <code>ssn</code>,
+ * <code>cardNumber</code>, <code>prefix</code>, <code>suffix</code>, <code>description</code> or <code>text</code>,
+ * and any other String gets a random word</li>
+ * <li>Dates : {@link Date} and {@link LocalDate} properties starting with <code>birth</code> or <code>dob</code> get
+ * a birth date, and any other date gets a day in 2019, at midnight UTC for a {@link Date}, so the values do not
+ * depend on the day or the time zone they are made in</li>
+ * <li>Numbers : <code>age</code> gets a number between 18 and 90, any other int or long a number up to 1000, and
+ * doubles a number between 0 and 1000</li>
+ * <li>Booleans and enums get a random value</li>
+ * </ul>
+ * Properties named <code>id</code> or <code>version</code> and properties of any other type are left alone. The
+ * properties are populated in order of their names so the same seed always gives the same beans.
+ */
+public final class BeanPopulator<T> {
+
+  private static final int FIRST_NAME = 0;
+  private static final int LAST_NAME = 1;
+  private static final int NAME = 2;
+  private static final int EMAIL_ADDRESS = 3;
+  private static final int BUSINESS_NAME = 4;
+  private static final int CITY = 5;
+  private static final int STREET_NAME = 6;
+  private static final int ADDRESS = 7;
+  private static final int ADDRESS_LINE_2 = 8;
+  private static final int PHONE_NUMBER = 9;
+  private static final int ZIP_CODE = 10;
+  private static final int SOCIAL_SECURITY_NUMBER = 11;
+  private static final int CARD_NUMBER = 12;
+  private static final int PREFIX = 13;
+  private static final int SUFFIX = 14;
+  private static final int TEXT = 15;
+  private static final int WORD = 16;
+  private static final int BIRTH_DATE = 17;
+  private static final int DATE = 18;
+  private static final int BIRTH_LOCAL_DATE = 19;
+  private static final int LOCAL_DATE = 20;
+  private static final int AGE = 21;
+  private static final int INT = 22;
+  private static final int LONG = 23;
+  private static final int DOUBLE = 24;
+  private static final int BOOLEAN = 25;
+  private static final int ENUM = 26;
+
+  private static final MethodType OBJECT_SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+  private static final MethodType INT_SETTER = MethodType.methodType(void.class, Object.class, int.class);
+  private static final MethodType LONG_SETTER = MethodType.methodType(void.class, Object.class, long.class);
+  private static final MethodType DOUBLE_SETTER = MethodType.methodType(void.class, Object.class, double.class);
+  private static final MethodType BOOLEAN_SETTER = MethodType.methodType(void.class, Object.class, boolean.class);
+
+  private static final Distribution UNIFORM = Distribution.uniform(0, 1000);
+
+  private static final LocalDate LOCAL_DATE_BASE = LocalDate.of(2019, 1, 1);
+  private static final int DATE_DAYS = 365;
+
+  private static final ClassValue<BeanPopulator<?>> POPULATORS = new ClassValue<BeanPopulator<?>>() {
+
+    @Override
+    protected BeanPopulator<?> computeValue(final Class<?> type) {
+      return new BeanPopulator<Object>(type);
+    }
+  };
+
+  private final Class<T> type;
+  private final MethodHandle constructor;
+  private final String[] names;
+  private final int[] ops;
+  private final MethodHandle[] setters;
+  private final Object[][] items;
+
+  @SuppressWarnings("unchecked")
+  private BeanPopulator(final Class<?> type) {
+    this.type = (Class<T>) type;
+    this.constructor = findConstructor(type);
+
+    // sorted so the random values are always used in the same order
+    TreeMap<String, Method> properties = new TreeMap<String, Method>();
+    for (Method method : type.getMethods()) {
+      String name = method.getName();
+      if (name.length() > 3 && name.startsWith("set") && method.getParameterTypes().length == 1
+          && !Modifier.isStatic(method.getModifiers()) && !method.isBridge() && !method.isSynthetic()) {
+        String property = Character.toLowerCase(name.charAt(3)) + name.substring(4);
+        Method current = properties.get(property);
+        if (current == null || isPreferred(property, method, current)) {
+          properties.put(property, method);
+        }
+      }
+    }
+    List<String> mappedNames = new ArrayList<String>();
+    List<Integer> mappedOps = new ArrayList<Integer>();
+    List<MethodHandle> mappedSetters = new ArrayList<MethodHandle>();
+    List<Object[]> mappedItems = new ArrayList<Object[]>();
+    for (String name : properties.keySet()) {
+      Method setter = properties.get(name);
+      Class<?> propertyType = setter.getParameterTypes()[0];
+      int op = mapProperty(name.replace("_", "").toLowerCase(Locale.ENGLISH), propertyType);
+      if (op < 0) {
+        continue;
+      }
+      mappedNames.add(name);
+      mappedOps.add(op);
+      mappedSetters.add(unreflect(setter).asType(setterType(op)));
+      mappedItems.add(op == ENUM ? propertyType.getEnumConstants() : null);
+    }
+    int count = mappedNames.size();
+    names = mappedNames.toArray(new String[count]);
+    ops = new int[count];
+    for (int i = 0; i < count; i++) {
+      ops[i] = mappedOps.get(i);
+    }
+    setters = mappedSetters.toArray(new MethodHandle[count]);
+    items = mappedItems.toArray(new Object[count][]);
+  }
+
+  /**
+   * Returns the populator for <code>type</code>, inspecting the class the first time it is used.
+   *
+   * @param type class of the beans
+   * @return populator for the class
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> BeanPopulator<T> of(final Class<T> type) {
+    if (type == null) {
+      throw new IllegalArgumentException("Type cannot be null");
+    }
+    if (type.isPrimitive() || type.isArray() || type.isInterface()) {
+      throw new IllegalArgumentException(String.format("Cannot populate %s", type.getName()));
+    }
+    return (BeanPopulator<T>) POPULATORS.get(type);
+  }
+
+  /**
+   * @return class of the beans
+   */
+  public Class<T> getType() {
+    return type;
+  }
+
+  /**
+   * @return number of properties that are populated
+   */
+  public int getPropertyCount() {
+    return names.length;
+  }
+
+  /**
+   * @param property index of the property
+   * @return name of the property
+   */
+  public String getPropertyName(final int property) {
+    return names[property];
+  }
+
+  /**
+   * Creates a new bean with the public no argument constructor of the class and populates it.
+   *
+   * @param dataFactory factory to generate the values with
+   * @return the new bean
+   */
+  public T create(final DataFactory dataFactory) {
+    if (constructor == null) {
+      throw new IllegalStateException(String.format("%s does not have a public no argument constructor",
+          type.getName()));
+    }
+    try {
+      return populate(type.cast(constructor.invoke()), dataFactory);
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException(String.format("Could not create %s", type.getName()), e);
+    }
+  }
+
+  /**
+   * Sets the mapped properties of <code>bean</code> to values from <code>dataFactory</code>. Only the properties of
+   * the class this populator is for are set, so those a subclass adds are left alone when the bean is an instance
+   * of a subclass. {@link DataFactory#populate(Object)} uses the populator of the bean's own class.
+   *
+   * @param bean bean to populate
+   * @param dataFactory factory to generate the values with
+   * @return the bean
+   */
+  public T populate(final T bean, final DataFactory dataFactory) {
+    if (bean == null) {
+      throw new IllegalArgumentException("Bean cannot be null");
+    }
+    if (dataFactory == null) {
+      throw new IllegalArgumentException("Data factory cannot be null");
+    }
+    final DataFactory df = dataFactory;
+    final int[] ops = this.ops;
+    int i = 0;
+    try {
+      for (; i < ops.length; i++) {
+        final MethodHandle setter = setters[i];
+        switch (ops[i]) {
+        case FIRST_NAME:
+          setter.invokeExact((Object) bean, (Object) df.getFirstName());
+          break;
+        case LAST_NAME:
+          setter.invokeExact((Object) bean, (Object) df.getLastName());
+          break;
+        case NAME:
+          setter.invokeExact((Object) bean, (Object) df.getName());
+          break;
+        case EMAIL_ADDRESS:
+          setter.invokeExact((Object) bean, (Object) df.getEmailAddress());
+          break;
+        case BUSINESS_NAME:
+          setter.invokeExact((Object) bean, (Object) df.getBusinessName());
+          break;
+        case CITY:
+          setter.invokeExact((Object) bean, (Object) df.getCity());
+          break;
+        case STREET_NAME:
+          setter.invokeExact((Object) bean, (Object) df.getStreetName());
+          break;
+        case ADDRESS:
+          setter.invokeExact((Object) bean, (Object) df.getAddress());
+          break;
+        case ADDRESS_LINE_2:
+          setter.invokeExact((Object) bean, (Object) df.getAddressLine2());
+          break;
+        case PHONE_NUMBER:
+          setter.invokeExact((Object) bean, (Object) df.getPhoneNumber());
+          break;
+        case ZIP_CODE:
+          setter.invokeExact((Object) bean, (Object) df.getZipCode());
+          break;
+        case SOCIAL_SECURITY_NUMBER:
+          setter.invokeExact((Object) bean, (Object) df.getSocialSecurityNumber());
+          break;
+        case CARD_NUMBER:
+          setter.invokeExact((Object) bean, (Object) df.getCardNumber());
+          break;
+        case PREFIX:
+          setter.invokeExact((Object) bean, (Object) df.getPrefix(100));
+          break;
+        case SUFFIX:
+          setter.invokeExact((Object) bean, (Object) df.getSuffix(100));
+          break;
+        case TEXT:
+          setter.invokeExact((Object) bean, (Object) df.getRandomText(20, 200));
+          break;
+        case WORD:
+          setter.invokeExact((Object) bean, (Object) df.getRandomWord());
+          break;
+        case BIRTH_DATE:
+          setter.invokeExact((Object) bean, (Object) df.getBirthDate());
+          break;
+        case DATE:
+          setter.invokeExact((Object) bean,
+              (Object) Date.from(df.getLocalDate(LOCAL_DATE_BASE, 0, DATE_DAYS).atStartOfDay(ZoneOffset.UTC)
+                  .toInstant()));
+          break;
+        case BIRTH_LOCAL_DATE:
+          setter.invokeExact((Object) bean, (Object) df.getBirthLocalDate());
+          break;
+        case LOCAL_DATE:
+          setter.invokeExact((Object) bean, (Object) df.getLocalDate(LOCAL_DATE_BASE, 0, DATE_DAYS));
+          break;
+        case AGE:
+          setter.invokeExact((Object) bean, df.getNumberBetween(18, 90));
+          break;
+        case INT:
+          setter.invokeExact((Object) bean, df.getNumberUpTo(1000));
+          break;
+        case LONG:
+          setter.invokeExact((Object) bean, (long) df.getNumberUpTo(1000));
+          break;
+        case DOUBLE:
+          setter.invokeExact((Object) bean, df.getDouble(UNIFORM));
+          break;
+        case BOOLEAN:
+          setter.invokeExact((Object) bean, df.chance(50));
+          break;
+        case ENUM:
+          setter.invokeExact((Object) bean, df.getItem(items[i]));
+          break;
+        default:
+          throw new IllegalStateException("Unknown property operation " + ops[i]);
+        }
+      }
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException(String.format("Could not set property '%s' of %s", names[i], type.getName()),
+          e);
+    }
+    return bean;
+  }
+
+  /**
+   * Chooses between overloaded setters for a property, as {@link Class#getMethods()} lists them in no particular order.
+   * A setter whose type has a generator wins, then the one whose type name comes first.
+   */
+  private static boolean isPreferred(final String property, final Method setter, final Method current) {
+    String name = property.replace("_", "").toLowerCase(Locale.ENGLISH);
+    Class<?> setterType = setter.getParameterTypes()[0];
+    Class<?> currentType = current.getParameterTypes()[0];
+    boolean mapped = mapProperty(name, setterType) >= 0;
+    if (mapped != mapProperty(name, currentType) >= 0) {
+      return mapped;
+    }
+    return setterType.getName().compareTo(currentType.getName()) < 0;
+  }
+
+  /**
+   * Picks the generator for a property from its name, in lower case without underscores, and its type.
+   *
+   * @return operation for the property or -1 to leave it alone
+   */
+  private static int mapProperty(final String name, final Class<?> type) {
+    if (name.equals("id") || name.equals("version")) {
+      return -1;
+    }
+    if (type == String.class) {
+      return mapText(name);
+    }
+    boolean birth = name.startsWith("birth") || name.startsWith("dob") || name.equals("dateofbirth");
+    if (type == Date.class) {
+      return birth ? BIRTH_DATE : DATE;
+    }
+    if (type == LocalDate.class) {
+      return birth ? BIRTH_LOCAL_DATE : LOCAL_DATE;
+    }
+    if (type == int.class || type == Integer.class) {
+      return name.equals("age") ? AGE : INT;
+    }
+    if (type == long.class || type == Long.class) {
+      return LONG;
+    }
+    if (type == double.class || type == Double.class) {
+      return DOUBLE;
+    }
+    if (type == boolean.class || type == Boolean.class) {
+      return BOOLEAN;
+    }
+    if (type.isEnum() && type.getEnumConstants().length > 0) {
+      return ENUM;
+    }
+    return -1;
+  }
+
+  private static int mapText(final String name) {
+    if (name.contains("email")) {
+      return EMAIL_ADDRESS;
+    }
+    if (name.equals("firstname") || name.equals("forename") || name.equals("givenname")) {
+      return FIRST_NAME;
+    }
+    if (name.equals("lastname") || name.equals("surname") || name.equals("familyname")) {
+      return LAST_NAME;
+    }
+    if (name.equals("name") || name.equals("fullname")) {
+      return NAME;
+    }
+    if (name.equals("businessname") || name.equals("company") || name.equals("companyname")) {
+      return BUSINESS_NAME;
+    }
+    if (name.equals("city") || name.equals("town")) {
+      return CITY;
+    }
+    if (name.equals("street") || name.equals("streetname")) {
+      return STREET_NAME;
+    }
+    if (name.equals("address2") || name.equals("addressline2")) {
+      return ADDRESS_LINE_2;
+    }
+    if (name.equals("address") || name.equals("address1") || name.equals("addressline1")) {
+      return ADDRESS;
+    }
+    if (name.contains("phone") || name.equals("mobile")) {
+      return PHONE_NUMBER;
+    }
+    if (name.startsWith("zip") || name.equals("postcode") || name.equals("postalcode")) {
+      return ZIP_CODE;
+    }
+    if (name.equals("ssn") || name.startsWith("socialsecurity")) {
+      return SOCIAL_SECURITY_NUMBER;
+    }
+    if (name.equals("cardnumber") || name.equals("creditcard") || name.equals("creditcardnumber")) {
+      return CARD_NUMBER;
+    }
+    if (name.equals("prefix")) {
+      return PREFIX;
+    }
+    if (name.equals("suffix")) {
+      return SUFFIX;
+    }
+    if (name.equals("description") || name.equals("text") || name.equals("comments") || name.equals("notes")) {
+      return TEXT;
+    }
+    return WORD;
+  }
+
+  private static MethodType setterType(final int op) {
+    switch (op) {
+    case AGE:
+    case INT:
+      return INT_SETTER;
+    case LONG:
+      return LONG_SETTER;
+    case DOUBLE:
+      return DOUBLE_SETTER;
+    case BOOLEAN:
+      return BOOLEAN_SETTER;
+    default:
+      return OBJECT_SETTER;
+    }
+  }
+
+  private static MethodHandle findConstructor(final Class<?> type) {
+    if (Modifier.isAbstract(type.getModifiers())) {
+      return null;
+    }
+    try {
+      Constructor<?> constructor = type.getConstructor();
+      try {
+        constructor.setAccessible(true);
+      } catch (RuntimeException e) {
+        // fall back on normal access checks
+      }
+      return MethodHandles.lookup().unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+    } catch (NoSuchMethodException e) {
+      return null;
+    } catch (IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  private static MethodHandle unreflect(final Method setter) {
+    try {
+      // public setters of classes that are not public themselves can only be reached this way
+      setter.setAccessible(true);
+    } catch (RuntimeException e) {
+      // fall back on normal access checks
+    }
+    try {
+      return MethodHandles.lookup().unreflect(setter);
+    } catch (IllegalAccessException e) {
+      throw new IllegalArgumentException(String.format("Cannot access %s", setter), e);
+    }
+  }
+
+}
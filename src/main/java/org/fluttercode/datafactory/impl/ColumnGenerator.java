@@ -0,0 +1,222 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.Date;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Describes how the values of a column in a {@link RowSchema} are generated. Instances are created from the static
+ * methods, one per {@link DataFactory} generator, and are immutable so they can be shared between schemas.
+ */
+public final class ColumnGenerator {
+
+  static final int FIRST_NAME = 0;
+  static final int LAST_NAME = 1;
+  static final int NAME = 2;
+  static final int EMAIL_ADDRESS = 3;
+  static final int ADDRESS = 4;
+  static final int ADDRESS_LINE_2 = 5;
+  static final int STREET_NAME = 6;
+  static final int CITY = 7;
+  static final int BUSINESS_NAME = 8;
+  static final int BIRTH_DATE = 9;
+  static final int DATE_BETWEEN = 10;
+  static final int NUMBER_BETWEEN = 11;
+  static final int SEQUENCE = 12;
+  static final int NUMBER_TEXT = 13;
+  static final int TEXT = 14;
+  static final int WORD = 15;
+  static final int ITEM = 16;
+  static final int CUSTOM = 17;
+  static final int CUSTOM_NUMBER = 18;
+
+  final int op;
+  final ColumnType type;
+  final int min;
+  final int max;
+  final long start;
+  final Object argument;
+
+  private ColumnGenerator(final int op, final ColumnType type, final int min, final int max, final long start,
+      final Object argument) {
+    this.op = op;
+    this.type = type;
+    this.min = min;
+    this.max = max;
+    this.start = start;
+    this.argument = argument;
+  }
+
+  private static ColumnGenerator of(final int op, final ColumnType type) {
+    return new ColumnGenerator(op, type, 0, 0, 0, null);
+  }
+
+  /**
+   * @return the type of values generated for the column
+   */
+  public ColumnType getType() {
+    return type;
+  }
+
+  /** @return generator for {@link DataFactory#getFirstName()} */
+  public static ColumnGenerator firstName() {
+    return of(FIRST_NAME, ColumnType.TEXT);
+  }
+
+  /** @return generator for {@link DataFactory#getLastName()} */
+  public static ColumnGenerator lastName() {
+    return of(LAST_NAME, ColumnType.TEXT);
+  }
+
+  /** @return generator for {@link DataFactory#getName()} */
+  public static ColumnGenerator name() {
+    return of(NAME, ColumnType.TEXT);
+  }
+
+  /** @return generator for {@link DataFactory#getEmailAddress()} */
+  public static ColumnGenerator emailAddress() {
+    return of(EMAIL_ADDRESS, ColumnType.TEXT);
+  }
+
+  /** @return generator for {@link DataFactory#getAddress()} */
+  public static ColumnGenerator address() {
+    return of(ADDRESS, ColumnType.TEXT);
+  }
+
+  /** @return generator for {@link DataFactory#getAddressLine2()} */
+  public static ColumnGenerator addressLine2() {
+    return of(ADDRESS_LINE_2, ColumnType.TEXT);
+  }
+
+  /** @return generator for {@link DataFactory#getStreetName()} */
+  public static ColumnGenerator streetName() {
+    return of(STREET_NAME, ColumnType.TEXT);
+  }
+
+  /** @return generator for {@link DataFactory#getCity()} */
+  public static ColumnGenerator city() {
+    return of(CITY, ColumnType.TEXT);
+  }
+
+  /** @return generator for {@link DataFactory#getBusinessName()} */
+  public static ColumnGenerator businessName() {
+    return of(BUSINESS_NAME, ColumnType.TEXT);
+  }
+
+  /** @return generator for {@link DataFactory#getBirthDate()} */
+  public static ColumnGenerator birthDate() {
+    return of(BIRTH_DATE, ColumnType.DATE);
+  }
+
+  /**
+   * @param minDate Minimum date that can be returned
+   * @param maxDate Maximum date that can be returned
+   * @return generator for {@link DataFactory#getDateBetween(Date, Date)}
+   */
+  public static ColumnGenerator dateBetween(final Date minDate, final Date maxDate) {
+    if (minDate == null || maxDate == null) {
+      throw new IllegalArgumentException("Dates cannot be null");
+    }
+    return new ColumnGenerator(DATE_BETWEEN, ColumnType.DATE, 0, 0, 0, new Date[] { minDate, maxDate });
+  }
+
+  /**
+   * @param min minimum value of result
+   * @param max maximum value of result
+   * @return generator for {@link DataFactory#getNumberBetween(int, int)}
+   */
+  public static ColumnGenerator numberBetween(final int min, final int max) {
+    if (max < min) {
+      throw new IllegalArgumentException(String.format("Minimum must be less than minimum (min=%d, max=%d)", min, max));
+    }
+    return new ColumnGenerator(NUMBER_BETWEEN, ColumnType.NUMBER, min, max, 0, null);
+  }
+
+  /**
+   * Numbers the rows, starting at <code>start</code> for the first row. This doesn't use any random values so is
+   * suitable for primary keys.
+   *
+   * @param start value for the first row
+   * @return generator for a sequence of numbers
+   */
+  public static ColumnGenerator sequence(final long start) {
+    return new ColumnGenerator(SEQUENCE, ColumnType.NUMBER, 0, 0, start, null);
+  }
+
+  /**
+   * @param digits number of digits in the final number
+   * @return generator for {@link DataFactory#getNumberText(int)}
+   */
+  public static ColumnGenerator numberText(final int digits) {
+    return new ColumnGenerator(NUMBER_TEXT, ColumnType.TEXT, digits, digits, 0, null);
+  }
+
+  /**
+   * @param minLength minimum length of returned string
+   * @param maxLength maximum length of returned string
+   * @return generator for {@link DataFactory#getRandomText(int, int)}
+   */
+  public static ColumnGenerator text(final int minLength, final int maxLength) {
+    validateLengths(minLength, maxLength);
+    return new ColumnGenerator(TEXT, ColumnType.TEXT, minLength, maxLength, 0, null);
+  }
+
+  /**
+   * @param minLength minimum length of the word
+   * @param maxLength maximum length of the word
+   * @return generator for {@link DataFactory#getRandomWord(int, int)}
+   */
+  public static ColumnGenerator word(final int minLength, final int maxLength) {
+    validateLengths(minLength, maxLength);
+    return new ColumnGenerator(WORD, ColumnType.TEXT, minLength, maxLength, 0, null);
+  }
+
+  /**
+   * @param items Array of items to choose from
+   * @return generator for {@link DataFactory#getItem(Object[])}
+   */
+  public static ColumnGenerator item(final String[] items) {
+    if (items == null || items.length == 0) {
+      throw new IllegalArgumentException("Item array cannot be null or empty");
+    }
+    return new ColumnGenerator(ITEM, ColumnType.TEXT, 0, 0, 0, items.clone());
+  }
+
+  /**
+   * Generates values with a custom function, which is passed the factory the row is being generated with.
+   *
+   * @param type type of the values returned by <code>generator</code>
+   * @param generator function that generates each value
+   * @return generator for custom values
+   */
+  public static ColumnGenerator custom(final ColumnType type, final Function<DataFactory, ?> generator) {
+    if (generator == null) {
+      throw new IllegalArgumentException("Generator cannot be null");
+    }
+    if (type == ColumnType.NUMBER) {
+      throw new IllegalArgumentException("Use customNumber for number columns");
+    }
+    return new ColumnGenerator(CUSTOM, type, 0, 0, 0, generator);
+  }
+
+  /**
+   * Generates numbers with a custom function, which is passed the factory the row is being generated with.
+   *
+   * @param generator function that generates each value
+   * @return generator for custom numbers
+   */
+  public static ColumnGenerator customNumber(final ToLongFunction<DataFactory> generator) {
+    if (generator == null) {
+      throw new IllegalArgumentException("Generator cannot be null");
+    }
+    return new ColumnGenerator(CUSTOM_NUMBER, ColumnType.NUMBER, 0, 0, 0, generator);
+  }
+
+  private static void validateLengths(final int minLength, final int maxLength) {
+    if (minLength < 0 || maxLength < minLength) {
+      throw new IllegalArgumentException(
+          String.format("Invalid length range (min=%d, max=%d)", minLength, maxLength));
+    }
+  }
+
+}
@@ -0,0 +1,21 @@
+package org.fluttercode.datafactory.impl;
+
+/**
+ * Type of the values held by a column of a generated {@link Row}. Number columns are held as primitive longs so they
+ * can be generated and written out without boxing.
+ */
+public enum ColumnType {
+
+  /** String values */
+  TEXT,
+
+  /** Whole numbers, held as primitive longs */
+  NUMBER,
+
+  /** {@link java.util.Date} values */
+  DATE,
+
+  /** Any other object values from custom generators */
+  OBJECT
+
+}
@@ -0,0 +1,51 @@
+package org.fluttercode.datafactory.impl;
+
+import org.fluttercode.datafactory.RandomSource;
+
+/**
+ * Random source that counts the numbers drawn from another source for {@link GeneratorMetrics}. The count is kept per
+ * thread so factories shared between threads do not contend on it.
+ */
+final class CountingRandomSource implements RandomSource {
+
+  private final RandomSource delegate;
+  private final ThreadLocal<GeneratorMetrics.Recorder> recorder;
+
+  CountingRandomSource(final RandomSource delegate, final ThreadLocal<GeneratorMetrics.Recorder> recorder) {
+    this.delegate = delegate;
+    this.recorder = recorder;
+  }
+
+  /**
+   * @return the source the numbers are drawn from
+   */
+  RandomSource getDelegate() {
+    return delegate;
+  }
+
+  public int nextInt() {
+    recorder.get().draw();
+    return delegate.nextInt();
+  }
+
+  public int nextInt(final int bound) {
+    recorder.get().draw();
+    return delegate.nextInt(bound);
+  }
+
+  public long nextLong() {
+    recorder.get().draw();
+    return delegate.nextLong();
+  }
+
+  public double nextDouble() {
+    recorder.get().draw();
+    return delegate.nextDouble();
+  }
+
+  public double nextGaussian() {
+    recorder.get().draw();
+    return delegate.nextGaussian();
+  }
+
+}
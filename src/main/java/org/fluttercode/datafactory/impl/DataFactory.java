@@ -21,14 +21,35 @@ package org.fluttercode.datafactory.impl;
  *
  */
 
-import java.util.Calendar;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Random;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.fluttercode.datafactory.AddressDataValues;
 import org.fluttercode.datafactory.ContentDataValues;
 import org.fluttercode.datafactory.NameDataValues;
+import org.fluttercode.datafactory.RandomSource;
 
 /**
  * Class that provides a number of methods for generating test data through helper components. These components
@@ -47,11 +68,34 @@ public final class DataFactory {
   // used for backwards compatibility
   private static Random original_random = new Random(93285);
 
+  private static final byte[] SPACE = { ' ' };
+  private static final byte[] AT = { '@' };
+  private static final byte[] DOT = { '.' };
+  private static final int MAX_ENCODED_DICTIONARIES = 32;
+  private static final int MAX_ALIAS_TABLES = 32;
+  private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+  private static final int BIRTH_DATE_DAYS = 365 * 15;
+  private static final int NOT_RECORDED = -1;
+  // dictionaries that are never weighted or mapped, numbered on from the MappedDataValues ones
+  private static final int ADDRESS_SUFFIXES = 5;
+  private static final int BUSINESS_TYPES = 6;
+  private static final int EMAIL_HOSTS = 7;
+  private static final int TLDS = 8;
+  // alias tables for weights passed in by the caller are keyed on the weights array
+  private static final int NO_DICTIONARY = -1;
+
   private NameDataValues nameDataValues = new DefaultNameDataValues();
   private AddressDataValues addressDataValues = new DefaultAddressDataValues();
   private ContentDataValues contentDataValues = new DefaultContentDataValues();
 
-  private Random random = new Random();
+  private WordLengthIndex wordLengthIndex;
+  private volatile Utf8Dictionary[] utf8Dictionaries = new Utf8Dictionary[0];
+  private volatile LowerCaseDictionary[] lowerCaseDictionaries = new LowerCaseDictionary[0];
+  private volatile AliasTable[] aliasTables = new AliasTable[0];
+
+  private RandomSource random;
+  private GeneratorMetrics metrics;
+  private boolean fixed;
 
   /**
    * Deprecated as of Aug 2015, use one of the static constructor methods:
@@ -80,6 +124,10 @@ public final class DataFactory {
   }
 
   private DataFactory(final Random random) {
+    this(new JavaRandomSource(random));
+  }
+
+  private DataFactory(final RandomSource random) {
     this.random = random;
   }
 
@@ -91,6 +139,57 @@ public final class DataFactory {
     return new DataFactory(new Random(seed));
   }
 
+  /**
+   * Creates a datafactory driven by the given instance of random.
+   *
+   * @param random Random number generator to use
+   * @return DataFactory instance using <code>random</code>
+   */
+  public static DataFactory create(final Random random) {
+    return new DataFactory(random);
+  }
+
+  /**
+   * Creates a datafactory driven by a {@link RandomSource}, which can be used to plug in a faster generator than
+   * {@link Random}, i.e.
+   *
+   * <pre>
+   * DataFactory df = DataFactory.create(new Xoroshiro128PlusPlusRandomSource(5765297));
+   * </pre>
+   *
+   * @param randomSource Source of random numbers to use
+   * @return DataFactory instance using <code>randomSource</code>
+   */
+  public static DataFactory create(final RandomSource randomSource) {
+    if (randomSource == null) {
+      throw new IllegalArgumentException("Random source cannot be null");
+    }
+    return new DataFactory(randomSource);
+  }
+
+  /**
+   * Creates a thread safe datafactory that can be shared between threads without them contending on the random number
+   * generator. Each thread gets its own random stream derived from <code>seed</code>, handed out in the order threads
+   * first use the factory, so the values are only repeatable if the threads start in the same order. For output that
+   * does not depend on scheduling, give each worker or partition its own numbered stream with {@link #forStream(int)}.
+   * Calling {@link #randomize(int)} on the returned factory replaces the per thread streams with a single shared one.
+   *
+   * @param seed root seed the per thread streams are derived from
+   * @return DataFactory instance that can be shared between threads
+   */
+  public static DataFactory createConcurrent(final long seed) {
+    return new DataFactory(new PerThreadRandom(seed));
+  }
+
+  /**
+   * Creates a thread safe datafactory with a randomly chosen root seed. See {@link #createConcurrent(long)}.
+   *
+   * @return DataFactory instance that can be shared between threads
+   */
+  public static DataFactory createConcurrent() {
+    return createConcurrent(new Random().nextLong());
+  }
+
   /**
    * Backwards compatible constructor that creates a datafactory driven by the original instance of random.
    *
@@ -99,6 +198,37 @@ public final class DataFactory {
   public static DataFactory createWithOriginalRandom() {
     return new DataFactory(original_random);
   }
+  /**
+   * Returns a factory for stream <code>stream</code> of a factory made by {@link #createConcurrent(long)}. The stream
+   * is derived from the root seed and its index only, so the same stream always produces the same values whichever
+   * thread uses it and in whatever order the streams are used. The returned factory shares the data values and
+   * metrics of this one, and is meant to be used by one worker or partition at a time :
+   *
+   * <pre>
+   * DataFactory shared = DataFactory.createConcurrent(5765297);
+   * for (int partition = 0; partition &lt; partitions; partition++) {
+   *   DataFactory df = shared.forStream(partition);
+   *   executor.submit(() -&gt; load(df));
+   * }
+   * </pre>
+   *
+   * @param stream index of the stream, from 0
+   * @return factory using the numbered stream
+   */
+  public DataFactory forStream(final int stream) {
+    RandomSource source = random instanceof CountingRandomSource ? ((CountingRandomSource) random).getDelegate()
+        : random;
+    if (!(source instanceof PerThreadRandom)) {
+      throw new IllegalStateException("Only factories made by createConcurrent have numbered streams");
+    }
+    DataFactory factory = new DataFactory(((PerThreadRandom) source).stream(stream));
+    factory.nameDataValues = nameDataValues;
+    factory.addressDataValues = addressDataValues;
+    factory.setContentDataValues(contentDataValues);
+    factory.setMetrics(metrics);
+    return factory;
+  }
+
 
   /**
    * Returns a random item from a list of items.
@@ -189,11 +319,206 @@ public final class DataFactory {
     return chance(probability) ? items[random.nextInt(items.length)] : defaultItem;
   }
 
+  /**
+   * Returns a random item from an array of items, picking each item in proportion to its weight. The first time a
+   * weights array is used an alias table is built from it so that each pick takes the same time however many items
+   * there are. Reuse the same weights array, and don't change it once it has been used.
+   *
+   * @param <T> Array item type and the type to return
+   * @param items Array of items to choose from
+   * @param weights relative weight of each item, or null for equal weights
+   * @return Item from the array
+   */
+  public <T> T getItem(final T[] items, final double[] weights) {
+    if (items == null) {
+      throw new IllegalArgumentException("Item array cannot be null");
+    }
+    if (items.length == 0) {
+      throw new IllegalArgumentException("Item array cannot be empty");
+    }
+    return items[pickIndex(items.length, weights)];
+  }
+
+  /**
+   * Returns an item from an array of items, choosing the index with a {@link KeyChooser} so that some items are much
+   * more popular than others.
+   *
+   * @param <T> Array item type and the type to return
+   * @param items Array of items to choose from
+   * @param chooser chooser for the index, whose item count cannot be more than the number of items
+   * @return Item from the array
+   */
+  public <T> T chooseItem(final T[] items, final KeyChooser chooser) {
+    if (items == null) {
+      throw new IllegalArgumentException("Item array cannot be null");
+    }
+    return items[(int) checkChooser(chooser).next(random, items.length)];
+  }
+
+  /**
+   * Picks an index with the same draws as {@link #getItem(Object[])} when there are no weights, including the
+   * probability check, so existing seeds give the same values.
+   */
+  private int pickIndex(final int size, final double[] weights) {
+    chance(100);
+    return weights == null ? random.nextInt(size) : aliasTable(weights, NO_DICTIONARY, weights, size).next(random);
+  }
+
+  /**
+   * Picks an index into one of the data values dictionaries in the same way as {@link #pickIndex(int, double[])}.
+   */
+  private int pickDictionaryIndex(final int dictionary, final int size) {
+    chance(100);
+    AliasTable table = dictionaryTable(dictionary, size);
+    return table == null ? random.nextInt(size) : table.next(random);
+  }
+
+  /**
+   * Returns the alias table for the weights of a dictionary, or null if it is not weighted.
+   */
+  private AliasTable dictionaryTable(final int dictionary, final int size) {
+    double[] weights = dictionaryWeights(dictionary);
+    return weights == null ? null : aliasTable(dictionaryOwner(dictionary), dictionary, weights, size);
+  }
+
+  /**
+   * Returns the alias table for a weights array, building it the first time it is used. Tables for the data values
+   * dictionaries are keyed on the data values, so implementations that return a new weights array each time still
+   * only have their table built once.
+   */
+  private AliasTable aliasTable(final Object owner, final int dictionary, final double[] weights, final int size) {
+    AliasTable[] cache = aliasTables;
+    for (AliasTable table : cache) {
+      if (table.isTableOf(owner, dictionary)) {
+        return checkSize(table, size);
+      }
+    }
+    AliasTable table = checkSize(new AliasTable(owner, dictionary, weights), size);
+    if (cache.length >= MAX_ALIAS_TABLES) {
+      cache = new AliasTable[0];
+    }
+    AliasTable[] updated = Arrays.copyOf(cache, cache.length + 1);
+    updated[cache.length] = table;
+    aliasTables = updated;
+    return table;
+  }
+
+  private static AliasTable checkSize(final AliasTable table, final int size) {
+    if (table.size() != size) {
+      throw new IllegalArgumentException(String.format("Expected %d weights but there are %d", size, table.size()));
+    }
+    return table;
+  }
+
+  /**
+   * Picks a value from one of the dictionaries that can be weighted or memory mapped. Memory mapped dictionaries are
+   * picked from by index so their values are never all decoded.
+   */
+  private String pickValue(final int dictionary) {
+    MappedDictionary mapped = mappedDictionary(dictionary);
+    if (mapped == null) {
+      String[] values = checkNotEmpty(dictionaryValues(dictionary));
+      return values[pickDictionaryIndex(dictionary, values.length)];
+    }
+    return mapped.get(pickDictionaryIndex(dictionary, checkNotEmpty(mapped).size()));
+  }
+
+  private void fillValues(final int dictionary, final String[] dest, final int offset, final int length) {
+    MappedDictionary mapped = mappedDictionary(dictionary);
+    final String[] values = mapped == null ? checkNotEmpty(dictionaryValues(dictionary)) : null;
+    final int size = mapped == null ? values.length : checkNotEmpty(mapped).size();
+    validateFillRange(dest, dest == null ? 0 : dest.length, offset, length);
+    final AliasTable table = dictionaryTable(dictionary, size);
+    final RandomSource random = this.random;
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      int index = table == null ? random.nextInt(size) : table.next(random);
+      dest[i] = values != null ? values[index] : mapped.get(index);
+    }
+  }
+
+  private static MappedDictionary checkNotEmpty(final MappedDictionary dictionary) {
+    if (dictionary.size() == 0) {
+      throw new IllegalArgumentException("Item array cannot be empty");
+    }
+    return dictionary;
+  }
+
+  private static String[] checkNotEmpty(final String[] dictionary) {
+    if (dictionary == null) {
+      throw new IllegalArgumentException("Item array cannot be null");
+    }
+    if (dictionary.length == 0) {
+      throw new IllegalArgumentException("Item array cannot be empty");
+    }
+    return dictionary;
+  }
+
+  private Object dictionaryOwner(final int dictionary) {
+    switch (dictionary) {
+    case MappedDataValues.FIRST_NAMES:
+    case MappedDataValues.LAST_NAMES:
+      return nameDataValues;
+    case MappedDataValues.STREET_NAMES:
+    case MappedDataValues.CITIES:
+    case ADDRESS_SUFFIXES:
+      return addressDataValues;
+    default:
+      return contentDataValues;
+    }
+  }
+
+  private MappedDictionary mappedDictionary(final int dictionary) {
+    Object owner = dictionaryOwner(dictionary);
+    return owner instanceof MappedDataValues ? ((MappedDataValues) owner).getMappedDictionary(dictionary) : null;
+  }
+
+  private String[] dictionaryValues(final int dictionary) {
+    switch (dictionary) {
+    case MappedDataValues.FIRST_NAMES:
+      return nameDataValues.getFirstNames();
+    case MappedDataValues.LAST_NAMES:
+      return nameDataValues.getLastNames();
+    case MappedDataValues.STREET_NAMES:
+      return addressDataValues.getStreetNames();
+    case MappedDataValues.CITIES:
+      return addressDataValues.getCities();
+    case ADDRESS_SUFFIXES:
+      return addressDataValues.getAddressSuffixes();
+    case BUSINESS_TYPES:
+      return contentDataValues.getBusinessTypes();
+    case EMAIL_HOSTS:
+      return contentDataValues.getEmailHosts();
+    case TLDS:
+      return contentDataValues.getTlds();
+    default:
+      return contentDataValues.getWords();
+    }
+  }
+
+  private double[] dictionaryWeights(final int dictionary) {
+    switch (dictionary) {
+    case MappedDataValues.FIRST_NAMES:
+      return nameDataValues.getFirstNameWeights();
+    case MappedDataValues.LAST_NAMES:
+      return nameDataValues.getLastNameWeights();
+    case MappedDataValues.STREET_NAMES:
+      return addressDataValues.getStreetNameWeights();
+    case MappedDataValues.CITIES:
+      return addressDataValues.getCityWeights();
+    case MappedDataValues.WORDS:
+      return contentDataValues.getWordWeights();
+    default:
+      return null;
+    }
+  }
+
   /**
    * @return A random first name
    */
   public String getFirstName() {
-    return getItem(nameDataValues.getFirstNames());
+    final int call = enter();
+    return record(call, GeneratorMetrics.FIRST_NAME, pickValue(MappedDataValues.FIRST_NAMES));
   }
 
   /**
@@ -202,21 +527,35 @@ public final class DataFactory {
    * @return First and last name value
    */
   public String getName() {
-    return getItem(nameDataValues.getFirstNames()) + " " + getItem(nameDataValues.getLastNames());
+    final int call = enter();
+    return record(call, GeneratorMetrics.NAME, appendName(new StringBuilder(32)).toString());
+  }
+
+  /**
+   * Appends a first and last name to <code>sb</code>, as {@link #getName()} returns. No objects are created other than
+   * to grow the builder.
+   *
+   * @param sb builder to append to
+   * @return <code>sb</code>
+   */
+  public StringBuilder appendName(final StringBuilder sb) {
+    return sb.append(getFirstName()).append(' ').append(getLastName());
   }
 
   /**
    * @return A random last name
    */
   public String getLastName() {
-    return getItem(nameDataValues.getLastNames());
+    final int call = enter();
+    return record(call, GeneratorMetrics.LAST_NAME, pickValue(MappedDataValues.LAST_NAMES));
   }
 
   /**
    * @return A random street name
    */
   public String getStreetName() {
-    return getItem(addressDataValues.getStreetNames());
+    final int call = enter();
+    return record(call, GeneratorMetrics.STREET_NAME, pickValue(MappedDataValues.STREET_NAMES));
   }
 
   /**
@@ -232,7 +571,8 @@ public final class DataFactory {
    * @return City as a string
    */
   public String getCity() {
-    return getItem(addressDataValues.getCities());
+    final int call = enter();
+    return record(call, GeneratorMetrics.CITY, pickValue(MappedDataValues.CITIES));
   }
 
   /**
@@ -242,8 +582,20 @@ public final class DataFactory {
    * @return Address as a string
    */
   public String getAddress() {
+    final int call = enter();
+    return record(call, GeneratorMetrics.ADDRESS, appendAddress(new StringBuilder(40)).toString());
+  }
+
+  /**
+   * Appends an address of house number, street name and street suffix to <code>sb</code>, as {@link #getAddress()}
+   * returns. See {@link #appendName(StringBuilder)}.
+   *
+   * @param sb builder to append to
+   * @return <code>sb</code>
+   */
+  public StringBuilder appendAddress(final StringBuilder sb) {
     int num = 404 + random.nextInt(1400);
-    return num + " " + getStreetName() + " " + getStreetSuffix();
+    return sb.append(num).append(' ').append(getStreetName()).append(' ').append(getStreetSuffix());
   }
 
   /**
@@ -275,12 +627,25 @@ public final class DataFactory {
    * @return Street address line 2
    */
   public String getAddressLine2() {
+    final int call = enter();
+    return record(call, GeneratorMetrics.ADDRESS_LINE_2, appendAddressLine2(new StringBuilder(16)).toString());
+  }
+
+  /**
+   * Appends line 2 for a street address (usually an Apt. or Suite #) to <code>sb</code>, as {@link #getAddressLine2()}
+   * returns. See {@link #appendName(StringBuilder)}.
+   *
+   * @param sb builder to append to
+   * @return <code>sb</code>
+   */
+  public StringBuilder appendAddressLine2(final StringBuilder sb) {
     int test = random.nextInt(100);
     if (test < 50) {
-      return "Apt #" + 100 + random.nextInt(1000);
+      sb.append("Apt #");
     } else {
-      return "Suite #" + 100 + random.nextInt(1000);
+      sb.append("Suite #");
     }
+    return sb.append(100).append(random.nextInt(1000));
   }
 
   /**
@@ -289,8 +654,29 @@ public final class DataFactory {
    * @return Date representing a birthdate
    */
   public Date getBirthDate() {
-    Date base = new Date(0);
-    return getDate(base, -365 * 15, 365 * 15);
+    final int call = enter();
+    Date date = new Date(plusDays(0, (int) getBirthEpochDay()));
+    record(call, GeneratorMetrics.BIRTH_DATE, 0);
+    return date;
+  }
+
+  /**
+   * Returns a random birth date within the range of 1955 to 1985 as a count of days from 1970-01-01, using the same
+   * random draw as {@link #getBirthDate()}.
+   *
+   * @return epoch day of a birth date
+   */
+  public long getBirthEpochDay() {
+    return -BIRTH_DATE_DAYS + random.nextInt(2 * BIRTH_DATE_DAYS);
+  }
+
+  /**
+   * Creates a random birth date within the range of 1955 to 1985
+   *
+   * @return birth date
+   */
+  public LocalDate getBirthLocalDate() {
+    return LocalDate.ofEpochDay(getBirthEpochDay());
   }
 
   /**
@@ -324,11 +710,10 @@ public final class DataFactory {
     if (max < min) {
       throw new IllegalArgumentException(String.format("Minimum must be less than minimum (min=%d, max=%d)", min, max));
     }
-    if (max == min) {
-      return min;
-    }
-
-    return min + random.nextInt(max - min);
+    final int call = enter();
+    int value = max == min ? min : min + random.nextInt(max - min);
+    record(call, GeneratorMetrics.NUMBER_BETWEEN, 0);
+    return value;
   }
 
   /**
@@ -340,10 +725,9 @@ public final class DataFactory {
    * @return Date representing the passed in values.
    */
   public Date getDate(final int year, final int month, final int day) {
-    Calendar cal = Calendar.getInstance();
-    cal.clear();
-    cal.set(year, month - 1, day, 0, 0, 0);
-    return cal.getTime();
+    // months and days outside of their normal range roll over, as they did with a lenient calendar
+    LocalDate date = LocalDate.of(year, 1, 1).plusMonths(month - 1L).plusDays(day - 1L);
+    return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
   }
 
   /**
@@ -357,11 +741,22 @@ public final class DataFactory {
    * @return A random date
    */
   public Date getDate(final Date baseDate, final int minDaysFromDate, final int maxDaysFromDate) {
-    Calendar cal = Calendar.getInstance();
-    cal.setTime(baseDate);
     int diff = minDaysFromDate + (random.nextInt(maxDaysFromDate - minDaysFromDate));
-    cal.add(Calendar.DATE, diff);
-    return cal.getTime();
+    return new Date(plusDays(baseDate.getTime(), diff));
+  }
+
+  /**
+   * Adds days to a time in the default time zone, keeping the time of day across daylight saving changes. Zones with
+   * a fixed offset, such as UTC, only need the arithmetic on the millisecond value.
+   */
+  private static long plusDays(final long epochMilli, final int days) {
+    ZoneId zone = ZoneId.systemDefault();
+    ZoneRules rules = zone.getRules();
+    if (rules.isFixedOffset()) {
+      return epochMilli + days * MILLIS_PER_DAY;
+    }
+    LocalDateTime local = LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), zone).plusDays(days);
+    return local.atZone(zone).toInstant().toEpochMilli();
   }
 
   /**
@@ -372,12 +767,135 @@ public final class DataFactory {
    * @return random date between these two dates.
    */
   public Date getDateBetween(final Date minDate, final Date maxDate) {
+    final int call = enter();
     // this can break if seconds is an int
     long seconds = (maxDate.getTime() - minDate.getTime()) / 1000;
     seconds = (long) (random.nextDouble() * seconds);
-    Date result = new Date();
-    result.setTime(minDate.getTime() + (seconds * 1000));
-    return result;
+    Date date = new Date(minDate.getTime() + (seconds * 1000));
+    record(call, GeneratorMetrics.DATE_BETWEEN, 0);
+    return date;
+  }
+
+  /**
+   * Returns a random date which is in the range <code>baseDate</code> + <code>minDaysFromDate</code> to
+   * <code>baseDate</code> + <code>maxDaysFromDate</code>, using the same random draw as
+   * {@link #getDate(Date, int, int)}.
+   *
+   * @param baseDate Date to start from
+   * @param minDaysFromDate minimum number of days from the baseDate the result can be
+   * @param maxDaysFromDate maximum number of days from the baseDate the result can be
+   * @return A random date
+   */
+  public LocalDate getLocalDate(final LocalDate baseDate, final int minDaysFromDate, final int maxDaysFromDate) {
+    checkNotNull(baseDate);
+    return baseDate.plusDays(minDaysFromDate + (random.nextInt(maxDaysFromDate - minDaysFromDate)));
+  }
+
+  /**
+   * Returns a random date between minDate (inclusive) and maxDate (exclusive), or minDate if they are the same.
+   *
+   * @param minDate Minimum date that can be returned
+   * @param maxDate Date after the last date that can be returned
+   * @return random date between these two dates
+   */
+  public LocalDate getLocalDateBetween(final LocalDate minDate, final LocalDate maxDate) {
+    checkNotNull(minDate);
+    checkNotNull(maxDate);
+    return LocalDate.ofEpochDay(getEpochDayBetween(minDate.toEpochDay(), maxDate.toEpochDay()));
+  }
+
+  /**
+   * Returns a random date and time between min (inclusive) and max (exclusive) to the millisecond, or min if they are
+   * the same. The values are treated as UTC so every minute of every day is equally likely.
+   *
+   * @param min Minimum date and time that can be returned
+   * @param max Date and time after the last that can be returned
+   * @return random date and time between the two values
+   */
+  public LocalDateTime getLocalDateTimeBetween(final LocalDateTime min, final LocalDateTime max) {
+    checkNotNull(min);
+    checkNotNull(max);
+    long millis = getEpochMilliBetween(min.toInstant(ZoneOffset.UTC).toEpochMilli(),
+        max.toInstant(ZoneOffset.UTC).toEpochMilli());
+    return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L), (int) Math.floorMod(millis, 1000L) * 1000000,
+        ZoneOffset.UTC);
+  }
+
+  /**
+   * Returns a random instant between min (inclusive) and max (exclusive) to the millisecond, or min if they are the
+   * same.
+   *
+   * @param min Minimum instant that can be returned
+   * @param max Instant after the last that can be returned
+   * @return random instant between the two values
+   */
+  public Instant getInstantBetween(final Instant min, final Instant max) {
+    checkNotNull(min);
+    checkNotNull(max);
+    return Instant.ofEpochMilli(getEpochMilliBetween(min.toEpochMilli(), max.toEpochMilli()));
+  }
+
+  /**
+   * Returns a random count of days from 1970-01-01 between minDay (inclusive) and maxDay (exclusive), or minDay if
+   * they are the same. No objects are created.
+   *
+   * @param minDay minimum epoch day
+   * @param maxDay epoch day after the last that can be returned
+   * @return random epoch day
+   */
+  public long getEpochDayBetween(final long minDay, final long maxDay) {
+    return getLongBetween(minDay, maxDay);
+  }
+
+  /**
+   * Returns a random count of milliseconds from 1970-01-01T00:00:00Z between min (inclusive) and max (exclusive), or
+   * min if they are the same. No objects are created.
+   *
+   * @param min minimum epoch millisecond
+   * @param max epoch millisecond after the last that can be returned
+   * @return random epoch millisecond
+   */
+  public long getEpochMilliBetween(final long min, final long max) {
+    return getLongBetween(min, max);
+  }
+
+  /**
+   * Fills <code>dest</code> with random epoch days between minDate (inclusive) and maxDate (exclusive).
+   *
+   * @param dest Array to fill
+   * @param minDate Minimum date
+   * @param maxDate Date after the last that can be used
+   */
+  public void fillEpochDaysBetween(final long[] dest, final LocalDate minDate, final LocalDate maxDate) {
+    checkNotNull(minDate);
+    checkNotNull(maxDate);
+    fillNumbersBetween(dest, minDate.toEpochDay(), maxDate.toEpochDay());
+  }
+
+  /**
+   * Fills <code>dest</code> with random epoch milliseconds between min (inclusive) and max (exclusive).
+   *
+   * @param dest Array to fill
+   * @param min Minimum instant
+   * @param max Instant after the last that can be used
+   */
+  public void fillEpochMillisBetween(final long[] dest, final Instant min, final Instant max) {
+    checkNotNull(min);
+    checkNotNull(max);
+    fillNumbersBetween(dest, min.toEpochMilli(), max.toEpochMilli());
+  }
+
+  private long getLongBetween(final long min, final long max) {
+    if (max < min) {
+      throw new IllegalArgumentException(String.format("Minimum must be less than minimum (min=%d, max=%d)", min, max));
+    }
+    return max == min ? min : nextLongBetween(random, min, max);
+  }
+
+  private static void checkNotNull(final Object date) {
+    if (date == null) {
+      throw new IllegalArgumentException("Date cannot be null");
+    }
   }
 
   /**
@@ -400,80 +918,257 @@ public final class DataFactory {
    */
   public String getRandomText(final int minLength, final int maxLength) {
     validateMinMaxParams(minLength, maxLength);
-
-    StringBuilder sb = new StringBuilder(maxLength);
+    final int call = enter();
     int length = minLength;
     if (maxLength != minLength) {
       length = length + random.nextInt(maxLength - minLength);
     }
-    while (length > 0) {
-      if (sb.length() != 0) {
-        sb.append(" ");
-        length--;
+    char[] text = new char[length];
+    newRandomTextWriter(length, GeneratorMetrics.RANDOM_TEXT).fill(text, 0, length);
+    return record(call, GeneratorMetrics.RANDOM_TEXT, new String(text));
+  }
+
+  /**
+   * Writes random text made up of english words to <code>writer</code>, a buffer at a time, so text of any length can
+   * be written with a fixed amount of memory. For the same seed, the text is the same as
+   * {@link #getRandomText(int)} would return.
+   *
+   * @param writer writer to write to, which is not flushed or closed
+   * @param length number of characters to write
+   * @return number of characters written
+   * @throws IOException if the writer fails
+   */
+  public long writeRandomText(final Writer writer, final long length) throws IOException {
+    if (writer == null) {
+      throw new IllegalArgumentException("Writer cannot be null");
+    }
+    checkTextLength(length);
+    final int call = enter();
+    long written = 0;
+    try {
+      RandomTextWriter text = newRandomTextWriter(length, GeneratorMetrics.WRITE_RANDOM_TEXT);
+      char[] buffer = new char[(int) Math.min(length, RandomTextWriter.BUFFER_SIZE)];
+      while (!text.isDone()) {
+        int count = text.fill(buffer, 0, buffer.length);
+        writer.write(buffer, 0, count);
+        written += count;
       }
-      final double desiredWordLengthNormalDistributed = 1.0 + Math.abs(random.nextGaussian()) * 6;
-      int usedWordLength = (int) (Math.min(length, desiredWordLengthNormalDistributed));
-      String word = getRandomWord(usedWordLength);
-      sb.append(word);
-      length = length - word.length();
+    } finally {
+      // recorded even when the writer fails so the call does not stay open
+      record(call, GeneratorMetrics.WRITE_RANDOM_TEXT, written);
     }
-    return sb.toString();
-
+    return length;
   }
 
-  private void validateMinMaxParams(final int minLength, final int maxLength) {
-    if (minLength < 0) {
-      throw new IllegalArgumentException("Minimum length must be a non-negative number");
+  /**
+   * Writes random text made up of english words to <code>channel</code> as UTF-8, a buffer at a time, so text of any
+   * length can be written with a fixed amount of memory. The length is counted in bytes, and words are picked by their
+   * encoded length so the text is exactly <code>length</code> bytes. When the words are all ASCII, the text is the same
+   * as {@link #getRandomText(int)} would return for the same seed.
+   *
+   * @param channel channel to write to, which is not closed
+   * @param length number of bytes to write
+   * @return number of bytes written
+   * @throws IOException if the channel fails
+   */
+  public long writeRandomText(final WritableByteChannel channel, final long length) throws IOException {
+    if (channel == null) {
+      throw new IllegalArgumentException("Channel cannot be null");
     }
+    checkTextLength(length);
+    final int call = enter();
+    long written = 0;
+    try {
+      RandomTextWriter text = newRandomTextWriter(length, GeneratorMetrics.WRITE_RANDOM_TEXT);
+      ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(length, RandomTextWriter.BUFFER_SIZE));
+      while (!text.isDone()) {
+        text.fill(buffer);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          written += channel.write(buffer);
+        }
+        buffer.clear();
+      }
+    } finally {
+      record(call, GeneratorMetrics.WRITE_RANDOM_TEXT, written);
+    }
+    return length;
+  }
 
-    if (maxLength < 0) {
-      throw new IllegalArgumentException("Maximum length must be a non-negative number");
+  /**
+   * Writes random text made up of english words to <code>buffer</code> as UTF-8. The length is counted in bytes. See
+   * {@link #writeRandomText(WritableByteChannel, long)} and {@link #writeFirstName(ByteBuffer)}.
+   *
+   * @param buffer buffer to write to
+   * @param length number of bytes to write
+   * @return number of bytes written
+   */
+  public int writeRandomText(final ByteBuffer buffer, final int length) {
+    checkTextLength(length);
+    checkRoom(buffer, length);
+    final int call = enter();
+    int start = buffer.position();
+    int limit = buffer.limit();
+    buffer.limit(start + length);
+    try {
+      newRandomTextWriter(length, GeneratorMetrics.WRITE_RANDOM_TEXT).fill(buffer);
+    } finally {
+      buffer.limit(limit);
+      record(call, GeneratorMetrics.WRITE_RANDOM_TEXT, buffer.position() - start);
     }
+    return length;
+  }
 
-    if (maxLength < minLength) {
-      throw new IllegalArgumentException(
-          String.format("Minimum length must be less than maximum length (min=%d, max=%d)", minLength, maxLength));
+  private static void checkTextLength(final long length) {
+    if (length < 0) {
+      throw new IllegalArgumentException("Length must be a non-negative number");
     }
   }
 
+  private RandomTextWriter newRandomTextWriter(final long length, final int generator) {
+    return new RandomTextWriter(random, getWordLengthIndex(), length, metrics, generator);
+  }
+
   /**
-   * @return a random character
+   * Returns a sentence generated from a Markov text model.
+   *
+   * @param model model of the text to generate
+   * @return a sentence
    */
-  public char getRandomChar() {
-    return (char) (random.nextInt(26) + 'a');
+  public String getSentence(final MarkovTextModel model) {
+    return appendSentence(model, new StringBuilder(128)).toString();
   }
 
   /**
-   * Return a string containing <code>length</code> random characters
+   * Appends a sentence generated from a Markov text model to <code>sb</code>.
    *
-   * @param length number of characters to use in the string
-   * @return A string containing <code>length</code> random characters
+   * @param model model of the text to generate
+   * @param sb builder to append to
+   * @return <code>sb</code>
    */
-  public String getRandomChars(final int length) {
-    return getRandomChars(length, length);
+  public StringBuilder appendSentence(final MarkovTextModel model, final StringBuilder sb) {
+    checkModel(model).appendSentence(random, sb);
+    return sb;
   }
 
   /**
-   * Return a string containing between <code>length</code> random characters
+   * Returns a paragraph of sentences generated from a Markov text model, separated by spaces.
    *
-   * @param minLength minimum number of characters to use in the string
-   * @param maxLength maximum number of characters to use in the string
-   *
-   * @return A string containing <code>length</code> random characters
+   * @param model model of the text to generate
+   * @param sentences number of sentences
+   * @return a paragraph
    */
-  public String getRandomChars(final int minLength, final int maxLength) {
-    validateMinMaxParams(minLength, maxLength);
-    StringBuilder sb = new StringBuilder(maxLength);
-
-    int length = minLength;
-    if (maxLength != minLength) {
-      length = length + random.nextInt(maxLength - minLength);
-    }
-    while (length > 0) {
-      sb.append(getRandomChar());
-      length--;
-    }
-    return sb.toString();
+  public String getParagraph(final MarkovTextModel model, final int sentences) {
+    return appendParagraph(model, sentences, new StringBuilder(128 * Math.max(sentences, 1))).toString();
+  }
+
+  /**
+   * Appends a paragraph of sentences generated from a Markov text model to <code>sb</code>.
+   *
+   * @param model model of the text to generate
+   * @param sentences number of sentences
+   * @param sb builder to append to
+   * @return <code>sb</code>
+   */
+  public StringBuilder appendParagraph(final MarkovTextModel model, final int sentences, final StringBuilder sb) {
+    checkModel(model);
+    if (sentences < 0) {
+      throw new IllegalArgumentException("Number of sentences cannot be negative");
+    }
+    for (int i = 0; i < sentences; i++) {
+      if (i > 0) {
+        sb.append(' ');
+      }
+      model.appendSentence(random, sb);
+    }
+    return sb;
+  }
+
+  private static MarkovTextModel checkModel(final MarkovTextModel model) {
+    if (model == null) {
+      throw new IllegalArgumentException("Text model cannot be null");
+    }
+    return model;
+  }
+
+  /**
+   * Sets the properties of <code>bean</code> to values matching their names and types, see {@link BeanPopulator}.
+   *
+   * @param bean bean to populate
+   * @return the bean
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T populate(final T bean) {
+    if (bean == null) {
+      throw new IllegalArgumentException("Bean cannot be null");
+    }
+    return BeanPopulator.of((Class<T>) bean.getClass()).populate(bean, this);
+  }
+
+  /**
+   * Creates a bean of class <code>type</code> and populates it, see {@link BeanPopulator}.
+   *
+   * @param type class of the bean, which must have a public no argument constructor
+   * @return the new bean
+   */
+  public <T> T getBean(final Class<T> type) {
+    return BeanPopulator.of(type).create(this);
+  }
+
+  private void validateMinMaxParams(final int minLength, final int maxLength) {
+    if (minLength < 0) {
+      throw new IllegalArgumentException("Minimum length must be a non-negative number");
+    }
+
+    if (maxLength < 0) {
+      throw new IllegalArgumentException("Maximum length must be a non-negative number");
+    }
+
+    if (maxLength < minLength) {
+      throw new IllegalArgumentException(
+          String.format("Minimum length must be less than maximum length (min=%d, max=%d)", minLength, maxLength));
+    }
+  }
+
+  /**
+   * @return a random character
+   */
+  public char getRandomChar() {
+    return (char) (random.nextInt(26) + 'a');
+  }
+
+  /**
+   * Return a string containing <code>length</code> random characters
+   *
+   * @param length number of characters to use in the string
+   * @return A string containing <code>length</code> random characters
+   */
+  public String getRandomChars(final int length) {
+    return getRandomChars(length, length);
+  }
+
+  /**
+   * Return a string containing between <code>length</code> random characters
+   *
+   * @param minLength minimum number of characters to use in the string
+   * @param maxLength maximum number of characters to use in the string
+   *
+   * @return A string containing <code>length</code> random characters
+   */
+  public String getRandomChars(final int minLength, final int maxLength) {
+    validateMinMaxParams(minLength, maxLength);
+    final int call = enter();
+    StringBuilder sb = new StringBuilder(maxLength);
+
+    int length = minLength;
+    if (maxLength != minLength) {
+      length = length + random.nextInt(maxLength - minLength);
+    }
+    while (length > 0) {
+      sb.append(getRandomChar());
+      length--;
+    }
+    return record(call, GeneratorMetrics.RANDOM_CHARS, sb.toString());
   }
 
   /**
@@ -482,7 +1177,7 @@ public final class DataFactory {
    * @return A work of max length 10
    */
   public String getRandomWord() {
-    return getItem(contentDataValues.getWords());
+    return pickValue(MappedDataValues.WORDS);
   }
 
   /**
@@ -520,28 +1215,37 @@ public final class DataFactory {
    */
   public String getRandomWord(final int minLength, final int maxLength) {
     validateMinMaxParams(minLength, maxLength);
+    final int call = enter();
 
+    String word;
     // special case if we need a single char
     if (maxLength == 1) {
-      if (chance(50)) {
-        return "a";
+      word = chance(50) ? "a" : "I";
+    } else {
+      word = getWordLengthIndex().getWord(random, minLength, maxLength);
+      if (word == null) {
+        // we haven't a word for this length so generate one
+        fallback(GeneratorMetrics.RANDOM_WORD);
+        word = getRandomChars(minLength, maxLength);
       }
-      return "I";
     }
+    return record(call, GeneratorMetrics.RANDOM_WORD, word);
+  }
 
-
-    // start from random pos and find the first word of the right size
-    String[] words = contentDataValues.getWords();
-    int pos = random.nextInt(words.length);
-    for (int i = 0; i < words.length; i++) {
-      int idx = (i + pos) % words.length;
-      String test = words[idx];
-      if (test.length() >= minLength && test.length() <= maxLength) {
-        return test;
-      }
+  /**
+   * Returns the length index for the current content data values, building it the first time it is needed. The index
+   * is dropped when the content data values are changed.
+   *
+   * @return index of the words by length
+   */
+  private WordLengthIndex getWordLengthIndex() {
+    ContentDataValues values = contentDataValues;
+    WordLengthIndex index = wordLengthIndex;
+    if (index == null || !index.isIndexOf(values)) {
+      index = new WordLengthIndex(values);
+      wordLengthIndex = index;
     }
-    // we haven't a word for this length so generate one
-    return getRandomChars(minLength, maxLength);
+    return index;
   }
 
   /**
@@ -570,11 +1274,90 @@ public final class DataFactory {
    * @return Random number as a string with a fixed length
    */
   public String getNumberText(final int digits) {
-    String result = "";
-    for (int i = 0; i < digits; i++) {
-      result = result + random.nextInt(10);
+    if (digits <= 0) {
+      return "";
+    }
+    final int call = enter();
+    char[] chars = new char[digits];
+    IdentifierFormat.fillDigits(random, chars, 0, digits);
+    return record(call, GeneratorMetrics.NUMBER_TEXT, new String(chars));
+  }
+
+  /**
+   * Returns a random identifier in the given format, i.e. a phone number or card number.
+   *
+   * @param format format of the identifier
+   * @return the identifier
+   */
+  public String getIdentifier(final IdentifierFormat format) {
+    char[] chars = new char[checkFormat(format).length()];
+    final int call = enter();
+    format.fill(random, chars, 0);
+    return record(call, GeneratorMetrics.IDENTIFIER, new String(chars));
+  }
+
+  /**
+   * Writes a random identifier into <code>dest</code> without creating any objects.
+   *
+   * @param format format of the identifier
+   * @param dest array to write to
+   * @param offset index in <code>dest</code> of the first character
+   * @return number of characters written, which is always {@link IdentifierFormat#length()}
+   */
+  public int fillIdentifier(final IdentifierFormat format, final char[] dest, final int offset) {
+    validateFillRange(dest, dest == null ? 0 : dest.length, offset, checkFormat(format).length());
+    format.fill(random, dest, offset);
+    return format.length();
+  }
+
+  /**
+   * Writes a random identifier into <code>dest</code> as ASCII bytes. See
+   * {@link #fillIdentifier(IdentifierFormat, char[], int)}.
+   *
+   * @param format format of the identifier
+   * @param dest array to write to
+   * @param offset index in <code>dest</code> of the first byte
+   * @return number of bytes written
+   */
+  public int fillIdentifier(final IdentifierFormat format, final byte[] dest, final int offset) {
+    validateFillRange(dest, dest == null ? 0 : dest.length, offset, checkFormat(format).length());
+    format.fill(random, ByteBuffer.wrap(dest), offset);
+    return format.length();
+  }
+
+  private static IdentifierFormat checkFormat(final IdentifierFormat format) {
+    if (format == null) {
+      throw new IllegalArgumentException("Identifier format cannot be null");
     }
-    return result;
+    return format;
+  }
+
+  /**
+   * @return a US style phone number, i.e. <code>(555) 123-4567</code>
+   */
+  public String getPhoneNumber() {
+    return getIdentifier(IdentifierFormat.PHONE_NUMBER);
+  }
+
+  /**
+   * @return a five digit zip code
+   */
+  public String getZipCode() {
+    return getIdentifier(IdentifierFormat.ZIP_CODE);
+  }
+
+  /**
+   * @return a social security number style id, i.e. <code>123-45-6789</code>
+   */
+  public String getSocialSecurityNumber() {
+    return getIdentifier(IdentifierFormat.SOCIAL_SECURITY_NUMBER);
+  }
+
+  /**
+   * @return a sixteen digit card number with a valid Luhn check digit
+   */
+  public String getCardNumber() {
+    return getIdentifier(IdentifierFormat.CARD_NUMBER);
   }
 
   /**
@@ -583,7 +1366,19 @@ public final class DataFactory {
    * @return A random business name
    */
   public String getBusinessName() {
-    return getCity() + " " + getItem(contentDataValues.getBusinessTypes());
+    final int call = enter();
+    return record(call, GeneratorMetrics.BUSINESS_NAME, appendBusinessName(new StringBuilder(32)).toString());
+  }
+
+  /**
+   * Appends a business name to <code>sb</code>, as {@link #getBusinessName()} returns. See
+   * {@link #appendName(StringBuilder)}.
+   *
+   * @param sb builder to append to
+   * @return <code>sb</code>
+   */
+  public StringBuilder appendBusinessName(final StringBuilder sb) {
+    return sb.append(getCity()).append(' ').append(getItem(contentDataValues.getBusinessTypes()));
   }
 
   /**
@@ -592,81 +1387,1126 @@ public final class DataFactory {
    * @return an email address
    */
   public String getEmailAddress() {
+    final int call = enter();
+    return record(call, GeneratorMetrics.EMAIL_ADDRESS, appendEmailAddress(new StringBuilder(40)).toString());
+  }
+
+  /**
+   * Appends an email address to <code>sb</code>, as {@link #getEmailAddress()} returns. The lower case values are taken
+   * from lower cased copies of the dictionaries made the first time they are used, so nothing is lower cased per call.
+   * See {@link #appendName(StringBuilder)}.
+   *
+   * @param sb builder to append to
+   * @return <code>sb</code>
+   */
+  public StringBuilder appendEmailAddress(final StringBuilder sb) {
     int test = random.nextInt(100);
-    String email = "";
     if (test < 50) {
       // name and initial
-      email = getFirstName().charAt(0) + getLastName();
+      appendLowerCase(sb, MappedDataValues.FIRST_NAMES, Utf8Dictionary.LOWER_CASE_INITIAL);
+      appendLowerCase(sb, MappedDataValues.LAST_NAMES, Utf8Dictionary.LOWER_CASE);
     } else {
       // 2 words
-      email = getItem(contentDataValues.getWords()) + getItem(contentDataValues.getWords());
+      appendLowerCase(sb, MappedDataValues.WORDS, Utf8Dictionary.LOWER_CASE);
+      appendLowerCase(sb, MappedDataValues.WORDS, Utf8Dictionary.LOWER_CASE);
     }
     if (random.nextInt(100) > 80) {
-      email = email + random.nextInt(100);
+      sb.append(random.nextInt(100));
+    }
+    sb.append('@');
+    appendLowerCase(sb, EMAIL_HOSTS, Utf8Dictionary.LOWER_CASE);
+    sb.append('.');
+    return appendLowerCase(sb, TLDS, Utf8Dictionary.LOWER_CASE);
+  }
+
+  private StringBuilder appendLowerCase(final StringBuilder sb, final int dictionary, final int mode) {
+    MappedDictionary mapped = mappedDictionary(dictionary);
+    if (mapped == null) {
+      LowerCaseDictionary lowerCase = lowerCased(dictionary, mode);
+      if (lowerCase.size() == 0) {
+        throw new IllegalArgumentException("Item array cannot be empty");
+      }
+      return sb.append(lowerCase.get(pickDictionaryIndex(dictionary, lowerCase.size())));
     }
-    email = email + "@" + getItem(contentDataValues.getEmailHosts()) + "." + getItem(contentDataValues.getTlds());
-    return email.toLowerCase();
+    int index = pickDictionaryIndex(dictionary, checkNotEmpty(mapped).size());
+    return mapped.appendTo(sb, index, mode);
   }
 
   /**
-   * Gives you a true/false based on a probability with a random number generator. Can be used to optionally add
-   * elements.
+   * Returns a lower cased copy of a dictionary, making it the first time it is used. See {@link #encoded(int, int)}.
+   */
+  private LowerCaseDictionary lowerCased(final int dictionary, final int mode) {
+    Object owner = dictionaryOwner(dictionary);
+    LowerCaseDictionary[] cache = lowerCaseDictionaries;
+    for (LowerCaseDictionary lowerCase : cache) {
+      if (lowerCase.isCopyOf(owner, dictionary, mode)) {
+        return lowerCase;
+      }
+    }
+    String[] values = dictionaryValues(dictionary);
+    if (values == null) {
+      throw new IllegalArgumentException("Item array cannot be null");
+    }
+    LowerCaseDictionary lowerCase = new LowerCaseDictionary(owner, dictionary, values, mode);
+    if (cache.length >= MAX_ENCODED_DICTIONARIES) {
+      cache = new LowerCaseDictionary[0];
+    }
+    LowerCaseDictionary[] updated = Arrays.copyOf(cache, cache.length + 1);
+    updated[cache.length] = lowerCase;
+    lowerCaseDictionaries = updated;
+    return lowerCase;
+  }
+
+  /**
+   * Fills part of <code>dest</code> with random items from <code>items</code>. The arguments are checked once up front
+   * and each element then takes a single random draw.
    *
-   * <pre>
-   * if (DataFactory.chance(70)) {
-   *   // 70% chance of this code being executed
-   * }
-   * </pre>
+   * @param <T> Array item type
+   * @param items Array of items to choose from
+   * @param dest Array to fill
+   * @param offset index of the first element of <code>dest</code> to fill
+   * @param length number of elements to fill
+   */
+  public <T> void fillItems(final T[] items, final T[] dest, final int offset, final int length) {
+    if (items == null) {
+      throw new IllegalArgumentException("Item array cannot be null");
+    }
+    if (items.length == 0) {
+      throw new IllegalArgumentException("Item array cannot be empty");
+    }
+    validateFillRange(dest, dest == null ? 0 : dest.length, offset, length);
+
+    final RandomSource random = this.random;
+    final int count = items.length;
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = items[random.nextInt(count)];
+    }
+  }
+
+  private <T> void fillItems(final T[] items, final double[] weights, final T[] dest, final int offset,
+      final int length) {
+    if (weights == null) {
+      fillItems(items, dest, offset, length);
+      return;
+    }
+    if (items == null) {
+      throw new IllegalArgumentException("Item array cannot be null");
+    }
+    validateFillRange(dest, dest == null ? 0 : dest.length, offset, length);
+    final AliasTable table = aliasTable(weights, NO_DICTIONARY, weights, items.length);
+    final RandomSource random = this.random;
+    final int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      dest[i] = items[table.next(random)];
+    }
+  }
+
+  /**
+   * Fills <code>dest</code> with random first names
    *
-   * @param chance % chance of returning true
-   * @return true or false value based on the random number generated and the chance value passed in
+   * @param dest Array to fill
    */
-  public boolean chance(final int chance) {
-    return random.nextInt(100) < chance;
+  public void fillFirstNames(final String[] dest) {
+    fillFirstNames(dest, 0, dest == null ? 0 : dest.length);
   }
 
-  public NameDataValues getNameDataValues() {
-    return nameDataValues;
+  /**
+   * Fills part of <code>dest</code> with random first names
+   *
+   * @param dest Array to fill
+   * @param offset index of the first element of <code>dest</code> to fill
+   * @param length number of elements to fill
+   */
+  public void fillFirstNames(final String[] dest, final int offset, final int length) {
+    fillValues(MappedDataValues.FIRST_NAMES, dest, offset, length);
   }
 
   /**
-   * Call randomize with a seed value to reset the random number generator. By using the same seed over different tests,
-   * you will should get the same results out for the same data generation calls.
+   * Fills <code>dest</code> with random last names
    *
-   * @param seed Seed value to use to generate random numbers
+   * @param dest Array to fill
    */
-  public void randomize(final int seed) {
-    random = new Random(seed);
+  public void fillLastNames(final String[] dest) {
+    fillLastNames(dest, 0, dest == null ? 0 : dest.length);
   }
 
   /**
-   * Set this to provide your own list of name data values by passing it a class that implements the
-   * {@link NameDataValues} interface which just returns the String arrays to use for the test data.
+   * Fills part of <code>dest</code> with random last names
    *
-   * @param nameDataValues Object holding the set of data values to use
+   * @param dest Array to fill
+   * @param offset index of the first element of <code>dest</code> to fill
+   * @param length number of elements to fill
    */
-  public void setNameDataValues(final NameDataValues nameDataValues) {
-    this.nameDataValues = nameDataValues;
+  public void fillLastNames(final String[] dest, final int offset, final int length) {
+    fillValues(MappedDataValues.LAST_NAMES, dest, offset, length);
   }
 
   /**
-   * Set this to provide your own list of address data values by passing it a class that implements the
-   * {@link AddressDataValues} interface which just returns the String arrays to use for the test data.
+   * Fills <code>dest</code> with random street names
    *
-   * @param addressDataValues Object holding the set of data values to use
+   * @param dest Array to fill
    */
-  public void setAddressDataValues(final AddressDataValues addressDataValues) {
-    this.addressDataValues = addressDataValues;
+  public void fillStreetNames(final String[] dest) {
+    fillStreetNames(dest, 0, dest == null ? 0 : dest.length);
   }
 
   /**
-   * Set this to provide your own list of content data values by passing it a class that implements the
-   * {@link ContentDataValues} interface which just returns the String arrays to use for the test data.
+   * Fills part of <code>dest</code> with random street names
    *
-   * @param contentDataValues Object holding the set of data values to use
+   * @param dest Array to fill
+   * @param offset index of the first element of <code>dest</code> to fill
+   * @param length number of elements to fill
    */
-  public void setContentDataValues(final ContentDataValues contentDataValues) {
-    this.contentDataValues = contentDataValues;
+  public void fillStreetNames(final String[] dest, final int offset, final int length) {
+    fillValues(MappedDataValues.STREET_NAMES, dest, offset, length);
+  }
+
+  /**
+   * Fills <code>dest</code> with random city names
+   *
+   * @param dest Array to fill
+   */
+  public void fillCities(final String[] dest) {
+    fillCities(dest, 0, dest == null ? 0 : dest.length);
+  }
+
+  /**
+   * Fills part of <code>dest</code> with random city names
+   *
+   * @param dest Array to fill
+   * @param offset index of the first element of <code>dest</code> to fill
+   * @param length number of elements to fill
+   */
+  public void fillCities(final String[] dest, final int offset, final int length) {
+    fillValues(MappedDataValues.CITIES, dest, offset, length);
+  }
+
+  /**
+   * Fills <code>dest</code> with random words from the dictionary
+   *
+   * @param dest Array to fill
+   */
+  public void fillWords(final String[] dest) {
+    fillWords(dest, 0, dest == null ? 0 : dest.length);
+  }
+
+  /**
+   * Fills part of <code>dest</code> with random words from the dictionary
+   *
+   * @param dest Array to fill
+   * @param offset index of the first element of <code>dest</code> to fill
+   * @param length number of elements to fill
+   */
+  public void fillWords(final String[] dest, final int offset, final int length) {
+    fillValues(MappedDataValues.WORDS, dest, offset, length);
+  }
+
+  /**
+   * Fills <code>dest</code> with random int values
+   *
+   * @param dest Array to fill
+   */
+  public void fillNumbers(final int[] dest) {
+    if (dest == null) {
+      throw new IllegalArgumentException("Destination array cannot be null");
+    }
+    final RandomSource random = this.random;
+    for (int i = 0; i < dest.length; i++) {
+      dest[i] = random.nextInt();
+    }
+  }
+
+  /**
+   * Fills <code>dest</code> with random numbers between min and max. The values are the same as calling
+   * {@link #getNumberBetween(int, int)} once for each element.
+   *
+   * @param dest Array to fill
+   * @param min minimum value of result
+   * @param max maximum value of result
+   */
+  public void fillNumbersBetween(final int[] dest, final int min, final int max) {
+    fillNumbersBetween(dest, 0, dest == null ? 0 : dest.length, min, max);
+  }
+
+  /**
+   * Fills part of <code>dest</code> with random numbers between min and max.
+   *
+   * @param dest Array to fill
+   * @param offset index of the first element of <code>dest</code> to fill
+   * @param length number of elements to fill
+   * @param min minimum value of result
+   * @param max maximum value of result
+   */
+  public void fillNumbersBetween(final int[] dest, final int offset, final int length, final int min, final int max) {
+    if (max < min) {
+      throw new IllegalArgumentException(String.format("Minimum must be less than minimum (min=%d, max=%d)", min, max));
+    }
+    validateFillRange(dest, dest == null ? 0 : dest.length, offset, length);
+
+    final int end = offset + length;
+    if (max == min) {
+      Arrays.fill(dest, offset, end, min);
+      return;
+    }
+    final RandomSource random = this.random;
+    final int range = max - min;
+    for (int i = offset; i < end; i++) {
+      dest[i] = min + random.nextInt(range);
+    }
+  }
+
+  /**
+   * Fills <code>dest</code> with random long values
+   *
+   * @param dest Array to fill
+   */
+  public void fillNumbers(final long[] dest) {
+    if (dest == null) {
+      throw new IllegalArgumentException("Destination array cannot be null");
+    }
+    final RandomSource random = this.random;
+    for (int i = 0; i < dest.length; i++) {
+      dest[i] = random.nextLong();
+    }
+  }
+
+  /**
+   * Fills <code>dest</code> with random long values between min (inclusive) and max (exclusive), or with min if they
+   * are equal.
+   *
+   * @param dest Array to fill
+   * @param min minimum value of result
+   * @param max maximum value of result
+   */
+  public void fillNumbersBetween(final long[] dest, final long min, final long max) {
+    fillNumbersBetween(dest, 0, dest == null ? 0 : dest.length, min, max);
+  }
+
+  /**
+   * Fills part of <code>dest</code> with random long values between min (inclusive) and max (exclusive), or with min if
+   * they are equal.
+   *
+   * @param dest Array to fill
+   * @param offset index of the first element of <code>dest</code> to fill
+   * @param length number of elements to fill
+   * @param min minimum value of result
+   * @param max maximum value of result
+   */
+  public void fillNumbersBetween(final long[] dest, final int offset, final int length, final long min,
+      final long max) {
+    if (max < min) {
+      throw new IllegalArgumentException(String.format("Minimum must be less than minimum (min=%d, max=%d)", min, max));
+    }
+    validateFillRange(dest, dest == null ? 0 : dest.length, offset, length);
+
+    final int end = offset + length;
+    if (max == min) {
+      Arrays.fill(dest, offset, end, min);
+      return;
+    }
+    final RandomSource random = this.random;
+    for (int i = offset; i < end; i++) {
+      dest[i] = nextLongBetween(random, min, max);
+    }
+  }
+
+  /**
+   * Returns a random value from a distribution.
+   *
+   * @param distribution distribution to sample
+   * @return random value
+   */
+  public double getDouble(final Distribution distribution) {
+    return checkDistribution(distribution).sample(random);
+  }
+
+  /**
+   * Returns a random value from a distribution, rounded to a whole number.
+   *
+   * @param distribution distribution to sample
+   * @return random value
+   */
+  public long getLong(final Distribution distribution) {
+    return checkDistribution(distribution).sampleLong(random);
+  }
+
+  /**
+   * Returns a random value from a distribution, rounded to a whole number and limited to the range of an int.
+   *
+   * @param distribution distribution to sample
+   * @return random value
+   */
+  public int getInt(final Distribution distribution) {
+    return toInt(checkDistribution(distribution).sampleLong(random));
+  }
+
+  /**
+   * Fills <code>dest</code> with random values from a distribution
+   *
+   * @param dest Array to fill
+   * @param distribution distribution to sample
+   */
+  public void fillNumbers(final double[] dest, final Distribution distribution) {
+    if (dest == null) {
+      throw new IllegalArgumentException("Destination array cannot be null");
+    }
+    checkDistribution(distribution);
+    final RandomSource random = this.random;
+    for (int i = 0; i < dest.length; i++) {
+      dest[i] = distribution.sample(random);
+    }
+  }
+
+  /**
+   * Fills <code>dest</code> with random values from a distribution, rounded to whole numbers
+   *
+   * @param dest Array to fill
+   * @param distribution distribution to sample
+   */
+  public void fillNumbers(final long[] dest, final Distribution distribution) {
+    if (dest == null) {
+      throw new IllegalArgumentException("Destination array cannot be null");
+    }
+    checkDistribution(distribution);
+    final RandomSource random = this.random;
+    for (int i = 0; i < dest.length; i++) {
+      dest[i] = distribution.sampleLong(random);
+    }
+  }
+
+  /**
+   * Fills <code>dest</code> with random values from a distribution, rounded to whole numbers and limited to the range
+   * of an int
+   *
+   * @param dest Array to fill
+   * @param distribution distribution to sample
+   */
+  public void fillNumbers(final int[] dest, final Distribution distribution) {
+    if (dest == null) {
+      throw new IllegalArgumentException("Destination array cannot be null");
+    }
+    checkDistribution(distribution);
+    final RandomSource random = this.random;
+    for (int i = 0; i < dest.length; i++) {
+      dest[i] = toInt(distribution.sampleLong(random));
+    }
+  }
+
+  /**
+   * Returns a key from 0 to the item count of <code>chooser</code> - 1, following its skew.
+   *
+   * @param chooser key chooser
+   * @return random key
+   */
+  public long getKey(final KeyChooser chooser) {
+    return checkChooser(chooser).next(random);
+  }
+
+  /**
+   * Fills <code>dest</code> with keys from <code>chooser</code>
+   *
+   * @param dest Array to fill
+   * @param chooser key chooser
+   */
+  public void fillKeys(final long[] dest, final KeyChooser chooser) {
+    if (dest == null) {
+      throw new IllegalArgumentException("Destination array cannot be null");
+    }
+    checkChooser(chooser);
+    final RandomSource random = this.random;
+    for (int i = 0; i < dest.length; i++) {
+      dest[i] = chooser.next(random);
+    }
+  }
+
+  private static KeyChooser checkChooser(final KeyChooser chooser) {
+    if (chooser == null) {
+      throw new IllegalArgumentException("Key chooser cannot be null");
+    }
+    return chooser;
+  }
+
+  private static Distribution checkDistribution(final Distribution distribution) {
+    if (distribution == null) {
+      throw new IllegalArgumentException("Distribution cannot be null");
+    }
+    return distribution;
+  }
+
+  private static int toInt(final long value) {
+    return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+  }
+
+  /**
+   * Returns a long between min (inclusive) and max (exclusive) without bias, using rejection when the range is not a
+   * power of two.
+   */
+  private static long nextLongBetween(final RandomSource random, final long min, final long max) {
+    final long range = max - min;
+    final long mask = range - 1;
+    long r = random.nextLong();
+    if ((range & mask) == 0L) {
+      return (r & mask) + min;
+    }
+    if (range > 0) {
+      // reject values from the partial range at the top
+      long u = r >>> 1;
+      while (u + mask - (r = u % range) < 0L) {
+        u = random.nextLong() >>> 1;
+      }
+      return r + min;
+    }
+    // range overflowed a long so pick from the full range until one fits
+    while (r < min || r >= max) {
+      r = random.nextLong();
+    }
+    return r;
+  }
+
+  private static void validateFillRange(final Object dest, final int destLength, final int offset, final int length) {
+    if (dest == null) {
+      throw new IllegalArgumentException("Destination array cannot be null");
+    }
+    if (offset < 0 || length < 0 || offset > destLength - length) {
+      throw new IllegalArgumentException(String.format("Invalid range (offset=%d, length=%d) for array of length %d",
+          offset, length, destLength));
+    }
+  }
+
+  /**
+   * Returns an infinite stream of values from <code>generator</code>, i.e. <code>df.stream(df::getCity)</code>. Values
+   * are only generated as the stream is consumed, so use <code>limit</code> or a short-circuiting operation to end it.
+   * The stream is sequential and can't be split for parallel processing.
+   *
+   * @param <T> type of value generated
+   * @param generator method that generates each value
+   * @return infinite stream of generated values
+   */
+  public <T> Stream<T> stream(final Supplier<? extends T> generator) {
+    return StreamSupport.stream(GeneratorSpliterators.<T> of(generator, GeneratorSpliterators.INFINITE), false);
+  }
+
+  /**
+   * Returns a stream of <code>size</code> values from <code>generator</code>. Values are only generated as the stream is
+   * consumed.
+   *
+   * @param <T> type of value generated
+   * @param generator method that generates each value
+   * @param size number of values in the stream
+   * @return stream of generated values
+   */
+  public <T> Stream<T> stream(final Supplier<? extends T> generator, final long size) {
+    GeneratorSpliterators.validateSize(size);
+    return StreamSupport.stream(GeneratorSpliterators.<T> of(generator, size), false);
+  }
+
+  /**
+   * Returns an infinite stream of int values from <code>generator</code>.
+   *
+   * @param generator method that generates each value
+   * @return infinite stream of generated values
+   */
+  public IntStream intStream(final IntSupplier generator) {
+    return StreamSupport.intStream(GeneratorSpliterators.ofInt(generator, GeneratorSpliterators.INFINITE), false);
+  }
+
+  /**
+   * Returns a stream of <code>size</code> int values from <code>generator</code>.
+   *
+   * @param generator method that generates each value
+   * @param size number of values in the stream
+   * @return stream of generated values
+   */
+  public IntStream intStream(final IntSupplier generator, final long size) {
+    GeneratorSpliterators.validateSize(size);
+    return StreamSupport.intStream(GeneratorSpliterators.ofInt(generator, size), false);
+  }
+
+  /**
+   * Returns an infinite stream of double values from <code>generator</code>.
+   *
+   * @param generator method that generates each value
+   * @return infinite stream of generated values
+   */
+  public DoubleStream doubleStream(final DoubleSupplier generator) {
+    return StreamSupport.doubleStream(GeneratorSpliterators.ofDouble(generator, GeneratorSpliterators.INFINITE),
+        false);
+  }
+
+  /**
+   * Returns a stream of <code>size</code> double values from <code>generator</code>.
+   *
+   * @param generator method that generates each value
+   * @param size number of values in the stream
+   * @return stream of generated values
+   */
+  public DoubleStream doubleStream(final DoubleSupplier generator, final long size) {
+    GeneratorSpliterators.validateSize(size);
+    return StreamSupport.doubleStream(GeneratorSpliterators.ofDouble(generator, size), false);
+  }
+
+  /**
+   * Returns an infinite stream of long values from <code>generator</code>.
+   *
+   * @param generator method that generates each value
+   * @return infinite stream of generated values
+   */
+  public LongStream longStream(final LongSupplier generator) {
+    return StreamSupport.longStream(GeneratorSpliterators.ofLong(generator, GeneratorSpliterators.INFINITE), false);
+  }
+
+  /**
+   * Returns a stream of <code>size</code> long values from <code>generator</code>.
+   *
+   * @param generator method that generates each value
+   * @param size number of values in the stream
+   * @return stream of generated values
+   */
+  public LongStream longStream(final LongSupplier generator, final long size) {
+    GeneratorSpliterators.validateSize(size);
+    return StreamSupport.longStream(GeneratorSpliterators.ofLong(generator, size), false);
+  }
+
+  /**
+   * @return An infinite stream of random first names
+   */
+  public Stream<String> firstNames() {
+    return stream(this::getFirstName);
+  }
+
+  /**
+   * @return An infinite stream of random last names
+   */
+  public Stream<String> lastNames() {
+    return stream(this::getLastName);
+  }
+
+  /**
+   * @return An infinite stream of first and last name values
+   */
+  public Stream<String> names() {
+    return stream(this::getName);
+  }
+
+  /**
+   * @return An infinite stream of email addresses
+   */
+  public Stream<String> emailAddresses() {
+    return stream(this::getEmailAddress);
+  }
+
+  /**
+   * @return An infinite stream of street addresses
+   */
+  public Stream<String> addresses() {
+    return stream(this::getAddress);
+  }
+
+  /**
+   * @return An infinite stream of city names
+   */
+  public Stream<String> cities() {
+    return stream(this::getCity);
+  }
+
+  /**
+   * @return An infinite stream of business names
+   */
+  public Stream<String> businessNames() {
+    return stream(this::getBusinessName);
+  }
+
+  /**
+   * @return An infinite stream of birthdates
+   */
+  public Stream<Date> birthDates() {
+    return stream(this::getBirthDate);
+  }
+
+  /**
+   * Returns an infinite stream of dates between two dates.
+   *
+   * @param minDate Minimum date that can be returned
+   * @param maxDate Maximum date that can be returned
+   * @return infinite stream of random dates between these two dates
+   */
+  public Stream<Date> datesBetween(final Date minDate, final Date maxDate) {
+    return stream(() -> getDateBetween(minDate, maxDate));
+  }
+
+  /**
+   * Returns an infinite stream of random words with a length between min and max length.
+   *
+   * @param minLength minimum length of each word
+   * @param maxLength maximum length of each word
+   * @return infinite stream of random words
+   */
+  public Stream<String> randomWords(final int minLength, final int maxLength) {
+    validateMinMaxParams(minLength, maxLength);
+    return stream(() -> getRandomWord(minLength, maxLength));
+  }
+
+  /**
+   * Returns an infinite stream of random text made up of english words.
+   *
+   * @param minLength minimum length of each string
+   * @param maxLength maximum length of each string
+   * @return infinite stream of random text
+   */
+  public Stream<String> randomTexts(final int minLength, final int maxLength) {
+    validateMinMaxParams(minLength, maxLength);
+    return stream(() -> getRandomText(minLength, maxLength));
+  }
+
+  /**
+   * @return An infinite stream of random int values
+   */
+  public IntStream numbers() {
+    return intStream(this::getNumber);
+  }
+
+  /**
+   * Returns an infinite stream of numbers between min and max. See {@link #getNumberBetween(int, int)}.
+   *
+   * @param min minimum value of result
+   * @param max maximum value of result
+   * @return infinite stream of random numbers within range
+   */
+  public IntStream numbersBetween(final int min, final int max) {
+    if (max < min) {
+      throw new IllegalArgumentException(String.format("Minimum must be less than minimum (min=%d, max=%d)", min, max));
+    }
+    return intStream(() -> getNumberBetween(min, max));
+  }
+
+  /**
+   * Returns an infinite stream of long values between min (inclusive) and max (exclusive), or of min if they are equal.
+   *
+   * @param min minimum value of result
+   * @param max maximum value of result
+   * @return infinite stream of random numbers within range
+   */
+  public LongStream numbersBetween(final long min, final long max) {
+    if (max < min) {
+      throw new IllegalArgumentException(String.format("Minimum must be less than minimum (min=%d, max=%d)", min, max));
+    }
+    if (max == min) {
+      return longStream(() -> min);
+    }
+    return longStream(() -> nextLongBetween(random, min, max));
+  }
+
+  /**
+   * Returns an infinite stream of values from a distribution. See {@link #getDouble(Distribution)}.
+   *
+   * @param distribution distribution to sample
+   * @return infinite stream of values
+   */
+  public DoubleStream doubles(final Distribution distribution) {
+    checkDistribution(distribution);
+    return doubleStream(() -> distribution.sample(random));
+  }
+
+  /**
+   * Returns an infinite stream of whole numbers from a distribution. See {@link #getInt(Distribution)}.
+   *
+   * @param distribution distribution to sample
+   * @return infinite stream of values
+   */
+  public IntStream ints(final Distribution distribution) {
+    checkDistribution(distribution);
+    return intStream(() -> toInt(distribution.sampleLong(random)));
+  }
+
+  /**
+   * Returns an infinite stream of whole numbers from a distribution. See {@link #getLong(Distribution)}.
+   *
+   * @param distribution distribution to sample
+   * @return infinite stream of values
+   */
+  public LongStream longs(final Distribution distribution) {
+    checkDistribution(distribution);
+    return longStream(() -> distribution.sampleLong(random));
+  }
+
+  /**
+   * Returns an infinite stream of keys from <code>chooser</code>. See {@link #getKey(KeyChooser)}.
+   *
+   * @param chooser key chooser
+   * @return infinite stream of keys
+   */
+  public LongStream keys(final KeyChooser chooser) {
+    checkChooser(chooser);
+    return longStream(() -> chooser.next(random));
+  }
+
+  /**
+   * Writes a random first name to <code>buffer</code> as UTF-8. The dictionaries are encoded once and the bytes copied
+   * straight into the buffer, so no strings are created. For the same seed, the byte writing methods produce the same
+   * values as the methods returning strings.
+   *
+   * @param buffer buffer to write to
+   * @return number of bytes written
+   * @throws java.nio.BufferOverflowException if there is not enough room in the buffer, in which case nothing is
+   *           written but the random number generator has still moved on
+   */
+  public int writeFirstName(final ByteBuffer buffer) {
+    return put(buffer, pickBytes(MappedDataValues.FIRST_NAMES, Utf8Dictionary.PLAIN));
+  }
+
+  /**
+   * Writes a random last name to <code>buffer</code> as UTF-8. See {@link #writeFirstName(ByteBuffer)}.
+   *
+   * @param buffer buffer to write to
+   * @return number of bytes written
+   */
+  public int writeLastName(final ByteBuffer buffer) {
+    return put(buffer, pickBytes(MappedDataValues.LAST_NAMES, Utf8Dictionary.PLAIN));
+  }
+
+  /**
+   * Writes a first and last name to <code>buffer</code> as UTF-8. See {@link #writeFirstName(ByteBuffer)}.
+   *
+   * @param buffer buffer to write to
+   * @return number of bytes written
+   */
+  public int writeName(final ByteBuffer buffer) {
+    byte[] first = pickBytes(MappedDataValues.FIRST_NAMES, Utf8Dictionary.PLAIN);
+    byte[] last = pickBytes(MappedDataValues.LAST_NAMES, Utf8Dictionary.PLAIN);
+    checkRoom(buffer, first.length + 1 + last.length);
+    return put(buffer, first) + put(buffer, SPACE) + put(buffer, last);
+  }
+
+  /**
+   * Writes a random street name to <code>buffer</code> as UTF-8. See {@link #writeFirstName(ByteBuffer)}.
+   *
+   * @param buffer buffer to write to
+   * @return number of bytes written
+   */
+  public int writeStreetName(final ByteBuffer buffer) {
+    return put(buffer, pickBytes(MappedDataValues.STREET_NAMES, Utf8Dictionary.PLAIN));
+  }
+
+  /**
+   * Writes a random city to <code>buffer</code> as UTF-8. See {@link #writeFirstName(ByteBuffer)}.
+   *
+   * @param buffer buffer to write to
+   * @return number of bytes written
+   */
+  public int writeCity(final ByteBuffer buffer) {
+    return put(buffer, pickBytes(MappedDataValues.CITIES, Utf8Dictionary.PLAIN));
+  }
+
+  /**
+   * Writes an address of house number, street name and street suffix to <code>buffer</code> as UTF-8. See
+   * {@link #writeFirstName(ByteBuffer)}.
+   *
+   * @param buffer buffer to write to
+   * @return number of bytes written
+   */
+  public int writeAddress(final ByteBuffer buffer) {
+    int num = 404 + random.nextInt(1400);
+    byte[] street = pickBytes(MappedDataValues.STREET_NAMES, Utf8Dictionary.PLAIN);
+    byte[] suffix = pickBytes(ADDRESS_SUFFIXES, Utf8Dictionary.PLAIN);
+    checkRoom(buffer, (num < 1000 ? 3 : 4) + 1 + street.length + 1 + suffix.length);
+    return putDigits(buffer, num) + put(buffer, SPACE) + put(buffer, street) + put(buffer, SPACE) + put(buffer, suffix);
+  }
+
+  /**
+   * Writes a business name to <code>buffer</code> as UTF-8. See {@link #writeFirstName(ByteBuffer)}.
+   *
+   * @param buffer buffer to write to
+   * @return number of bytes written
+   */
+  public int writeBusinessName(final ByteBuffer buffer) {
+    byte[] city = pickBytes(MappedDataValues.CITIES, Utf8Dictionary.PLAIN);
+    byte[] type = pickBytes(BUSINESS_TYPES, Utf8Dictionary.PLAIN);
+    checkRoom(buffer, city.length + 1 + type.length);
+    return put(buffer, city) + put(buffer, SPACE) + put(buffer, type);
+  }
+
+  /**
+   * Writes a random word to <code>buffer</code> as UTF-8. See {@link #writeFirstName(ByteBuffer)}.
+   *
+   * @param buffer buffer to write to
+   * @return number of bytes written
+   */
+  public int writeRandomWord(final ByteBuffer buffer) {
+    return put(buffer, pickBytes(MappedDataValues.WORDS, Utf8Dictionary.PLAIN));
+  }
+
+  /**
+   * Writes an email address to <code>buffer</code> as UTF-8. The lower case values are taken from lower cased copies
+   * of the dictionaries. See {@link #writeFirstName(ByteBuffer)}.
+   *
+   * @param buffer buffer to write to
+   * @return number of bytes written
+   */
+  public int writeEmailAddress(final ByteBuffer buffer) {
+    byte[] first;
+    byte[] second;
+    if (random.nextInt(100) < 50) {
+      // name and initial
+      first = pickBytes(MappedDataValues.FIRST_NAMES, Utf8Dictionary.LOWER_CASE_INITIAL);
+      second = pickBytes(MappedDataValues.LAST_NAMES, Utf8Dictionary.LOWER_CASE);
+    } else {
+      // 2 words
+      first = pickBytes(MappedDataValues.WORDS, Utf8Dictionary.LOWER_CASE);
+      second = pickBytes(MappedDataValues.WORDS, Utf8Dictionary.LOWER_CASE);
+    }
+    int number = random.nextInt(100) > 80 ? random.nextInt(100) : -1;
+    byte[] host = pickBytes(EMAIL_HOSTS, Utf8Dictionary.LOWER_CASE);
+    byte[] tld = pickBytes(TLDS, Utf8Dictionary.LOWER_CASE);
+
+    checkRoom(buffer, first.length + second.length + 2 + 1 + host.length + 1 + tld.length);
+    int written = put(buffer, first) + put(buffer, second);
+    if (number >= 0) {
+      written += putDigits(buffer, number);
+    }
+    return written + put(buffer, AT) + put(buffer, host) + put(buffer, DOT) + put(buffer, tld);
+  }
+
+  /**
+   * Writes a set of numbers with a fixed number of digits to <code>buffer</code>. See
+   * {@link #writeFirstName(ByteBuffer)}.
+   *
+   * @param buffer buffer to write to
+   * @param digits number of digits to write
+   * @return number of bytes written
+   */
+  public int writeNumberText(final ByteBuffer buffer, final int digits) {
+    if (digits <= 0) {
+      return 0;
+    }
+    checkRoom(buffer, digits);
+    IdentifierFormat.fillDigits(random, buffer, buffer.position(), digits);
+    buffer.position(buffer.position() + digits);
+    return digits;
+  }
+
+  /**
+   * Writes a random identifier to <code>buffer</code> as ASCII bytes. See {@link #writeFirstName(ByteBuffer)}.
+   *
+   * @param format format of the identifier
+   * @param buffer buffer to write to
+   * @return number of bytes written
+   */
+  public int writeIdentifier(final IdentifierFormat format, final ByteBuffer buffer) {
+    checkRoom(buffer, checkFormat(format).length());
+    format.fill(random, buffer, buffer.position());
+    buffer.position(buffer.position() + format.length());
+    return format.length();
+  }
+
+  /**
+   * Picks the UTF-8 bytes of a value from one of the data values dictionaries in the same way as
+   * {@link #getItem(Object[])}, including the probability check, so the byte and string generators stay in step for
+   * the same seed.
+   */
+  private byte[] pickBytes(final int dictionary, final int mode) {
+    MappedDictionary mapped = mappedDictionary(dictionary);
+    if (mapped == null) {
+      Utf8Dictionary encoded = encoded(dictionary, mode);
+      if (encoded.size() == 0) {
+        throw new IllegalArgumentException("Item array cannot be empty");
+      }
+      return encoded.get(pickDictionaryIndex(dictionary, encoded.size()));
+    }
+    return mapped.getBytes(pickDictionaryIndex(dictionary, checkNotEmpty(mapped).size()), mode);
+  }
+
+  /**
+   * Returns the UTF-8 encoding of a dictionary, encoding it the first time it is used. The encodings are keyed on the
+   * data values rather than the arrays they return, so data values that hand out a copy of their arrays each time are
+   * only encoded once.
+   */
+  private Utf8Dictionary encoded(final int dictionary, final int mode) {
+    Object owner = dictionaryOwner(dictionary);
+    Utf8Dictionary[] cache = utf8Dictionaries;
+    for (Utf8Dictionary encoded : cache) {
+      if (encoded.isEncodingOf(owner, dictionary, mode)) {
+        return encoded;
+      }
+    }
+    String[] values = dictionaryValues(dictionary);
+    if (values == null) {
+      throw new IllegalArgumentException("Item array cannot be null");
+    }
+    Utf8Dictionary encoded = new Utf8Dictionary(owner, dictionary, values, mode);
+    if (cache.length >= MAX_ENCODED_DICTIONARIES) {
+      // the data values have been replaced many times so start again rather than grow forever
+      cache = new Utf8Dictionary[0];
+    }
+    // copy on write so factories shared between threads always see a complete cache
+    Utf8Dictionary[] updated = Arrays.copyOf(cache, cache.length + 1);
+    updated[cache.length] = encoded;
+    utf8Dictionaries = updated;
+    return encoded;
+  }
+
+  private static void checkRoom(final ByteBuffer buffer, final int length) {
+    if (buffer.remaining() < length) {
+      throw new BufferOverflowException();
+    }
+  }
+
+  private static int put(final ByteBuffer buffer, final byte[] value) {
+    buffer.put(value);
+    return value.length;
+  }
+
+  private static int putDigits(final ByteBuffer buffer, int value) {
+    int digits = 1;
+    for (int test = value; test >= 10; test /= 10) {
+      digits++;
+    }
+    checkRoom(buffer, digits);
+    int end = buffer.position() + digits;
+    for (int pos = end - 1; pos >= end - digits; pos--) {
+      buffer.put(pos, (byte) ('0' + (value % 10)));
+      value /= 10;
+    }
+    buffer.position(end);
+    return digits;
+  }
+
+  /**
+   * Gives you a true/false based on a probability with a random number generator. Can be used to optionally add
+   * elements.
+   *
+   * <pre>
+   * if (DataFactory.chance(70)) {
+   *   // 70% chance of this code being executed
+   * }
+   * </pre>
+   *
+   * @param chance % chance of returning true
+   * @return true or false value based on the random number generated and the chance value passed in
+   */
+  public boolean chance(final int chance) {
+    return random.nextInt(100) < chance;
+  }
+
+  public NameDataValues getNameDataValues() {
+    return nameDataValues;
+  }
+
+  /**
+   * Call randomize with a seed value to reset the random number generator. By using the same seed over different tests,
+   * you will should get the same results out for the same data generation calls. This always switches the factory
+   * back to a {@link Random} based generator.
+   *
+   * @param seed Seed value to use to generate random numbers
+   */
+  public void randomize(final int seed) {
+    checkNotFixed();
+    random = instrument(new JavaRandomSource(seed));
+  }
+
+  /**
+   * Starts recording metrics for the generators of this factory, or stops recording them if <code>metrics</code> is
+   * null. See {@link GeneratorMetrics}.
+   *
+   * @param metrics metrics to record to, or null
+   */
+  public void setMetrics(final GeneratorMetrics metrics) {
+    checkNotFixed();
+    if (random instanceof CountingRandomSource) {
+      random = ((CountingRandomSource) random).getDelegate();
+    }
+    this.metrics = metrics;
+    random = instrument(random);
+  }
+
+  /**
+   * @return metrics recorded for this factory, or null if there are none
+   */
+  public GeneratorMetrics getMetrics() {
+    return metrics;
+  }
+
+  private RandomSource instrument(final RandomSource source) {
+    return metrics == null ? source : metrics.instrument(source);
+  }
+
+  /**
+   * Marks the start of a generator call, which only does anything if there are metrics.
+   *
+   * @return value to pass to <code>record</code> at the end of the call
+   */
+  private int enter() {
+    final GeneratorMetrics metrics = this.metrics;
+    return metrics == null ? NOT_RECORDED : metrics.enter();
+  }
+
+  private void record(final int call, final int generator, final long size) {
+    if (call != NOT_RECORDED) {
+      final GeneratorMetrics metrics = this.metrics;
+      if (metrics != null) {
+        metrics.exit(call, generator, size);
+      }
+    }
+  }
+
+  private String record(final int call, final int generator, final String value) {
+    record(call, generator, value.length());
+    return value;
+  }
+
+  private void fallback(final int generator) {
+    final GeneratorMetrics metrics = this.metrics;
+    if (metrics != null) {
+      metrics.fallback(generator);
+    }
+  }
+
+  /**
+   * Set this to provide your own list of name data values by passing it a class that implements the
+   * {@link NameDataValues} interface which just returns the String arrays to use for the test data.
+   *
+   * @param nameDataValues Object holding the set of data values to use
+   */
+  public void setNameDataValues(final NameDataValues nameDataValues) {
+    checkNotFixed();
+    this.nameDataValues = nameDataValues;
+  }
+
+  /**
+   * Set this to provide your own list of address data values by passing it a class that implements the
+   * {@link AddressDataValues} interface which just returns the String arrays to use for the test data.
+   *
+   * @param addressDataValues Object holding the set of data values to use
+   */
+  public void setAddressDataValues(final AddressDataValues addressDataValues) {
+    checkNotFixed();
+    this.addressDataValues = addressDataValues;
+  }
+
+  /**
+   * Set this to provide your own list of content data values by passing it a class that implements the
+   * {@link ContentDataValues} interface which just returns the String arrays to use for the test data.
+   *
+   * @param contentDataValues Object holding the set of data values to use
+   */
+  public void setContentDataValues(final ContentDataValues contentDataValues) {
+    checkNotFixed();
+    this.contentDataValues = contentDataValues;
+    this.wordLengthIndex = null;
+  }
+
+  /**
+   * Stops the random number generator, metrics and data values of this factory from being changed, for factories that
+   * are handed out by generators whose values must only depend on their own settings.
+   */
+  void fix() {
+    fixed = true;
+  }
+
+  private void checkNotFixed() {
+    if (fixed) {
+      throw new IllegalStateException("This factory cannot be reconfigured");
+    }
   }
 
 }
@@ -0,0 +1,407 @@
+package org.fluttercode.datafactory.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Writes generated rows as delimited text (CSV or TSV) in UTF-8, for use with bulk loading tools. Values are encoded
+ * straight into a direct {@link ByteBuffer} which is written to the channel whenever it fills, so no intermediate
+ * strings are built for each row. Fields are quoted when they contain the delimiter, the quote character or a line
+ * break, with quote characters doubled, as described in RFC 4180.
+ * <p>
+ * Numbers are written as plain digits and dates as <code>yyyy-MM-dd HH:mm:ss</code> in the configured time zone. Null
+ * values are written as the null value, which is an empty string by default.
+ * <p>
+ * An exporter is not thread safe since it reuses its buffer between exports.
+ */
+public final class DelimitedExporter {
+
+  public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+  private final char delimiter;
+  private char quote = '"';
+  private String lineSeparator = "\n";
+  private String nullValue = "";
+  private boolean writeHeader = true;
+  private int bufferSize = DEFAULT_BUFFER_SIZE;
+  private ZoneId zone = ZoneId.systemDefault();
+
+  private ByteBuffer buffer;
+  private WritableByteChannel channel;
+  private long bytesWritten;
+
+  private DelimitedExporter(final char delimiter) {
+    this.delimiter = delimiter;
+  }
+
+  /**
+   * @return exporter for comma separated values
+   */
+  public static DelimitedExporter csv() {
+    return new DelimitedExporter(',');
+  }
+
+  /**
+   * @return exporter for tab separated values
+   */
+  public static DelimitedExporter tsv() {
+    return new DelimitedExporter('\t');
+  }
+
+  /**
+   * @param delimiter ASCII character to put between fields
+   * @return exporter for values separated by <code>delimiter</code>
+   */
+  public static DelimitedExporter create(final char delimiter) {
+    return new DelimitedExporter(checkAscii(delimiter, "Delimiter"));
+  }
+
+  /**
+   * The delimiter and quote are written as single bytes, so they have to be ASCII to keep the output valid UTF-8.
+   */
+  private static char checkAscii(final char c, final String name) {
+    if (c >= 0x80) {
+      throw new IllegalArgumentException(String.format("%s must be an ASCII character", name));
+    }
+    return c;
+  }
+
+  /**
+   * @return a new exporter with the same settings as this one
+   */
+  public DelimitedExporter copy() {
+    DelimitedExporter copy = new DelimitedExporter(delimiter);
+    copy.quote = quote;
+    copy.lineSeparator = lineSeparator;
+    copy.nullValue = nullValue;
+    copy.writeHeader = writeHeader;
+    copy.bufferSize = bufferSize;
+    copy.zone = zone;
+    return copy;
+  }
+
+  /**
+   * Exports all the rows from <code>source</code> to a file, replacing the file if it exists.
+   *
+   * @param source rows to export
+   * @param file file to write to
+   * @return number of rows and bytes written and the time taken
+   * @throws IOException if the file cannot be written
+   */
+  public ThroughputStatistics export(final RowSource source, final Path file) throws IOException {
+    FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    try {
+      return export(source, fileChannel);
+    } finally {
+      fileChannel.close();
+    }
+  }
+
+  /**
+   * Exports all the rows from <code>source</code> to a channel. The channel is not closed.
+   *
+   * @param source rows to export
+   * @param channel channel to write to
+   * @return number of rows and bytes written and the time taken
+   * @throws IOException if the channel cannot be written to
+   */
+  public ThroughputStatistics export(final RowSource source, final WritableByteChannel channel) throws IOException {
+    if (source == null) {
+      throw new IllegalArgumentException("Row source cannot be null");
+    }
+    if (channel == null) {
+      throw new IllegalArgumentException("Channel cannot be null");
+    }
+    long start = System.nanoTime();
+    if (buffer == null || buffer.capacity() != bufferSize) {
+      buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+    buffer.clear();
+    this.channel = channel;
+    this.bytesWritten = 0;
+    try {
+      Row row = source.newRow();
+      if (writeHeader) {
+        for (int i = 0; i < row.size(); i++) {
+          if (i != 0) {
+            putAscii(delimiter);
+          }
+          putText(row.getName(i));
+        }
+        putString(lineSeparator);
+      }
+      long rows = 0;
+      while (source.next(row)) {
+        writeRow(row);
+        rows++;
+      }
+      flush();
+      return new ThroughputStatistics(rows, bytesWritten, System.nanoTime() - start);
+    } finally {
+      this.channel = null;
+    }
+  }
+
+  private void writeRow(final Row row) throws IOException {
+    int size = row.size();
+    for (int i = 0; i < size; i++) {
+      if (i != 0) {
+        putAscii(delimiter);
+      }
+      if (row.isNull(i)) {
+        putString(nullValue);
+        continue;
+      }
+      switch (row.getType(i)) {
+      case NUMBER:
+        putLong(row.getLong(i));
+        break;
+      case DATE:
+        putDate((Date) row.getValue(i));
+        break;
+      default:
+        putText(String.valueOf(row.getValue(i)));
+      }
+    }
+    putString(lineSeparator);
+  }
+
+  private void putText(final String value) throws IOException {
+    if (!needsQuoting(value)) {
+      putString(value);
+      return;
+    }
+    putAscii(quote);
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == quote) {
+        putAscii(quote);
+      }
+      putChar(value, i);
+      if (Character.isHighSurrogate(c) && i + 1 < value.length()) {
+        i++;
+      }
+    }
+    putAscii(quote);
+  }
+
+  private boolean needsQuoting(final String value) {
+    if (value.isEmpty()) {
+      // keep empty strings distinct from nulls written as nothing
+      return nullValue.isEmpty();
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == delimiter || c == quote || c == '\n' || c == '\r') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void putString(final String value) throws IOException {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        putAscii(c);
+      } else {
+        putChar(value, i);
+        if (Character.isHighSurrogate(c) && i + 1 < value.length()) {
+          i++;
+        }
+      }
+    }
+  }
+
+  /**
+   * Encodes the character at <code>index</code> as UTF-8, including the low surrogate that follows a high surrogate.
+   */
+  private void putChar(final String value, final int index) throws IOException {
+    char c = value.charAt(index);
+    if (buffer.remaining() < 4) {
+      flush();
+    }
+    if (c < 0x80) {
+      buffer.put((byte) c);
+    } else if (c < 0x800) {
+      buffer.put((byte) (0xC0 | (c >> 6)));
+      buffer.put((byte) (0x80 | (c & 0x3F)));
+    } else if (Character.isHighSurrogate(c) && index + 1 < value.length()
+        && Character.isLowSurrogate(value.charAt(index + 1))) {
+      int cp = Character.toCodePoint(c, value.charAt(index + 1));
+      buffer.put((byte) (0xF0 | (cp >> 18)));
+      buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+      buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+      buffer.put((byte) (0x80 | (cp & 0x3F)));
+    } else if (Character.isSurrogate(c)) {
+      // unpaired surrogate, write a replacement character
+      buffer.put((byte) '?');
+    } else {
+      buffer.put((byte) (0xE0 | (c >> 12)));
+      buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+      buffer.put((byte) (0x80 | (c & 0x3F)));
+    }
+  }
+
+  private void putAscii(final char c) throws IOException {
+    if (!buffer.hasRemaining()) {
+      flush();
+    }
+    buffer.put((byte) c);
+  }
+
+  private void putLong(long value) throws IOException {
+    if (buffer.remaining() < 20) {
+      flush();
+    }
+    if (value == Long.MIN_VALUE) {
+      putString("-9223372036854775808");
+      return;
+    }
+    if (value < 0) {
+      buffer.put((byte) '-');
+      value = -value;
+    }
+    int digits = 1;
+    for (long test = value; test >= 10; test /= 10) {
+      digits++;
+    }
+    int end = buffer.position() + digits;
+    for (int pos = end - 1; pos >= end - digits; pos--) {
+      buffer.put(pos, (byte) ('0' + (value % 10)));
+      value /= 10;
+    }
+    buffer.position(end);
+  }
+
+  private void putDate(final Date date) throws IOException {
+    LocalDateTime time = LocalDateTime.ofInstant(date.toInstant(), zone);
+    if (buffer.remaining() < 20) {
+      flush();
+    }
+    int year = time.getYear();
+    if (year < 0 || year > 9999) {
+      putString(time.toString());
+      return;
+    }
+    putDigits(year, 4);
+    buffer.put((byte) '-');
+    putDigits(time.getMonthValue(), 2);
+    buffer.put((byte) '-');
+    putDigits(time.getDayOfMonth(), 2);
+    buffer.put((byte) ' ');
+    putDigits(time.getHour(), 2);
+    buffer.put((byte) ':');
+    putDigits(time.getMinute(), 2);
+    buffer.put((byte) ':');
+    putDigits(time.getSecond(), 2);
+  }
+
+  private void putDigits(int value, final int digits) {
+    int end = buffer.position() + digits;
+    for (int pos = end - 1; pos >= end - digits; pos--) {
+      buffer.put(pos, (byte) ('0' + (value % 10)));
+      value /= 10;
+    }
+    buffer.position(end);
+  }
+
+  private void flush() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      bytesWritten += channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  public char getDelimiter() {
+    return delimiter;
+  }
+
+  public char getQuote() {
+    return quote;
+  }
+
+  /**
+   * @param quote ASCII character used to quote fields that contain special characters
+   */
+  public void setQuote(final char quote) {
+    this.quote = checkAscii(quote, "Quote");
+  }
+
+  public String getLineSeparator() {
+    return lineSeparator;
+  }
+
+  /**
+   * @param lineSeparator characters written at the end of each row
+   */
+  public void setLineSeparator(final String lineSeparator) {
+    if (lineSeparator == null) {
+      throw new IllegalArgumentException("Line separator cannot be null");
+    }
+    this.lineSeparator = lineSeparator;
+  }
+
+  public String getNullValue() {
+    return nullValue;
+  }
+
+  /**
+   * @param nullValue text written for null values, i.e. <code>\N</code> for the PostgreSQL text format
+   */
+  public void setNullValue(final String nullValue) {
+    if (nullValue == null) {
+      throw new IllegalArgumentException("Null value cannot be null");
+    }
+    this.nullValue = nullValue;
+  }
+
+  public boolean isWriteHeader() {
+    return writeHeader;
+  }
+
+  /**
+   * @param writeHeader true to write a row of column names before the data
+   */
+  public void setWriteHeader(final boolean writeHeader) {
+    this.writeHeader = writeHeader;
+  }
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  /**
+   * @param bufferSize size in bytes of the buffer that is filled before each write to the channel
+   */
+  public void setBufferSize(final int bufferSize) {
+    if (bufferSize < 64) {
+      throw new IllegalArgumentException("Buffer size must be at least 64 bytes");
+    }
+    this.bufferSize = bufferSize;
+  }
+
+  public ZoneId getZone() {
+    return zone;
+  }
+
+  /**
+   * @param zone time zone that dates are written in
+   */
+  public void setZone(final ZoneId zone) {
+    if (zone == null) {
+      throw new IllegalArgumentException("Zone cannot be null");
+    }
+    this.zone = zone;
+  }
+
+}
@@ -0,0 +1,257 @@
+package org.fluttercode.datafactory.impl;
+
+import org.fluttercode.datafactory.RandomSource;
+
+/**
+ * Probability distribution for random numbers, such as order sizes or response times in a load model. Distributions
+ * are immutable and can be shared between threads and factories. Use them through
+ * {@link DataFactory#getDouble(Distribution)} and the related fill and stream methods, or call
+ * {@link #sample(RandomSource)} with any random source.
+ *
+ * <pre>
+ * Distribution orderSize = Distribution.logNormal(3, 0.5);
+ * int items = dataFactory.getInt(orderSize);
+ * </pre>
+ */
+public abstract class Distribution {
+
+  Distribution() {
+  }
+
+  /**
+   * @param min minimum value (inclusive)
+   * @param max maximum value (exclusive)
+   * @return uniform distribution between the two values
+   */
+  public static Distribution uniform(final double min, final double max) {
+    if (!(min <= max) || Double.isInfinite(max - min)) {
+      throw new IllegalArgumentException(String.format("Invalid range (min=%s, max=%s)", min, max));
+    }
+    return new Uniform(min, max);
+  }
+
+  /**
+   * Normal distribution, sampled with the ziggurat method.
+   *
+   * @param mean mean of the distribution
+   * @param standardDeviation standard deviation, which cannot be negative
+   * @return normal distribution
+   */
+  public static Distribution normal(final double mean, final double standardDeviation) {
+    checkNotNegative(standardDeviation, "Standard deviation");
+    return new Normal(mean, standardDeviation);
+  }
+
+  /**
+   * Exponential distribution, sampled with the ziggurat method.
+   *
+   * @param mean mean of the distribution, which must be greater than zero
+   * @return exponential distribution
+   */
+  public static Distribution exponential(final double mean) {
+    checkPositive(mean, "Mean");
+    return new Exponential(mean);
+  }
+
+  /**
+   * Poisson distribution of whole numbers. Small means are sampled by multiplying uniform values, larger ones with
+   * Hormann's transformed rejection method, which takes the same time whatever the mean.
+   *
+   * @param mean mean of the distribution, which must be greater than zero
+   * @return Poisson distribution
+   */
+  public static Distribution poisson(final double mean) {
+    checkPositive(mean, "Mean");
+    return mean < Poisson.REJECTION_THRESHOLD ? new Poisson(mean) : new PoissonRejection(mean);
+  }
+
+  /**
+   * Log-normal distribution, the distribution of <code>exp(X)</code> where <code>X</code> is normally distributed.
+   *
+   * @param mu mean of the underlying normal distribution
+   * @param sigma standard deviation of the underlying normal distribution, which cannot be negative
+   * @return log-normal distribution
+   */
+  public static Distribution logNormal(final double mu, final double sigma) {
+    checkNotNegative(sigma, "Sigma");
+    return new LogNormal(mu, sigma);
+  }
+
+  private static void checkNotNegative(final double value, final String name) {
+    if (!(value >= 0) || Double.isInfinite(value)) {
+      throw new IllegalArgumentException(name + " must be a finite value of zero or more");
+    }
+  }
+
+  private static void checkPositive(final double value, final String name) {
+    if (!(value > 0) || Double.isInfinite(value)) {
+      throw new IllegalArgumentException(name + " must be a finite value greater than zero");
+    }
+  }
+
+  /**
+   * @param random random source to draw from
+   * @return a sample from the distribution
+   */
+  public abstract double sample(RandomSource random);
+
+  /**
+   * Returns a sample rounded to a whole number. Distributions of whole numbers return them without going through a
+   * double.
+   *
+   * @param random random source to draw from
+   * @return a sample from the distribution as a long
+   */
+  public long sampleLong(final RandomSource random) {
+    return Math.round(sample(random));
+  }
+
+  private static final class Uniform extends Distribution {
+
+    private final double min;
+    private final double range;
+
+    Uniform(final double min, final double max) {
+      this.min = min;
+      this.range = max - min;
+    }
+
+    @Override
+    public double sample(final RandomSource random) {
+      return min + range * random.nextDouble();
+    }
+  }
+
+  private static final class Normal extends Distribution {
+
+    private final double mean;
+    private final double standardDeviation;
+
+    Normal(final double mean, final double standardDeviation) {
+      this.mean = mean;
+      this.standardDeviation = standardDeviation;
+    }
+
+    @Override
+    public double sample(final RandomSource random) {
+      return mean + standardDeviation * Ziggurat.normal(random);
+    }
+  }
+
+  private static final class Exponential extends Distribution {
+
+    private final double mean;
+
+    Exponential(final double mean) {
+      this.mean = mean;
+    }
+
+    @Override
+    public double sample(final RandomSource random) {
+      return mean * Ziggurat.exponential(random);
+    }
+  }
+
+  private static final class LogNormal extends Distribution {
+
+    private final double mu;
+    private final double sigma;
+
+    LogNormal(final double mu, final double sigma) {
+      this.mu = mu;
+      this.sigma = sigma;
+    }
+
+    @Override
+    public double sample(final RandomSource random) {
+      return Math.exp(mu + sigma * Ziggurat.normal(random));
+    }
+  }
+
+  private static class Poisson extends Distribution {
+
+    static final double REJECTION_THRESHOLD = 10;
+
+    private final double limit;
+
+    Poisson(final double mean) {
+      this.limit = Math.exp(-mean);
+    }
+
+    @Override
+    public final double sample(final RandomSource random) {
+      return sampleLong(random);
+    }
+
+    @Override
+    public long sampleLong(final RandomSource random) {
+      long count = 0;
+      double product = random.nextDouble();
+      while (product > limit) {
+        count++;
+        product *= random.nextDouble();
+      }
+      return count;
+    }
+  }
+
+  /**
+   * PTRS from Hormann, "The transformed rejection method for generating Poisson random variables" (1993).
+   */
+  private static final class PoissonRejection extends Poisson {
+
+    private static final double[] LOG_FACTORIALS = new double[10];
+
+    static {
+      for (int i = 1; i < LOG_FACTORIALS.length; i++) {
+        LOG_FACTORIALS[i] = LOG_FACTORIALS[i - 1] + Math.log(i);
+      }
+    }
+
+    private final double mean;
+    private final double logMean;
+    private final double a;
+    private final double b;
+    private final double logInverseAlpha;
+    private final double vr;
+
+    PoissonRejection(final double mean) {
+      super(mean);
+      this.mean = mean;
+      logMean = Math.log(mean);
+      b = 0.931 + 2.53 * Math.sqrt(mean);
+      a = -0.059 + 0.02483 * b;
+      logInverseAlpha = Math.log(1.1239 + 1.1328 / (b - 3.4));
+      vr = 0.9277 - 3.6224 / (b - 2);
+    }
+
+    @Override
+    public long sampleLong(final RandomSource random) {
+      while (true) {
+        double u = random.nextDouble() - 0.5;
+        double v = random.nextDouble();
+        double us = 0.5 - Math.abs(u);
+        long k = (long) Math.floor((2 * a / us + b) * u + mean + 0.43);
+        if (us >= 0.07 && v <= vr) {
+          return k;
+        }
+        if (k < 0 || (us < 0.013 && v > us)) {
+          continue;
+        }
+        if (Math.log(v) + logInverseAlpha - Math.log(a / (us * us) + b) <= -mean + k * logMean - logFactorial(k)) {
+          return k;
+        }
+      }
+    }
+
+    private static double logFactorial(final long k) {
+      if (k < LOG_FACTORIALS.length) {
+        return LOG_FACTORIALS[(int) k];
+      }
+      // Stirling's series
+      double n = k;
+      return (n + 0.5) * Math.log(n) - n + 0.5 * Math.log(2 * Math.PI) + 1 / (12 * n) - 1 / (360 * n * n * n);
+    }
+  }
+
+}
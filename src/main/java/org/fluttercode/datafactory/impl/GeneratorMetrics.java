@@ -0,0 +1,327 @@
+package org.fluttercode.datafactory.impl;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.fluttercode.datafactory.RandomSource;
+
+/**
+ * Records how much work the generators of a {@link DataFactory} are doing, to find out which generator is slowing down
+ * a data load. For each generator it counts the calls, the random numbers drawn, the characters or bytes produced and
+ * the times a dictionary had no suitable value so random letters were used instead, and keeps a histogram of the
+ * time taken by one call in every {@link #SAMPLE_INTERVAL} on each thread. Metrics are switched on by giving them to
+ * the factory :
+ *
+ * <pre>
+ * GeneratorMetrics metrics = new GeneratorMetrics();
+ * dataFactory.setMetrics(metrics);
+ * metrics.register(&quot;seeding&quot;);
+ * ...
+ * GeneratorStatistics emails = metrics.snapshot().get(&quot;getEmailAddress&quot;);
+ * </pre>
+ *
+ * Without metrics the factory only checks for them on each call, so there is next to no cost. Random draws and
+ * latencies include any generators called from within a generator, i.e. the draws for {@link DataFactory#getName()}
+ * include those for the first and last names. The same metrics can be shared by factories on different threads.
+ */
+public final class GeneratorMetrics implements GeneratorMetricsMXBean {
+
+  /** Latency is timed for one call in this many on each thread */
+  public static final int SAMPLE_INTERVAL = 64;
+
+  static final int FIRST_NAME = 0;
+  static final int LAST_NAME = 1;
+  static final int NAME = 2;
+  static final int STREET_NAME = 3;
+  static final int CITY = 4;
+  static final int ADDRESS = 5;
+  static final int ADDRESS_LINE_2 = 6;
+  static final int EMAIL_ADDRESS = 7;
+  static final int BUSINESS_NAME = 8;
+  static final int BIRTH_DATE = 9;
+  static final int DATE_BETWEEN = 10;
+  static final int NUMBER_BETWEEN = 11;
+  static final int NUMBER_TEXT = 12;
+  static final int IDENTIFIER = 13;
+  static final int RANDOM_CHARS = 14;
+  static final int RANDOM_WORD = 15;
+  static final int RANDOM_TEXT = 16;
+  static final int WRITE_RANDOM_TEXT = 17;
+
+  private static final String[] NAMES = { "getFirstName", "getLastName", "getName", "getStreetName", "getCity",
+      "getAddress", "getAddressLine2", "getEmailAddress", "getBusinessName", "getBirthDate", "getDateBetween",
+      "getNumberBetween", "getNumberText", "getIdentifier", "getRandomChars", "getRandomWord", "getRandomText",
+      "writeRandomText" };
+
+  private static final int NO_SAMPLE = -1;
+
+  private final Counters[] counters;
+  private final LongAdder randomDraws = new LongAdder();
+  // only reachable from the thread, so the recorders of threads that have ended can be collected
+  private final ThreadLocal<Recorder> recorder = new ThreadLocal<Recorder>() {
+    @Override
+    protected Recorder initialValue() {
+      return new Recorder(randomDraws);
+    }
+  };
+  private ObjectName objectName;
+
+  public GeneratorMetrics() {
+    counters = new Counters[NAMES.length];
+    for (int i = 0; i < counters.length; i++) {
+      counters[i] = new Counters();
+    }
+  }
+
+  /**
+   * Returns the statistics of each generator that has been called, keyed on the name of the generator method. The
+   * counts are read one after the other while the generators may still be running, so they are not an exact point in
+   * time.
+   *
+   * @return statistics of the generators in a fixed order
+   */
+  public Map<String, GeneratorStatistics> snapshot() {
+    Map<String, GeneratorStatistics> snapshot = new LinkedHashMap<String, GeneratorStatistics>();
+    for (int i = 0; i < counters.length; i++) {
+      Counters generator = counters[i];
+      long calls = generator.calls.sum();
+      if (calls == 0) {
+        continue;
+      }
+      long[] latencies = new long[GeneratorStatistics.BUCKETS];
+      for (int bucket = 0; bucket < latencies.length; bucket++) {
+        latencies[bucket] = generator.latencies.get(bucket);
+      }
+      snapshot.put(NAMES[i], new GeneratorStatistics(NAMES[i], calls, generator.draws.sum(), generator.size.sum(),
+          generator.fallbacks.sum(), latencies));
+    }
+    return Collections.unmodifiableMap(snapshot);
+  }
+
+  /**
+   * Returns the random numbers drawn on all threads. Draws made within a generator call are added when the call ends.
+   */
+  public long getRandomDraws() {
+    return randomDraws.sum();
+  }
+
+  public Map<String, Long> getCalls() {
+    Map<String, Long> calls = new LinkedHashMap<String, Long>();
+    for (GeneratorStatistics statistics : snapshot().values()) {
+      calls.put(statistics.getName(), statistics.getCalls());
+    }
+    return calls;
+  }
+
+  public Map<String, Long> getDraws() {
+    Map<String, Long> draws = new LinkedHashMap<String, Long>();
+    for (GeneratorStatistics statistics : snapshot().values()) {
+      draws.put(statistics.getName(), statistics.getRandomDraws());
+    }
+    return draws;
+  }
+
+  public Map<String, Long> getSizes() {
+    Map<String, Long> sizes = new LinkedHashMap<String, Long>();
+    for (GeneratorStatistics statistics : snapshot().values()) {
+      sizes.put(statistics.getName(), statistics.getSize());
+    }
+    return sizes;
+  }
+
+  public Map<String, Long> getFallbacks() {
+    Map<String, Long> fallbacks = new LinkedHashMap<String, Long>();
+    for (GeneratorStatistics statistics : snapshot().values()) {
+      fallbacks.put(statistics.getName(), statistics.getFallbacks());
+    }
+    return fallbacks;
+  }
+
+  public Map<String, Long> getMedianLatencies() {
+    return getLatencies(0.5);
+  }
+
+  public Map<String, Long> get99thPercentileLatencies() {
+    return getLatencies(0.99);
+  }
+
+  private Map<String, Long> getLatencies(final double quantile) {
+    Map<String, Long> latencies = new LinkedHashMap<String, Long>();
+    for (GeneratorStatistics statistics : snapshot().values()) {
+      latencies.put(statistics.getName(), statistics.getLatencyNanos(quantile));
+    }
+    return latencies;
+  }
+
+  /**
+   * Clears the counts. Calls that are running at the time may be partly counted.
+   */
+  public void reset() {
+    for (Counters generator : counters) {
+      generator.calls.reset();
+      generator.draws.reset();
+      generator.size.reset();
+      generator.fallbacks.reset();
+      for (int bucket = 0; bucket < GeneratorStatistics.BUCKETS; bucket++) {
+        generator.latencies.set(bucket, 0);
+      }
+    }
+    randomDraws.reset();
+  }
+
+  /**
+   * Registers the metrics with the platform MBean server under
+   * <code>org.fluttercode.datafactory:type=GeneratorMetrics,name=</code><code>name</code>.
+   *
+   * @param name name to tell these metrics apart from others
+   * @return name the metrics were registered under
+   */
+  public synchronized ObjectName register(final String name) {
+    if (name == null) {
+      throw new IllegalArgumentException("Name cannot be null");
+    }
+    if (objectName != null) {
+      throw new IllegalStateException("Metrics are already registered as " + objectName);
+    }
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      ObjectName registered = new ObjectName("org.fluttercode.datafactory:type=GeneratorMetrics,name="
+          + ObjectName.quote(name));
+      server.registerMBean(this, registered);
+      objectName = registered;
+      return registered;
+    } catch (JMException e) {
+      throw new IllegalStateException("Could not register metrics as " + name, e);
+    }
+  }
+
+  /**
+   * Removes the metrics from the platform MBean server if they have been registered.
+   */
+  public synchronized void unregister() {
+    if (objectName == null) {
+      return;
+    }
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    } catch (JMException e) {
+      throw new IllegalStateException("Could not unregister metrics " + objectName, e);
+    } finally {
+      objectName = null;
+    }
+  }
+
+  /**
+   * @return random source that counts the draws made from <code>random</code>
+   */
+  RandomSource instrument(final RandomSource random) {
+    return new CountingRandomSource(random, recorder);
+  }
+
+  /**
+   * Marks the start of a generator call on this thread.
+   *
+   * @return frame to pass to {@link #exit(int, int, long)}
+   */
+  int enter() {
+    return recorder.get().enter();
+  }
+
+  /**
+   * Records a generator call started with {@link #enter()}.
+   *
+   * @param frame frame returned by {@link #enter()}
+   * @param generator generator that was called
+   * @param size characters or bytes produced
+   */
+  void exit(final int frame, final int generator, final long size) {
+    recorder.get().exit(frame, counters[generator], size);
+  }
+
+  /**
+   * Records that a generator had to make up a value because a dictionary had nothing suitable.
+   */
+  void fallback(final int generator) {
+    counters[generator].fallbacks.increment();
+  }
+
+  private static final class Counters {
+
+    final LongAdder calls = new LongAdder();
+    final LongAdder draws = new LongAdder();
+    final LongAdder size = new LongAdder();
+    final LongAdder fallbacks = new LongAdder();
+    final AtomicLongArray latencies = new AtomicLongArray(GeneratorStatistics.BUCKETS);
+  }
+
+  /**
+   * Per thread record of the random draws made and the calls in progress, so nested generator calls can be told
+   * apart without any locking.
+   */
+  static final class Recorder {
+
+    private final LongAdder total;
+    // only used by the owning thread
+    private long draws;
+    private long added;
+    private int calls;
+    private int depth;
+    private long[] startDraws = new long[8];
+    private long[] startNanos = new long[8];
+
+    Recorder(final LongAdder total) {
+      this.total = total;
+    }
+
+    void draw() {
+      draws++;
+      if (depth == 0) {
+        addDraws();
+      }
+    }
+
+    int enter() {
+      int frame = depth;
+      if (frame == startDraws.length) {
+        startDraws = Arrays.copyOf(startDraws, frame * 2);
+        startNanos = Arrays.copyOf(startNanos, frame * 2);
+      }
+      startDraws[frame] = draws;
+      startNanos[frame] = (++calls & (SAMPLE_INTERVAL - 1)) == 0 ? System.nanoTime() : NO_SAMPLE;
+      depth = frame + 1;
+      return frame;
+    }
+
+    void exit(final int frame, final Counters generator, final long size) {
+      if (frame >= depth) {
+        // entered on other metrics, or a call that has already been recorded
+        return;
+      }
+      // going back to the frame also drops any calls that ended with an exception
+      depth = frame;
+      generator.calls.increment();
+      generator.draws.add(Math.max(0, draws - startDraws[frame]));
+      generator.size.add(size);
+      long start = startNanos[frame];
+      if (start != NO_SAMPLE) {
+        generator.latencies.incrementAndGet(GeneratorStatistics.bucket(System.nanoTime() - start));
+      }
+      addDraws();
+    }
+
+    private void addDraws() {
+      total.add(draws - added);
+      added = draws;
+    }
+  }
+
+}
@@ -0,0 +1,51 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link GeneratorMetrics}, for watching a data load from a JMX console. The maps are keyed
+ * on the name of the generator method and only include the generators that have been called.
+ */
+public interface GeneratorMetricsMXBean {
+
+  /**
+   * @return total number of random numbers drawn by the factories using the metrics
+   */
+  long getRandomDraws();
+
+  /**
+   * @return number of calls to each generator
+   */
+  Map<String, Long> getCalls();
+
+  /**
+   * @return number of random numbers drawn by each generator
+   */
+  Map<String, Long> getDraws();
+
+  /**
+   * @return number of characters or bytes produced by each generator
+   */
+  Map<String, Long> getSizes();
+
+  /**
+   * @return number of times each generator made up a value because a dictionary had nothing suitable
+   */
+  Map<String, Long> getFallbacks();
+
+  /**
+   * @return median time of the sampled calls to each generator in nanoseconds
+   */
+  Map<String, Long> getMedianLatencies();
+
+  /**
+   * @return 99th percentile time of the sampled calls to each generator in nanoseconds
+   */
+  Map<String, Long> get99thPercentileLatencies();
+
+  /**
+   * Clears the counts.
+   */
+  void reset();
+
+}
@@ -0,0 +1,226 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Spliterators that pull values from a generator only when the consumer asks for them. They are either infinite or
+ * sized, and never split, since the generators share a single random number generator and the values have to come
+ * out in the same order every time for a given seed. Sized spliterators report {@link Spliterator#SIZED} so that
+ * operations such as <code>count()</code> don't need to generate anything.
+ */
+final class GeneratorSpliterators {
+
+  static final long INFINITE = -1;
+
+  private static final int SIZED_CHARACTERISTICS = Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.SIZED
+      | Spliterator.SUBSIZED;
+  private static final int INFINITE_CHARACTERISTICS = Spliterator.ORDERED | Spliterator.IMMUTABLE;
+
+  private GeneratorSpliterators() {
+  }
+
+  static <T> Spliterator<T> of(final Supplier<? extends T> generator, final long size) {
+    return new ObjectGenerator<T>(generator, size);
+  }
+
+  static Spliterator.OfInt ofInt(final IntSupplier generator, final long size) {
+    return new IntGenerator(generator, size);
+  }
+
+  static Spliterator.OfLong ofLong(final LongSupplier generator, final long size) {
+    return new LongGenerator(generator, size);
+  }
+
+  static Spliterator.OfDouble ofDouble(final DoubleSupplier generator, final long size) {
+    return new DoubleGenerator(generator, size);
+  }
+
+  static void validateSize(final long size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("Size must be a non-negative number");
+    }
+  }
+
+  private abstract static class Base {
+
+    // number of values left to generate, or INFINITE
+    long remaining;
+
+    Base(final long size) {
+      this.remaining = size;
+    }
+
+    final boolean take() {
+      if (remaining == INFINITE) {
+        return true;
+      }
+      if (remaining == 0) {
+        return false;
+      }
+      remaining--;
+      return true;
+    }
+
+    public final long estimateSize() {
+      return remaining == INFINITE ? Long.MAX_VALUE : remaining;
+    }
+
+    public final int characteristics() {
+      return remaining == INFINITE ? INFINITE_CHARACTERISTICS : SIZED_CHARACTERISTICS;
+    }
+
+  }
+
+  private static final class ObjectGenerator<T> extends Base implements Spliterator<T> {
+
+    private final Supplier<? extends T> generator;
+
+    ObjectGenerator(final Supplier<? extends T> generator, final long size) {
+      super(size);
+      this.generator = generator;
+    }
+
+    public boolean tryAdvance(final Consumer<? super T> action) {
+      if (!take()) {
+        return false;
+      }
+      action.accept(generator.get());
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+      if (remaining == INFINITE) {
+        while (true) {
+          action.accept(generator.get());
+        }
+      }
+      for (long i = remaining; i > 0; i--) {
+        action.accept(generator.get());
+      }
+      remaining = 0;
+    }
+
+    @Override
+    public ObjectGenerator<T> trySplit() {
+      return null;
+    }
+  }
+
+  private static final class IntGenerator extends Base implements Spliterator.OfInt {
+
+    private final IntSupplier generator;
+
+    IntGenerator(final IntSupplier generator, final long size) {
+      super(size);
+      this.generator = generator;
+    }
+
+    public boolean tryAdvance(final IntConsumer action) {
+      if (!take()) {
+        return false;
+      }
+      action.accept(generator.getAsInt());
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(final IntConsumer action) {
+      if (remaining == INFINITE) {
+        while (true) {
+          action.accept(generator.getAsInt());
+        }
+      }
+      for (long i = remaining; i > 0; i--) {
+        action.accept(generator.getAsInt());
+      }
+      remaining = 0;
+    }
+
+    @Override
+    public IntGenerator trySplit() {
+      return null;
+    }
+  }
+
+  private static final class LongGenerator extends Base implements Spliterator.OfLong {
+
+    private final LongSupplier generator;
+
+    LongGenerator(final LongSupplier generator, final long size) {
+      super(size);
+      this.generator = generator;
+    }
+
+    public boolean tryAdvance(final LongConsumer action) {
+      if (!take()) {
+        return false;
+      }
+      action.accept(generator.getAsLong());
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(final LongConsumer action) {
+      if (remaining == INFINITE) {
+        while (true) {
+          action.accept(generator.getAsLong());
+        }
+      }
+      for (long i = remaining; i > 0; i--) {
+        action.accept(generator.getAsLong());
+      }
+      remaining = 0;
+    }
+
+    @Override
+    public LongGenerator trySplit() {
+      return null;
+    }
+  }
+
+  private static final class DoubleGenerator extends Base implements Spliterator.OfDouble {
+
+    private final DoubleSupplier generator;
+
+    DoubleGenerator(final DoubleSupplier generator, final long size) {
+      super(size);
+      this.generator = generator;
+    }
+
+    public boolean tryAdvance(final DoubleConsumer action) {
+      if (!take()) {
+        return false;
+      }
+      action.accept(generator.getAsDouble());
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(final DoubleConsumer action) {
+      if (remaining == INFINITE) {
+        while (true) {
+          action.accept(generator.getAsDouble());
+        }
+      }
+      for (long i = remaining; i > 0; i--) {
+        action.accept(generator.getAsDouble());
+      }
+      remaining = 0;
+    }
+
+    @Override
+    public DoubleGenerator trySplit() {
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,122 @@
+package org.fluttercode.datafactory.impl;
+
+/**
+ * Counts recorded by {@link GeneratorMetrics} for one generator method. The latencies of the sampled calls are held in
+ * a histogram with a bucket for each power of 2 nanoseconds, so percentiles are accurate to within a factor of 2.
+ */
+public final class GeneratorStatistics {
+
+  static final int BUCKETS = 64;
+
+  private final String name;
+  private final long calls;
+  private final long randomDraws;
+  private final long size;
+  private final long fallbacks;
+  private final long[] latencies;
+
+  GeneratorStatistics(final String name, final long calls, final long randomDraws, final long size,
+      final long fallbacks, final long[] latencies) {
+    this.name = name;
+    this.calls = calls;
+    this.randomDraws = randomDraws;
+    this.size = size;
+    this.fallbacks = fallbacks;
+    this.latencies = latencies;
+  }
+
+  /**
+   * @return bucket of the latency histogram that holds <code>nanos</code>
+   */
+  static int bucket(final long nanos) {
+    return nanos <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(nanos) - 1;
+  }
+
+  /**
+   * @return name of the generator method
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return number of calls
+   */
+  public long getCalls() {
+    return calls;
+  }
+
+  /**
+   * @return number of random numbers drawn, including those of any generators called from this one
+   */
+  public long getRandomDraws() {
+    return randomDraws;
+  }
+
+  /**
+   * @return number of characters returned, or bytes written by the methods that write bytes
+   */
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * @return number of times the generator made up a value because a dictionary had nothing suitable
+   */
+  public long getFallbacks() {
+    return fallbacks;
+  }
+
+  /**
+   * @return number of calls that were timed
+   */
+  public long getSampleCount() {
+    long count = 0;
+    for (long bucket : latencies) {
+      count += bucket;
+    }
+    return count;
+  }
+
+  /**
+   * @param bucket index of the bucket, from 0 to 63
+   * @return number of timed calls that took at least 2^<code>bucket</code> and less than 2^(<code>bucket</code>+1)
+   *         nanoseconds
+   */
+  public long getLatencyCount(final int bucket) {
+    return latencies[bucket];
+  }
+
+  /**
+   * Returns the time taken by the given fraction of the timed calls, as the upper bound of the histogram bucket the
+   * quantile falls in.
+   *
+   * @param quantile fraction of calls, i.e. 0.99 for the 99th percentile
+   * @return latency in nanoseconds, or 0 if no calls were timed
+   */
+  public long getLatencyNanos(final double quantile) {
+    if (quantile < 0 || quantile > 1) {
+      throw new IllegalArgumentException("Quantile must be between 0 and 1");
+    }
+    long samples = getSampleCount();
+    if (samples == 0) {
+      return 0;
+    }
+    long target = Math.max(1, (long) Math.ceil(quantile * samples));
+    long count = 0;
+    for (int bucket = 0; bucket < latencies.length; bucket++) {
+      count += latencies[bucket];
+      if (count >= target) {
+        return bucket >= 62 ? Long.MAX_VALUE : (2L << bucket) - 1;
+      }
+    }
+    return Long.MAX_VALUE;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s: %d calls, %d random draws, %d size, %d fallbacks, median %dns, 99%% %dns", name, calls,
+        randomDraws, size, fallbacks, getLatencyNanos(0.5), getLatencyNanos(0.99));
+  }
+
+}
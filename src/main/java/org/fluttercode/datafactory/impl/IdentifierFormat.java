@@ -0,0 +1,262 @@
+package org.fluttercode.datafactory.impl;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.fluttercode.datafactory.RandomSource;
+
+/**
+ * Fixed format for identifiers such as phone numbers, postal codes, national ids and card numbers. In the pattern
+ * <code>#</code> stands for a random digit, <code>?</code> for a random upper case letter and <code>\</code> makes the
+ * next character literal. Everything else is copied as it is. Formats are immutable and can be shared between threads.
+ * <p>
+ * The digits are cut from random numbers of nine digits at a time, so a ten digit phone number takes two random draws
+ * rather than ten, and the value is written straight into the destination with no intermediate strings.
+ *
+ * <pre>
+ * IdentifierFormat format = IdentifierFormat.compile(&quot;??## #??&quot;);
+ * String postCode = dataFactory.getIdentifier(format);
+ * </pre>
+ */
+public final class IdentifierFormat {
+
+  /** US style phone number, i.e. <code>(555) 123-4567</code> */
+  public static final IdentifierFormat PHONE_NUMBER = compile("(###) ###-####");
+
+  /** Five digit US zip code */
+  public static final IdentifierFormat ZIP_CODE = compile("#####");
+
+  /** US social security number style id, i.e. <code>123-45-6789</code> */
+  public static final IdentifierFormat SOCIAL_SECURITY_NUMBER = compile("###-##-####");
+
+  /** Sixteen digit card number starting with 4 and ending with a Luhn check digit */
+  public static final IdentifierFormat CARD_NUMBER = luhn("4###############");
+
+  private static final byte LITERAL = 0;
+  private static final byte DIGIT = 1;
+  private static final byte LETTER = 2;
+  private static final int DIGITS_PER_DRAW = 9;
+  private static final int DIGIT_DRAW_BOUND = 1000000000;
+
+  private final String pattern;
+  private final char[] template;
+  private final byte[] kinds;
+  private final int checkDigit;
+
+  private IdentifierFormat(final String pattern, final boolean luhn) {
+    if (pattern == null) {
+      throw new IllegalArgumentException("Pattern cannot be null");
+    }
+    this.pattern = pattern;
+    StringBuilder chars = new StringBuilder(pattern.length());
+    byte[] found = new byte[pattern.length()];
+    int length = 0;
+    for (int i = 0; i < pattern.length(); i++) {
+      char c = pattern.charAt(i);
+      if (c == '\\') {
+        if (++i == pattern.length()) {
+          throw new IllegalArgumentException("Pattern cannot end with an escape");
+        }
+        c = pattern.charAt(i);
+      } else if (c == '#') {
+        found[length] = DIGIT;
+      } else if (c == '?') {
+        found[length] = LETTER;
+      }
+      if (c > 127) {
+        throw new IllegalArgumentException("Identifier patterns must be ASCII");
+      }
+      chars.append(found[length] == LITERAL ? c : '0');
+      length++;
+    }
+    this.template = chars.toString().toCharArray();
+    this.kinds = Arrays.copyOf(found, length);
+    this.checkDigit = luhn ? findCheckDigit() : -1;
+  }
+
+  private int findCheckDigit() {
+    for (int i = template.length - 1; i >= 0; i--) {
+      if (kinds[i] == DIGIT) {
+        return i;
+      }
+      if (kinds[i] == LETTER || Character.isDigit(template[i])) {
+        break;
+      }
+    }
+    throw new IllegalArgumentException("The last digit of a Luhn pattern must be a # for the check digit");
+  }
+
+  /**
+   * @param pattern pattern of the identifier
+   * @return the compiled format
+   */
+  public static IdentifierFormat compile(final String pattern) {
+    return new IdentifierFormat(pattern, false);
+  }
+
+  /**
+   * Compiles a format whose last digit is a Luhn check digit worked out from the digits before it, as used by card
+   * numbers. Literal digits in the pattern are part of the check.
+   *
+   * @param pattern pattern of the identifier, the last digit of which must be a <code>#</code>
+   * @return the compiled format
+   */
+  public static IdentifierFormat luhn(final String pattern) {
+    return new IdentifierFormat(pattern, true);
+  }
+
+  /**
+   * @return number of characters in each identifier
+   */
+  public int length() {
+    return template.length;
+  }
+
+  /**
+   * @return true if the last digit is a Luhn check digit
+   */
+  public boolean isLuhn() {
+    return checkDigit >= 0;
+  }
+
+  @Override
+  public String toString() {
+    return pattern;
+  }
+
+  /**
+   * Fills <code>count</code> characters of <code>dest</code> with random digits, taking nine digits from each random
+   * draw.
+   */
+  static void fillDigits(final RandomSource random, final char[] dest, final int offset, final int count) {
+    int digits = 0;
+    int left = 0;
+    for (int i = offset; i < offset + count; i++) {
+      if (left == 0) {
+        digits = random.nextInt(DIGIT_DRAW_BOUND);
+        left = DIGITS_PER_DRAW;
+      }
+      dest[i] = (char) ('0' + digits % 10);
+      digits /= 10;
+      left--;
+    }
+  }
+
+  /**
+   * Writes <code>count</code> random digits as ASCII bytes into <code>buffer</code> at the absolute position
+   * <code>index</code>, see {@link #fillDigits(RandomSource, char[], int, int)}.
+   */
+  static void fillDigits(final RandomSource random, final ByteBuffer buffer, final int index, final int count) {
+    int digits = 0;
+    int left = 0;
+    for (int i = index; i < index + count; i++) {
+      if (left == 0) {
+        digits = random.nextInt(DIGIT_DRAW_BOUND);
+        left = DIGITS_PER_DRAW;
+      }
+      buffer.put(i, (byte) ('0' + digits % 10));
+      digits /= 10;
+      left--;
+    }
+  }
+
+  /**
+   * Writes an identifier into <code>dest</code> starting at <code>offset</code>, which must have room for
+   * {@link #length()} characters.
+   */
+  void fill(final RandomSource random, final char[] dest, final int offset) {
+    System.arraycopy(template, 0, dest, offset, template.length);
+    int digits = 0;
+    int left = 0;
+    for (int i = 0; i < kinds.length; i++) {
+      if (kinds[i] == DIGIT) {
+        if (left == 0) {
+          digits = random.nextInt(DIGIT_DRAW_BOUND);
+          left = DIGITS_PER_DRAW;
+        }
+        dest[offset + i] = (char) ('0' + digits % 10);
+        digits /= 10;
+        left--;
+      } else if (kinds[i] == LETTER) {
+        dest[offset + i] = (char) ('A' + random.nextInt(26));
+      }
+    }
+    if (checkDigit >= 0) {
+      int sum = 0;
+      boolean doubled = true;
+      for (int i = checkDigit - 1; i >= 0; i--) {
+        char c = dest[offset + i];
+        if (c >= '0' && c <= '9') {
+          sum += luhnValue(c - '0', doubled);
+          doubled = !doubled;
+        }
+      }
+      dest[offset + checkDigit] = (char) ('0' + (10 - sum % 10) % 10);
+    }
+  }
+
+  /**
+   * Writes an identifier as ASCII bytes into <code>buffer</code> at the absolute position <code>index</code>, which
+   * must have room for {@link #length()} bytes. The buffer position is not changed.
+   */
+  void fill(final RandomSource random, final ByteBuffer buffer, final int index) {
+    int digits = 0;
+    int left = 0;
+    for (int i = 0; i < kinds.length; i++) {
+      if (kinds[i] == DIGIT) {
+        if (left == 0) {
+          digits = random.nextInt(DIGIT_DRAW_BOUND);
+          left = DIGITS_PER_DRAW;
+        }
+        buffer.put(index + i, (byte) ('0' + digits % 10));
+        digits /= 10;
+        left--;
+      } else if (kinds[i] == LETTER) {
+        buffer.put(index + i, (byte) ('A' + random.nextInt(26)));
+      } else {
+        buffer.put(index + i, (byte) template[i]);
+      }
+    }
+    if (checkDigit >= 0) {
+      int sum = 0;
+      boolean doubled = true;
+      for (int i = checkDigit - 1; i >= 0; i--) {
+        byte b = buffer.get(index + i);
+        if (b >= '0' && b <= '9') {
+          sum += luhnValue(b - '0', doubled);
+          doubled = !doubled;
+        }
+      }
+      buffer.put(index + checkDigit, (byte) ('0' + (10 - sum % 10) % 10));
+    }
+  }
+
+  private static int luhnValue(final int digit, final boolean doubled) {
+    if (!doubled) {
+      return digit;
+    }
+    return digit < 5 ? digit * 2 : digit * 2 - 9;
+  }
+
+  /**
+   * Checks the Luhn check digit of a number, ignoring anything that is not a digit.
+   *
+   * @param value number to check
+   * @return true if the check digit is correct
+   */
+  public static boolean isLuhnValid(final CharSequence value) {
+    int sum = 0;
+    boolean doubled = false;
+    int count = 0;
+    for (int i = value.length() - 1; i >= 0; i--) {
+      char c = value.charAt(i);
+      if (c >= '0' && c <= '9') {
+        sum += luhnValue(c - '0', doubled);
+        doubled = !doubled;
+        count++;
+      }
+    }
+    return count > 1 && sum % 10 == 0;
+  }
+
+}
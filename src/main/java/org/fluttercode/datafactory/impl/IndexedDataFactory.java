@@ -0,0 +1,208 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.Date;
+
+import org.fluttercode.datafactory.AddressDataValues;
+import org.fluttercode.datafactory.ContentDataValues;
+import org.fluttercode.datafactory.NameDataValues;
+
+/**
+ * Generates values as a pure function of a seed, a row number and a field, so the values for any row can be generated
+ * directly without generating the rows before it. Each call seeds a SplitMix64 stream from a hash of the seed, row and
+ * field and then runs the normal {@link DataFactory} generator on that stream, so the cost of a call does not depend on
+ * the row number.
+ *
+ * <pre>
+ * IndexedDataFactory df = IndexedDataFactory.create(5765297);
+ * String email = df.getEmailAddress(80000000L); // same value every time, on any machine
+ * </pre>
+ *
+ * Each named method uses its own field so, for example, the first name and the email address of a row are
+ * independent. Use {@link #at(long, int)} with your own field numbers for other generators or to generate more than
+ * one value of the same kind in a row.
+ * <p>
+ * Instances are not thread safe, as every call repositions the same random stream, but because the values only depend
+ * on the seed, each thread can create its own instance with the same seed and get the same values.
+ */
+public final class IndexedDataFactory {
+
+  /** Field numbers from this value up are used by the named methods. */
+  public static final int RESERVED_FIELDS = 0x7FFF0000;
+
+  private static final int FIRST_NAME = RESERVED_FIELDS;
+  private static final int LAST_NAME = RESERVED_FIELDS + 1;
+  private static final int NAME = RESERVED_FIELDS + 2;
+  private static final int EMAIL_ADDRESS = RESERVED_FIELDS + 3;
+  private static final int ADDRESS = RESERVED_FIELDS + 4;
+  private static final int CITY = RESERVED_FIELDS + 5;
+  private static final int BUSINESS_NAME = RESERVED_FIELDS + 6;
+  private static final int BIRTH_DATE = RESERVED_FIELDS + 7;
+  private static final int NUMBER = RESERVED_FIELDS + 8;
+  private static final int TEXT = RESERVED_FIELDS + 9;
+
+  private static final long FIELD_MULTIPLIER = 0xD1B54A32D192ED03L;
+
+  private final long seed;
+  private final SplitMix64RandomSource source = new SplitMix64RandomSource(0);
+  private NameDataValues nameDataValues = new DefaultNameDataValues();
+  private AddressDataValues addressDataValues = new DefaultAddressDataValues();
+  private ContentDataValues contentDataValues = new DefaultContentDataValues();
+  private DataFactory dataFactory = createDataFactory();
+
+  private IndexedDataFactory(final long seed) {
+    this.seed = seed;
+  }
+
+  public static IndexedDataFactory create(final long seed) {
+    return new IndexedDataFactory(seed);
+  }
+
+  /**
+   * The factory is fixed so that callers of {@link #at(long, int)} cannot change the random stream, metrics or data
+   * values that every later value depends on.
+   */
+  private DataFactory createDataFactory() {
+    DataFactory factory = DataFactory.create(source);
+    factory.setNameDataValues(nameDataValues);
+    factory.setAddressDataValues(addressDataValues);
+    factory.setContentDataValues(contentDataValues);
+    factory.fix();
+    return factory;
+  }
+
+  /**
+   * Returns the factory positioned at the start of the random stream for a row and field. Any of the
+   * {@link DataFactory} methods can then be called to generate the value for that row and field. The returned factory
+   * is shared, so it is only valid until the next call on this instance and must not be passed to other threads. It
+   * cannot be reconfigured, so calling <code>randomize</code>, <code>setMetrics</code> or setting its data values
+   * throws an {@link IllegalStateException}; use the setters of this class to change the data values.
+   *
+   * @param row row number
+   * @param field field number, from 0 and below {@link #RESERVED_FIELDS}
+   * @return factory for generating the value
+   */
+  public DataFactory at(final long row, final int field) {
+    if (field < 0) {
+      throw new IllegalArgumentException("Field number must be a non-negative number");
+    }
+    if (field >= RESERVED_FIELDS) {
+      throw new IllegalArgumentException(String.format("Field numbers from %d are reserved", RESERVED_FIELDS));
+    }
+    return position(row, field);
+  }
+
+  private DataFactory position(final long row, final int field) {
+    long key = SplitMix64RandomSource.mix(seed + (row + 1) * SplitMix64RandomSource.GOLDEN_GAMMA);
+    source.setSeed(SplitMix64RandomSource.mix(key ^ (field * FIELD_MULTIPLIER)));
+    return dataFactory;
+  }
+
+  /**
+   * @param row row number
+   * @return the first name for the row
+   */
+  public String getFirstName(final long row) {
+    return position(row, FIRST_NAME).getFirstName();
+  }
+
+  /**
+   * @param row row number
+   * @return the last name for the row
+   */
+  public String getLastName(final long row) {
+    return position(row, LAST_NAME).getLastName();
+  }
+
+  /**
+   * @param row row number
+   * @return the first and last name for the row
+   */
+  public String getName(final long row) {
+    return position(row, NAME).getName();
+  }
+
+  /**
+   * @param row row number
+   * @return the email address for the row
+   */
+  public String getEmailAddress(final long row) {
+    return position(row, EMAIL_ADDRESS).getEmailAddress();
+  }
+
+  /**
+   * @param row row number
+   * @return the street address for the row
+   */
+  public String getAddress(final long row) {
+    return position(row, ADDRESS).getAddress();
+  }
+
+  /**
+   * @param row row number
+   * @return the city for the row
+   */
+  public String getCity(final long row) {
+    return position(row, CITY).getCity();
+  }
+
+  /**
+   * @param row row number
+   * @return the business name for the row
+   */
+  public String getBusinessName(final long row) {
+    return position(row, BUSINESS_NAME).getBusinessName();
+  }
+
+  /**
+   * @param row row number
+   * @return the birthdate for the row
+   */
+  public Date getBirthDate(final long row) {
+    return position(row, BIRTH_DATE).getBirthDate();
+  }
+
+  /**
+   * @param row row number
+   * @param min minimum value of result
+   * @param max maximum value of result
+   * @return the number for the row, see {@link DataFactory#getNumberBetween(int, int)}
+   */
+  public int getNumberBetween(final long row, final int min, final int max) {
+    return position(row, NUMBER).getNumberBetween(min, max);
+  }
+
+  /**
+   * @param row row number
+   * @param minLength minimum length of returned string
+   * @param maxLength maximum length of returned string
+   * @return the text for the row, see {@link DataFactory#getRandomText(int, int)}
+   */
+  public String getRandomText(final long row, final int minLength, final int maxLength) {
+    return position(row, TEXT).getRandomText(minLength, maxLength);
+  }
+
+  /**
+   * @param nameDataValues Object holding the set of data values to use
+   */
+  public void setNameDataValues(final NameDataValues nameDataValues) {
+    this.nameDataValues = nameDataValues;
+    dataFactory = createDataFactory();
+  }
+
+  /**
+   * @param addressDataValues Object holding the set of data values to use
+   */
+  public void setAddressDataValues(final AddressDataValues addressDataValues) {
+    this.addressDataValues = addressDataValues;
+    dataFactory = createDataFactory();
+  }
+
+  /**
+   * @param contentDataValues Object holding the set of data values to use
+   */
+  public void setContentDataValues(final ContentDataValues contentDataValues) {
+    this.contentDataValues = contentDataValues;
+    dataFactory = createDataFactory();
+  }
+
+}
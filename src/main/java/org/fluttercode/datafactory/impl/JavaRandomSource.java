@@ -0,0 +1,46 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.Random;
+
+import org.fluttercode.datafactory.RandomSource;
+
+/**
+ * {@link RandomSource} that delegates to a {@link Random} instance. This is the default source so a factory created
+ * with a given seed produces the same values it always has.
+ */
+public class JavaRandomSource implements RandomSource {
+
+  private final Random random;
+
+  public JavaRandomSource(final Random random) {
+    if (random == null) {
+      throw new IllegalArgumentException("Random cannot be null");
+    }
+    this.random = random;
+  }
+
+  public JavaRandomSource(final long seed) {
+    this(new Random(seed));
+  }
+
+  public int nextInt() {
+    return random.nextInt();
+  }
+
+  public int nextInt(final int bound) {
+    return random.nextInt(bound);
+  }
+
+  public long nextLong() {
+    return random.nextLong();
+  }
+
+  public double nextDouble() {
+    return random.nextDouble();
+  }
+
+  public double nextGaussian() {
+    return random.nextGaussian();
+  }
+
+}
@@ -0,0 +1,302 @@
+package org.fluttercode.datafactory.impl;
+
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import javax.sql.DataSource;
+
+/**
+ * Loads generated rows into a database table using batched inserts through a single {@link PreparedStatement}. Rows
+ * are added to the batch until it reaches the batch size and the transaction is committed every commit interval rows,
+ * so large loads don't build up one huge transaction. For example, to load a million rows into the <code>users</code>
+ * table with the columns named by the schema :
+ *
+ * <pre>
+ * JdbcLoader loader = JdbcLoader.forTable(&quot;users&quot;);
+ * loader.setBatchSize(1000);
+ * ThroughputStatistics stats = loader.load(plan.limit(1000000), connection);
+ * </pre>
+ */
+public final class JdbcLoader {
+
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+  public static final int DEFAULT_COMMIT_INTERVAL = 10000;
+
+  private final String table;
+  private final String insertSql;
+  private int batchSize = DEFAULT_BATCH_SIZE;
+  private int commitInterval = DEFAULT_COMMIT_INTERVAL;
+
+  private JdbcLoader(final String table, final String insertSql) {
+    this.table = table;
+    this.insertSql = insertSql;
+  }
+
+  /**
+   * Creates a loader that inserts into <code>table</code>, with the insert statement built from the column names of the
+   * rows.
+   *
+   * @param table name of the table to insert into
+   * @return loader for the table
+   */
+  public static JdbcLoader forTable(final String table) {
+    if (table == null || table.isEmpty()) {
+      throw new IllegalArgumentException("Table name cannot be empty");
+    }
+    return new JdbcLoader(table, null);
+  }
+
+  /**
+   * Creates a loader that runs <code>insertSql</code> for each row. The statement must have one parameter for each
+   * column of the rows, in the same order.
+   *
+   * @param insertSql insert statement to run
+   * @return loader for the statement
+   */
+  public static JdbcLoader create(final String insertSql) {
+    if (insertSql == null || insertSql.isEmpty()) {
+      throw new IllegalArgumentException("Insert statement cannot be empty");
+    }
+    return new JdbcLoader(null, insertSql);
+  }
+
+  /**
+   * Loads all the rows from <code>source</code> using <code>connection</code>. Auto commit is turned off during the
+   * load and restored afterwards. If the load fails, including with a runtime exception from a generator, the
+   * uncommitted rows are rolled back before auto commit is restored.
+   *
+   * @param source rows to insert
+   * @param connection connection to insert the rows with
+   * @return number of rows inserted and the time taken
+   * @throws SQLException if the rows cannot be inserted
+   */
+  public ThroughputStatistics load(final RowSource source, final Connection connection) throws SQLException {
+    if (source == null) {
+      throw new IllegalArgumentException("Row source cannot be null");
+    }
+    if (connection == null) {
+      throw new IllegalArgumentException("Connection cannot be null");
+    }
+    long start = System.nanoTime();
+    Row row = source.newRow();
+    boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+    long rows = 0;
+    try {
+      PreparedStatement statement = connection.prepareStatement(getInsertSql(row));
+      try {
+        int[] nullTypes = nullTypes(statement, row);
+        int batched = 0;
+        int uncommitted = 0;
+        while (source.next(row)) {
+          bind(statement, row, nullTypes);
+          statement.addBatch();
+          rows++;
+          if (++batched == batchSize) {
+            statement.executeBatch();
+            batched = 0;
+          }
+          if (++uncommitted == commitInterval) {
+            if (batched != 0) {
+              statement.executeBatch();
+              batched = 0;
+            }
+            connection.commit();
+            uncommitted = 0;
+          }
+        }
+        if (batched != 0) {
+          statement.executeBatch();
+        }
+        connection.commit();
+      } finally {
+        statement.close();
+      }
+    } catch (RuntimeException | SQLException e) {
+      // roll back before auto commit is restored, as turning it back on commits the open transaction
+      try {
+        connection.rollback();
+      } catch (SQLException rollbackFailure) {
+        e.addSuppressed(rollbackFailure);
+      }
+      throw e;
+    } finally {
+      connection.setAutoCommit(autoCommit);
+    }
+    return new ThroughputStatistics(rows, 0, System.nanoTime() - start);
+  }
+
+  /**
+   * Loads rows over several connections in parallel. Each connection is used by its own thread and loads the rows from
+   * its own source, returned by <code>sources</code> for the index of the connection (from 0 to
+   * <code>connections - 1</code>), since row sources are not thread safe.
+   *
+   * @param dataSource data source to get the connections from
+   * @param connections number of connections to load with
+   * @param sources function returning the rows to load for each connection
+   * @return total number of rows inserted and the time taken
+   * @throws SQLException if the rows cannot be inserted on any of the connections
+   */
+  public ThroughputStatistics load(final DataSource dataSource, final int connections,
+      final IntFunction<? extends RowSource> sources) throws SQLException {
+    if (dataSource == null) {
+      throw new IllegalArgumentException("Data source cannot be null");
+    }
+    if (connections < 1) {
+      throw new IllegalArgumentException("Connection count must be at least 1");
+    }
+    if (sources == null) {
+      throw new IllegalArgumentException("Row sources cannot be null");
+    }
+    long start = System.nanoTime();
+    ExecutorService executor = Executors.newFixedThreadPool(connections);
+    try {
+      List<Future<ThroughputStatistics>> results = new ArrayList<Future<ThroughputStatistics>>();
+      for (int i = 0; i < connections; i++) {
+        final RowSource source = sources.apply(i);
+        results.add(executor.submit(new Callable<ThroughputStatistics>() {
+          public ThroughputStatistics call() throws SQLException {
+            Connection connection = dataSource.getConnection();
+            try {
+              return load(source, connection);
+            } finally {
+              connection.close();
+            }
+          }
+        }));
+      }
+      long rows = 0;
+      for (Future<ThroughputStatistics> result : results) {
+        rows += result.get().getRows();
+      }
+      return new ThroughputStatistics(rows, 0, System.nanoTime() - start);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while loading rows", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof SQLException) {
+        throw (SQLException) e.getCause();
+      }
+      throw new SQLException("Failed to load rows", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private String getInsertSql(final Row row) {
+    if (insertSql != null) {
+      return insertSql;
+    }
+    StringBuilder sql = new StringBuilder("INSERT INTO ").append(table).append(" (");
+    for (int i = 0; i < row.size(); i++) {
+      sql.append(i == 0 ? "" : ", ").append(row.getName(i));
+    }
+    sql.append(") VALUES (");
+    for (int i = 0; i < row.size(); i++) {
+      sql.append(i == 0 ? "?" : ", ?");
+    }
+    return sql.append(")").toString();
+  }
+
+  /**
+   * Works out the SQL type to bind nulls with for each column. Object columns use the type the driver reports for the
+   * parameter, falling back to {@link Types#JAVA_OBJECT} for drivers that can't tell.
+   */
+  private static int[] nullTypes(final PreparedStatement statement, final Row row) {
+    int[] types = new int[row.size()];
+    ParameterMetaData metaData = null;
+    for (int i = 0; i < types.length; i++) {
+      types[i] = sqlType(row.getType(i));
+      if (row.getType(i) == ColumnType.OBJECT) {
+        try {
+          if (metaData == null) {
+            metaData = statement.getParameterMetaData();
+          }
+          types[i] = metaData.getParameterType(i + 1);
+        } catch (SQLException e) {
+          types[i] = Types.JAVA_OBJECT;
+        }
+      }
+    }
+    return types;
+  }
+
+  private static void bind(final PreparedStatement statement, final Row row, final int[] nullTypes)
+      throws SQLException {
+    for (int i = 0; i < row.size(); i++) {
+      int parameter = i + 1;
+      if (row.isNull(i)) {
+        statement.setNull(parameter, nullTypes[i]);
+        continue;
+      }
+      switch (row.getType(i)) {
+      case NUMBER:
+        statement.setLong(parameter, row.getLong(i));
+        break;
+      case TEXT:
+        statement.setString(parameter, String.valueOf(row.getValue(i)));
+        break;
+      case DATE:
+        statement.setTimestamp(parameter, new Timestamp(((Date) row.getValue(i)).getTime()));
+        break;
+      default:
+        statement.setObject(parameter, row.getValue(i));
+      }
+    }
+  }
+
+  private static int sqlType(final ColumnType type) {
+    switch (type) {
+    case NUMBER:
+      return Types.BIGINT;
+    case TEXT:
+      return Types.VARCHAR;
+    case DATE:
+      return Types.TIMESTAMP;
+    default:
+      return Types.JAVA_OBJECT;
+    }
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * @param batchSize number of rows sent to the database in each batch
+   */
+  public void setBatchSize(final int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("Batch size must be at least 1");
+    }
+    this.batchSize = batchSize;
+  }
+
+  public int getCommitInterval() {
+    return commitInterval;
+  }
+
+  /**
+   * @param commitInterval number of rows inserted in each transaction
+   */
+  public void setCommitInterval(final int commitInterval) {
+    if (commitInterval < 1) {
+      throw new IllegalArgumentException("Commit interval must be at least 1");
+    }
+    this.commitInterval = commitInterval;
+  }
+
+}
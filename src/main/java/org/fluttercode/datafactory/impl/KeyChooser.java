@@ -0,0 +1,248 @@
+package org.fluttercode.datafactory.impl;
+
+import org.fluttercode.datafactory.RandomSource;
+
+/**
+ * Chooses keys from <code>0</code> to <code>itemCount - 1</code> with the skew seen in real cache and database
+ * traffic, where a few hot keys take most of the requests. Modelled on the YCSB request distributions:
+ * <ul>
+ * <li>{@link #zipfian(long, double)} makes key 0 the hottest, then key 1 and so on</li>
+ * <li>{@link #scrambledZipfian(long, double, long)} has the same popularity curve but spreads the hot keys over the
+ * whole range</li>
+ * <li>{@link #latest(long, double)} makes the most recently added key the hottest, for workloads that read what was
+ * just written</li>
+ * </ul>
+ * Ranks are drawn with Hormann and Derflinger's rejection-inversion method. Setting up takes a few logarithms rather
+ * than a pass over every item, so the item count and skew can be changed at any time, and each key takes one draw most
+ * of the time. Choosers can be shared between threads.
+ *
+ * <pre>
+ * KeyChooser hotKeys = KeyChooser.scrambledZipfian(100000000L, 0.99, 1234);
+ * long key = dataFactory.getKey(hotKeys);
+ * </pre>
+ */
+public abstract class KeyChooser {
+
+  /** Skew used by YCSB */
+  public static final double DEFAULT_SKEW = 0.99;
+
+  private volatile Zipf zipf;
+
+  KeyChooser(final long itemCount, final double skew) {
+    zipf = new Zipf(itemCount, skew);
+  }
+
+  /**
+   * @param itemCount number of keys
+   * @param skew Zipf exponent, 0 for no skew, the larger the value the hotter the first keys
+   * @return chooser where key 0 is the hottest
+   */
+  public static KeyChooser zipfian(final long itemCount, final double skew) {
+    return new Ranked(itemCount, skew);
+  }
+
+  /**
+   * @param itemCount number of keys
+   * @param skew Zipf exponent, see {@link #zipfian(long, double)}
+   * @param key key for the order the hot keys are spread in
+   * @return chooser where the hot keys are spread over the range
+   */
+  public static KeyChooser scrambledZipfian(final long itemCount, final double skew, final long key) {
+    return new Scrambled(itemCount, skew, key);
+  }
+
+  /**
+   * @param itemCount number of keys added so far
+   * @param skew Zipf exponent, see {@link #zipfian(long, double)}
+   * @return chooser where the last key added is the hottest
+   */
+  public static KeyChooser latest(final long itemCount, final double skew) {
+    return new Latest(itemCount, skew);
+  }
+
+  /**
+   * @return number of keys to choose from
+   */
+  public long getItemCount() {
+    return zipf.itemCount;
+  }
+
+  /**
+   * Changes the number of keys, i.e. as rows are inserted during a test.
+   *
+   * @param itemCount number of keys
+   */
+  public void setItemCount(final long itemCount) {
+    zipf = new Zipf(itemCount, zipf.skew);
+  }
+
+  /**
+   * @return the Zipf exponent
+   */
+  public double getSkew() {
+    return zipf.skew;
+  }
+
+  /**
+   * Changes the skew, which takes effect from the next key chosen.
+   *
+   * @param skew Zipf exponent
+   */
+  public void setSkew(final double skew) {
+    zipf = new Zipf(zipf.itemCount, skew);
+  }
+
+  /**
+   * @param random random source to draw from
+   * @return a key from 0 to itemCount - 1
+   */
+  public final long next(final RandomSource random) {
+    Zipf current = zipf;
+    return key(current.rank(random), current.itemCount);
+  }
+
+  /**
+   * Chooses a key with the item count read once, so a concurrent {@link #setItemCount(long)} cannot give a key past
+   * the end of an array that was checked against the old count.
+   *
+   * @param random random source to draw from
+   * @param limit largest item count allowed
+   * @return a key from 0 to itemCount - 1
+   */
+  final long next(final RandomSource random, final long limit) {
+    Zipf current = zipf;
+    if (current.itemCount > limit) {
+      throw new IllegalArgumentException(String.format("Key chooser has %d items but the array only has %d",
+          current.itemCount, limit));
+    }
+    return key(current.rank(random), current.itemCount);
+  }
+
+  /**
+   * Turns a rank, where 0 is the most popular, into a key.
+   */
+  abstract long key(long rank, long itemCount);
+
+  private static final class Ranked extends KeyChooser {
+
+    Ranked(final long itemCount, final double skew) {
+      super(itemCount, skew);
+    }
+
+    @Override
+    long key(final long rank, final long itemCount) {
+      return rank;
+    }
+  }
+
+  private static final class Scrambled extends KeyChooser {
+
+    private final long key;
+    private volatile KeyedPermutation permutation;
+
+    Scrambled(final long itemCount, final double skew, final long key) {
+      super(itemCount, skew);
+      this.key = key;
+      permutation = new KeyedPermutation(itemCount, key);
+    }
+
+    @Override
+    long key(final long rank, final long itemCount) {
+      KeyedPermutation current = permutation;
+      if (current.size() != itemCount) {
+        // the item count has changed since the last key
+        current = new KeyedPermutation(itemCount, key);
+        permutation = current;
+      }
+      return current.apply(rank);
+    }
+  }
+
+  private static final class Latest extends KeyChooser {
+
+    Latest(final long itemCount, final double skew) {
+      super(itemCount, skew);
+    }
+
+    @Override
+    long key(final long rank, final long itemCount) {
+      return itemCount - 1 - rank;
+    }
+  }
+
+  /**
+   * Immutable rejection-inversion sampler for ranks from 0 to itemCount - 1 with probability proportional to
+   * <code>1 / (rank + 1)^skew</code>.
+   */
+  private static final class Zipf {
+
+    final long itemCount;
+    final double skew;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double s;
+
+    Zipf(final long itemCount, final double skew) {
+      if (itemCount < 1) {
+        throw new IllegalArgumentException("Item count must be at least 1");
+      }
+      if (!(skew >= 0) || Double.isInfinite(skew)) {
+        throw new IllegalArgumentException("Skew must be a finite value of zero or more");
+      }
+      this.itemCount = itemCount;
+      this.skew = skew;
+      hIntegralX1 = hIntegral(1.5) - 1;
+      hIntegralN = hIntegral(itemCount + 0.5);
+      s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    long rank(final RandomSource random) {
+      while (true) {
+        double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+        double x = hIntegralInverse(u);
+        long k = (long) (x + 0.5);
+        if (k < 1) {
+          k = 1;
+        } else if (k > itemCount) {
+          k = itemCount;
+        }
+        if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+          return k - 1;
+        }
+      }
+    }
+
+    private double h(final double x) {
+      return Math.exp(-skew * Math.log(x));
+    }
+
+    private double hIntegral(final double x) {
+      double logX = Math.log(x);
+      return expm1OverX((1 - skew) * logX) * logX;
+    }
+
+    private double hIntegralInverse(final double x) {
+      double t = x * (1 - skew);
+      if (t < -1) {
+        // only rounding can take t below -1
+        t = -1;
+      }
+      return Math.exp(log1pOverX(t) * x);
+    }
+
+    private static double expm1OverX(final double x) {
+      if (Math.abs(x) > 1e-8) {
+        return Math.expm1(x) / x;
+      }
+      return 1 + x * 0.5 * (1 + x / 3 * (1 + x * 0.25));
+    }
+
+    private static double log1pOverX(final double x) {
+      if (Math.abs(x) > 1e-8) {
+        return Math.log1p(x) / x;
+      }
+      return 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+  }
+
+}
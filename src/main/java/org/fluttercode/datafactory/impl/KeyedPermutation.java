@@ -0,0 +1,66 @@
+package org.fluttercode.datafactory.impl;
+
+/**
+ * Keyed pseudo random permutation of the numbers <code>0</code> to <code>size - 1</code>. A balanced Feistel network
+ * permutes the smallest even-width power of two that holds the range, and values that land outside the range are put
+ * through again until they fall inside it (cycle walking). This needs no memory beyond the key and, since the power of
+ * two is less than four times the size, takes a few rounds on average.
+ */
+final class KeyedPermutation {
+
+  private static final int ROUNDS = 4;
+
+  private final long size;
+  private final int halfBits;
+  private final long halfMask;
+  private final long[] roundKeys = new long[ROUNDS];
+
+  KeyedPermutation(final long size, final long key) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Permutation size must be at least 1");
+    }
+    this.size = size;
+    int bits = 64 - Long.numberOfLeadingZeros(size - 1);
+    halfBits = Math.max(1, (bits + 1) / 2);
+    halfMask = (1L << halfBits) - 1;
+    SplitMix64RandomSource keys = new SplitMix64RandomSource(key);
+    for (int i = 0; i < ROUNDS; i++) {
+      roundKeys[i] = keys.nextLong();
+    }
+  }
+
+  /**
+   * @return number of values permuted
+   */
+  long size() {
+    return size;
+  }
+
+  /**
+   * @param index value in the range 0 to size - 1
+   * @return the value that <code>index</code> maps to, also in the range
+   */
+  long apply(final long index) {
+    if (index < 0 || index >= size) {
+      throw new IllegalArgumentException(String.format("Index %d is outside of 0 to %d", index, size - 1));
+    }
+    long value = index;
+    do {
+      value = encrypt(value);
+      // unsigned, as for sizes over 2^62 the domain is all 64 bits and values with the top bit set are negative
+    } while (Long.compareUnsigned(value, size) >= 0);
+    return value;
+  }
+
+  private long encrypt(final long value) {
+    long left = value >>> halfBits;
+    long right = value & halfMask;
+    for (int i = 0; i < ROUNDS; i++) {
+      long next = left ^ (SplitMix64RandomSource.mix(right ^ roundKeys[i]) & halfMask);
+      left = right;
+      right = next;
+    }
+    return (left << halfBits) | right;
+  }
+
+}
@@ -0,0 +1,31 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.function.LongSupplier;
+
+/**
+ * {@link org.fluttercode.datafactory.RandomSource} that takes its random bits from a {@link LongSupplier}. This is the
+ * adapter for other generator libraries, including the Java 17 <code>java.util.random.RandomGenerator</code>
+ * implementations :
+ *
+ * <pre>
+ * RandomGenerator generator = RandomGenerator.of(&quot;L64X128MixRandom&quot;);
+ * DataFactory df = DataFactory.create(new LongSupplierRandomSource(generator::nextLong));
+ * </pre>
+ */
+public class LongSupplierRandomSource extends AbstractRandomSource {
+
+  private final LongSupplier supplier;
+
+  public LongSupplierRandomSource(final LongSupplier supplier) {
+    if (supplier == null) {
+      throw new IllegalArgumentException("Supplier cannot be null");
+    }
+    this.supplier = supplier;
+  }
+
+  @Override
+  public long nextLong() {
+    return supplier.getAsLong();
+  }
+
+}
@@ -0,0 +1,55 @@
+package org.fluttercode.datafactory.impl;
+
+/**
+ * Lower cased copy of a dictionary, or of the initials of its values, made once so that email addresses can be built
+ * without lower casing each value as it is used.
+ */
+final class LowerCaseDictionary {
+
+  private final Object owner;
+  private final int dictionary;
+  private final int mode;
+  private final String[] values;
+
+  /**
+   * @param owner data values the dictionary came from
+   * @param dictionary which of the data values dictionaries it is
+   * @param source values to copy
+   * @param mode {@link Utf8Dictionary#LOWER_CASE} or {@link Utf8Dictionary#LOWER_CASE_INITIAL}
+   */
+  LowerCaseDictionary(final Object owner, final int dictionary, final String[] source, final int mode) {
+    this.owner = owner;
+    this.dictionary = dictionary;
+    this.mode = mode;
+    values = new String[source.length];
+    for (int i = 0; i < source.length; i++) {
+      values[i] = Utf8Dictionary.apply(source[i], mode);
+    }
+  }
+
+  /**
+   * @param owner data values to check
+   * @param dictionary dictionary of the data values to check
+   * @param mode mode to check
+   * @return true if this is a copy of the dictionary in the given mode
+   */
+  boolean isCopyOf(final Object owner, final int dictionary, final int mode) {
+    return this.owner == owner && this.dictionary == dictionary && this.mode == mode;
+  }
+
+  /**
+   * @return number of values in the dictionary
+   */
+  int size() {
+    return values.length;
+  }
+
+  /**
+   * @param index index of the value
+   * @return the lower cased value
+   */
+  String get(final int index) {
+    return values[index];
+  }
+
+}
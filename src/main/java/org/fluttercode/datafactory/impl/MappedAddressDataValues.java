@@ -0,0 +1,73 @@
+package org.fluttercode.datafactory.impl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.fluttercode.datafactory.AddressDataValues;
+
+/**
+ * Address values read from memory mapped dictionary files, for street name and city lists that are too big to hold on
+ * the heap. Address suffixes come from {@link DefaultAddressDataValues}.
+ */
+public final class MappedAddressDataValues implements AddressDataValues, MappedDataValues {
+
+  private final AddressDataValues defaults = new DefaultAddressDataValues();
+  private final MappedDictionary streetNames;
+  private final MappedDictionary cities;
+
+  private MappedAddressDataValues(final MappedDictionary streetNames, final MappedDictionary cities) {
+    this.streetNames = streetNames;
+    this.cities = cities;
+  }
+
+  /**
+   * @param streetNames street names dictionary, or null for the default street names
+   * @param cities cities dictionary, or null for the default cities
+   * @return address values using the dictionaries
+   */
+  public static MappedAddressDataValues create(final MappedDictionary streetNames, final MappedDictionary cities) {
+    return new MappedAddressDataValues(streetNames, cities);
+  }
+
+  /**
+   * @param streetNames street names dictionary file, or null for the default street names
+   * @param cities cities dictionary file, or null for the default cities
+   * @return address values using the dictionary files
+   * @throws IOException if a file cannot be read
+   */
+  public static MappedAddressDataValues open(final Path streetNames, final Path cities) throws IOException {
+    return create(streetNames == null ? null : MappedDictionary.open(streetNames),
+        cities == null ? null : MappedDictionary.open(cities));
+  }
+
+  public MappedDictionary getMappedDictionary(final int dictionary) {
+    switch (dictionary) {
+    case STREET_NAMES:
+      return streetNames;
+    case CITIES:
+      return cities;
+    default:
+      return null;
+    }
+  }
+
+  /**
+   * Returns the street names, decoding the whole dictionary the first time. See
+   * {@link MappedNameDataValues#getFirstNames()}.
+   */
+  public String[] getStreetNames() {
+    return streetNames == null ? defaults.getStreetNames() : streetNames.toArray();
+  }
+
+  /**
+   * Returns the cities, decoding the whole dictionary the first time.
+   */
+  public String[] getCities() {
+    return cities == null ? defaults.getCities() : cities.toArray();
+  }
+
+  public String[] getAddressSuffixes() {
+    return defaults.getAddressSuffixes();
+  }
+
+}
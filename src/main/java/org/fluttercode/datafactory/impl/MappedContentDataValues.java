@@ -0,0 +1,63 @@
+package org.fluttercode.datafactory.impl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.fluttercode.datafactory.ContentDataValues;
+
+/**
+ * Content values with the words read from a memory mapped dictionary file. Business types, email hosts and top level
+ * domains come from {@link DefaultContentDataValues}. Picking words of a given length, as
+ * {@link DataFactory#getRandomWord(int, int)} does, indexes the dictionary by the lengths in the file without decoding
+ * it.
+ */
+public final class MappedContentDataValues implements ContentDataValues, MappedDataValues {
+
+  private final ContentDataValues defaults = new DefaultContentDataValues();
+  private final MappedDictionary words;
+
+  private MappedContentDataValues(final MappedDictionary words) {
+    this.words = words;
+  }
+
+  /**
+   * @param words words dictionary, or null for the default words
+   * @return content values using the dictionary
+   */
+  public static MappedContentDataValues create(final MappedDictionary words) {
+    return new MappedContentDataValues(words);
+  }
+
+  /**
+   * @param words words dictionary file, or null for the default words
+   * @return content values using the dictionary file
+   * @throws IOException if the file cannot be read
+   */
+  public static MappedContentDataValues open(final Path words) throws IOException {
+    return create(words == null ? null : MappedDictionary.open(words));
+  }
+
+  public MappedDictionary getMappedDictionary(final int dictionary) {
+    return dictionary == WORDS ? words : null;
+  }
+
+  /**
+   * Returns the words, decoding the whole dictionary the first time. See {@link MappedNameDataValues#getFirstNames()}.
+   */
+  public String[] getWords() {
+    return words == null ? defaults.getWords() : words.toArray();
+  }
+
+  public String[] getBusinessTypes() {
+    return defaults.getBusinessTypes();
+  }
+
+  public String[] getEmailHosts() {
+    return defaults.getEmailHosts();
+  }
+
+  public String[] getTlds() {
+    return defaults.getTlds();
+  }
+
+}
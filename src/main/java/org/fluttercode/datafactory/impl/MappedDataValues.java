@@ -0,0 +1,21 @@
+package org.fluttercode.datafactory.impl;
+
+/**
+ * Implemented by the data values that can hand out their dictionaries as {@link MappedDictionary} instances, so
+ * {@link DataFactory} can pick values by index without building a <code>String[]</code>.
+ */
+interface MappedDataValues {
+
+  int FIRST_NAMES = 0;
+  int LAST_NAMES = 1;
+  int STREET_NAMES = 2;
+  int CITIES = 3;
+  int WORDS = 4;
+
+  /**
+   * @param dictionary one of the dictionary constants
+   * @return the mapped dictionary or null if it is held as a <code>String[]</code>
+   */
+  MappedDictionary getMappedDictionary(int dictionary);
+
+}
@@ -0,0 +1,280 @@
+package org.fluttercode.datafactory.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Dictionary of values held in a memory mapped file, so very large dictionaries cost next to nothing on the heap and
+ * take no time to load. The file holds the UTF-8 bytes of all the values one after the other, followed by a table of
+ * where each value starts. Values are only decoded when they are picked.
+ *
+ * <pre>
+ * MappedDictionary.convert(Paths.get(&quot;last-names.txt&quot;), Paths.get(&quot;last-names.dict&quot;));
+ * MappedDictionary lastNames = MappedDictionary.open(Paths.get(&quot;last-names.dict&quot;));
+ * </pre>
+ */
+public final class MappedDictionary {
+
+  private static final int MAGIC = 0x44464431; // DFD1
+  private static final int HEADER_SIZE = 12;
+
+  private final MappedByteBuffer buffer;
+  private final int size;
+  private final int table;
+  private volatile String[] values;
+
+  private MappedDictionary(final MappedByteBuffer buffer) {
+    this.buffer = buffer;
+    if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+      throw new IllegalArgumentException("File is not a dictionary file");
+    }
+    size = buffer.getInt(4);
+    table = buffer.getInt(8);
+    if (size < 0 || table < HEADER_SIZE || (long) table + 4L * (size + 1) > buffer.capacity()) {
+      throw new IllegalArgumentException("Dictionary file is damaged");
+    }
+  }
+
+  /**
+   * Maps a dictionary file written by {@link #write(Path, Iterable)}. The file stays mapped until the dictionary is
+   * garbage collected.
+   *
+   * @param file dictionary file
+   * @return the dictionary
+   * @throws IOException if the file cannot be read
+   */
+  public static MappedDictionary open(final Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+    try {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Dictionary files are limited to 2GB");
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      buffer.order(ByteOrder.BIG_ENDIAN);
+      return new MappedDictionary(buffer);
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Writes values to a dictionary file, replacing the file if it exists. The values are written as they are read so
+   * only the table of positions is held in memory.
+   *
+   * @param file file to write
+   * @param values values to write
+   * @return number of values written
+   * @throws IOException if the file cannot be written
+   */
+  public static int write(final Path file, final Iterable<String> values) throws IOException {
+    if (values == null) {
+      throw new IllegalArgumentException("Values cannot be null");
+    }
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    try {
+      int[] offsets = new int[1024];
+      int count = 0;
+      long position = HEADER_SIZE;
+      channel.position(position);
+      for (String value : values) {
+        if (value == null) {
+          throw new IllegalArgumentException("Dictionary values cannot be null");
+        }
+        if (count + 1 == offsets.length) {
+          offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[count++] = (int) position;
+        position += writeFully(channel, ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8)));
+        if (position + 4L * (count + 1) > Integer.MAX_VALUE) {
+          throw new IllegalArgumentException("Dictionary files are limited to 2GB");
+        }
+      }
+      offsets[count] = (int) position;
+
+      ByteBuffer tableBuffer = ByteBuffer.allocate(4 * (count + 1));
+      tableBuffer.asIntBuffer().put(offsets, 0, count + 1);
+      writeFully(channel, tableBuffer);
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      header.putInt(MAGIC).putInt(count).putInt((int) position).flip();
+      channel.position(0);
+      writeFully(channel, header);
+      return count;
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Converts a UTF-8 text file with one value on each line into a dictionary file.
+   *
+   * @param textFile text file to read
+   * @param file dictionary file to write
+   * @return number of values written
+   * @throws IOException if either file cannot be read or written
+   */
+  public static int convert(final Path textFile, final Path file) throws IOException {
+    Stream<String> lines = Files.lines(textFile, StandardCharsets.UTF_8);
+    try {
+      return write(file, lines::iterator);
+    } finally {
+      lines.close();
+    }
+  }
+
+  private static int writeFully(final FileChannel channel, final ByteBuffer bytes) throws IOException {
+    int length = bytes.remaining();
+    while (bytes.hasRemaining()) {
+      channel.write(bytes);
+    }
+    return length;
+  }
+
+  /**
+   * @return number of values in the dictionary
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param index index of the value
+   * @return the value, decoded from the file
+   */
+  public String get(final int index) {
+    return new String(getBytes(index), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @param index index of the value
+   * @return a copy of the UTF-8 bytes of the value
+   */
+  public byte[] getBytes(final int index) {
+    checkIndex(index);
+    int start = buffer.getInt(table + 4 * index);
+    byte[] bytes = new byte[buffer.getInt(table + 4 * index + 4) - start];
+    // absolute gets leave the shared buffer position alone so any number of threads can read
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = buffer.get(start + i);
+    }
+    return bytes;
+  }
+
+  /**
+   * @param index index of the value
+   * @return number of UTF-8 bytes in the value
+   */
+  int byteLength(final int index) {
+    checkIndex(index);
+    return buffer.getInt(table + 4 * index + 4) - buffer.getInt(table + 4 * index);
+  }
+
+  /**
+   * @param index index of the value
+   * @return number of chars the value has once decoded, worked out from its bytes without decoding it
+   */
+  int charLength(final int index) {
+    checkIndex(index);
+    int start = buffer.getInt(table + 4 * index);
+    int end = buffer.getInt(table + 4 * index + 4);
+    int length = 0;
+    for (int i = start; i < end; i++) {
+      int b = buffer.get(i) & 0xFF;
+      if ((b & 0xC0) != 0x80) {
+        // lead byte, with four byte sequences decoding to a surrogate pair
+        length += b >= 0xF0 ? 2 : 1;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Returns the UTF-8 bytes of a value lower cased or reduced to its initial as the {@link Utf8Dictionary} mode
+   * requires. ASCII values are lower cased while they are copied, anything else is decoded and encoded again.
+   *
+   * @param index index of the value
+   * @param mode encoding mode
+   * @return the encoded bytes
+   */
+  byte[] getBytes(final int index, final int mode) {
+    byte[] bytes = getBytes(index);
+    if (mode == Utf8Dictionary.PLAIN) {
+      return bytes;
+    }
+    if (mode == Utf8Dictionary.LOWER_CASE_INITIAL && bytes.length > 1 && bytes[0] >= 0) {
+      bytes = new byte[] { bytes[0] };
+    }
+    for (int i = 0; i < bytes.length; i++) {
+      byte b = bytes[i];
+      if (b < 0) {
+        return Utf8Dictionary.encode(get(index), mode);
+      }
+      if (b >= 'A' && b <= 'Z') {
+        bytes[i] = (byte) (b + ('a' - 'A'));
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * Appends a value to <code>sb</code> lower cased or reduced to its initial as the {@link Utf8Dictionary} mode
+   * requires. ASCII values are appended straight from the file, anything else is decoded first.
+   *
+   * @param sb builder to append to
+   * @param index index of the value
+   * @param mode encoding mode
+   * @return <code>sb</code>
+   */
+  StringBuilder appendTo(final StringBuilder sb, final int index, final int mode) {
+    checkIndex(index);
+    int start = buffer.getInt(table + 4 * index);
+    int end = buffer.getInt(table + 4 * index + 4);
+    if (mode == Utf8Dictionary.LOWER_CASE_INITIAL && end > start && buffer.get(start) >= 0) {
+      end = start + 1;
+    }
+    for (int i = start; i < end; i++) {
+      if (buffer.get(i) < 0) {
+        return sb.append(Utf8Dictionary.apply(get(index), mode));
+      }
+    }
+    for (int i = start; i < end; i++) {
+      char c = (char) buffer.get(i);
+      sb.append(mode != Utf8Dictionary.PLAIN && c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+    }
+    return sb;
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(String.format("Index %d is outside of 0 to %d", index, size - 1));
+    }
+  }
+
+  /**
+   * Returns all the values as an array, decoding them the first time this is called. This is only used where a
+   * <code>String[]</code> is needed and costs as much heap as the array would.
+   *
+   * @return all the values in the dictionary
+   */
+  public String[] toArray() {
+    String[] result = values;
+    if (result == null) {
+      result = new String[size];
+      for (int i = 0; i < size; i++) {
+        result[i] = get(i);
+      }
+      values = result;
+    }
+    return result;
+  }
+
+}
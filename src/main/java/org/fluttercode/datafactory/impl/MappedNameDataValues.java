@@ -0,0 +1,81 @@
+package org.fluttercode.datafactory.impl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.fluttercode.datafactory.NameDataValues;
+
+/**
+ * Name values read from memory mapped dictionary files, for first and last name lists that are too big to hold on the
+ * heap. Prefixes and suffixes come from {@link DefaultNameDataValues}.
+ *
+ * <pre>
+ * dataFactory.setNameDataValues(MappedNameDataValues.open(firstNamesFile, lastNamesFile));
+ * </pre>
+ */
+public final class MappedNameDataValues implements NameDataValues, MappedDataValues {
+
+  private final NameDataValues defaults = new DefaultNameDataValues();
+  private final MappedDictionary firstNames;
+  private final MappedDictionary lastNames;
+
+  private MappedNameDataValues(final MappedDictionary firstNames, final MappedDictionary lastNames) {
+    this.firstNames = firstNames;
+    this.lastNames = lastNames;
+  }
+
+  /**
+   * @param firstNames first names dictionary, or null for the default first names
+   * @param lastNames last names dictionary, or null for the default last names
+   * @return name values using the dictionaries
+   */
+  public static MappedNameDataValues create(final MappedDictionary firstNames, final MappedDictionary lastNames) {
+    return new MappedNameDataValues(firstNames, lastNames);
+  }
+
+  /**
+   * @param firstNames first names dictionary file, or null for the default first names
+   * @param lastNames last names dictionary file, or null for the default last names
+   * @return name values using the dictionary files
+   * @throws IOException if a file cannot be read
+   */
+  public static MappedNameDataValues open(final Path firstNames, final Path lastNames) throws IOException {
+    return create(firstNames == null ? null : MappedDictionary.open(firstNames),
+        lastNames == null ? null : MappedDictionary.open(lastNames));
+  }
+
+  public MappedDictionary getMappedDictionary(final int dictionary) {
+    switch (dictionary) {
+    case FIRST_NAMES:
+      return firstNames;
+    case LAST_NAMES:
+      return lastNames;
+    default:
+      return null;
+    }
+  }
+
+  /**
+   * Returns the first names, decoding the whole dictionary the first time. {@link DataFactory} picks from the mapped
+   * file directly, this is only used by code that needs the array.
+   */
+  public String[] getFirstNames() {
+    return firstNames == null ? defaults.getFirstNames() : firstNames.toArray();
+  }
+
+  /**
+   * Returns the last names, see {@link #getFirstNames()}.
+   */
+  public String[] getLastNames() {
+    return lastNames == null ? defaults.getLastNames() : lastNames.toArray();
+  }
+
+  public String[] getPrefixes() {
+    return defaults.getPrefixes();
+  }
+
+  public String[] getSuffixes() {
+    return defaults.getSuffixes();
+  }
+
+}
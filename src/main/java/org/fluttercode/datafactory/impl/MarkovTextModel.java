@@ -0,0 +1,297 @@
+package org.fluttercode.datafactory.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fluttercode.datafactory.RandomSource;
+
+/**
+ * Word level Markov chain built from a sample of text, for generating text that reads like the sample. Each state is
+ * the last <code>order</code> words of the sentence so far, and the model records which words followed each state in
+ * the sample and how often. Once built, the model is held in flat arrays: for each state a run of possible next words,
+ * their cumulative counts and the state each one leads to, so generating a word is one random draw, a binary search of
+ * the run and no hashing. Models are immutable and can be shared between threads.
+ *
+ * <pre>
+ * MarkovTextModel model = MarkovTextModel.build(Paths.get(&quot;corpus.txt&quot;), 2);
+ * String paragraph = dataFactory.getParagraph(model, 5);
+ * </pre>
+ *
+ * Sentences end at a word ending with <code>.</code>, <code>!</code> or <code>?</code>.
+ */
+public final class MarkovTextModel {
+
+  /** Longest sentence generated, in case the sample has very long loops */
+  public static final int MAX_SENTENCE_WORDS = 1000;
+
+  private static final int START = -1;
+  private static final int END = -1;
+
+  private final int order;
+  private final String[] words;
+  // transitions of state i are offsets[i] to offsets[i + 1] - 1
+  private final int[] offsets;
+  private final int[] nextWords;
+  private final int[] cumulativeCounts;
+  private final int[] nextStates;
+
+  private MarkovTextModel(final int order, final String[] words, final int[] offsets, final int[] nextWords,
+      final int[] cumulativeCounts, final int[] nextStates) {
+    this.order = order;
+    this.words = words;
+    this.offsets = offsets;
+    this.nextWords = nextWords;
+    this.cumulativeCounts = cumulativeCounts;
+    this.nextStates = nextStates;
+  }
+
+  /**
+   * Builds a model from a UTF-8 text file.
+   *
+   * @param corpus file of sample text
+   * @param order number of previous words each word depends on, 1 to 4
+   * @return the model
+   * @throws IOException if the file cannot be read
+   */
+  public static MarkovTextModel build(final Path corpus, final int order) throws IOException {
+    return build(new String(Files.readAllBytes(corpus), StandardCharsets.UTF_8), order);
+  }
+
+  /**
+   * Builds a model from sample text.
+   *
+   * @param corpus sample text
+   * @param order number of previous words each word depends on, 1 to 4
+   * @return the model
+   */
+  public static MarkovTextModel build(final CharSequence corpus, final int order) {
+    if (corpus == null) {
+      throw new IllegalArgumentException("Corpus cannot be null");
+    }
+    if (order < 1 || order > 4) {
+      throw new IllegalArgumentException("Order must be between 1 and 4");
+    }
+    Builder builder = new Builder(order);
+    int length = corpus.length();
+    int i = 0;
+    while (i < length) {
+      while (i < length && Character.isWhitespace(corpus.charAt(i))) {
+        i++;
+      }
+      int start = i;
+      while (i < length && !Character.isWhitespace(corpus.charAt(i))) {
+        i++;
+      }
+      if (i > start) {
+        builder.add(corpus.subSequence(start, i).toString());
+      }
+    }
+    builder.endSentence();
+    return builder.compile();
+  }
+
+  /**
+   * @return number of previous words each word depends on
+   */
+  public int getOrder() {
+    return order;
+  }
+
+  /**
+   * @return number of distinct words in the model
+   */
+  public int getVocabularySize() {
+    return words.length;
+  }
+
+  /**
+   * @return number of states in the model
+   */
+  public int getStateCount() {
+    return offsets.length - 1;
+  }
+
+  /**
+   * Picks the transition to take from a state.
+   */
+  private int nextTransition(final RandomSource random, final int state) {
+    int low = offsets[state];
+    int high = offsets[state + 1] - 1;
+    if (low == high) {
+      return low;
+    }
+    int base = low == 0 ? 0 : cumulativeCounts[low - 1];
+    int target = base + random.nextInt(cumulativeCounts[high] - base);
+    // find the first transition whose cumulative count is more than the target
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (cumulativeCounts[mid] > target) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Appends a sentence to <code>sb</code>.
+   *
+   * @return number of words appended
+   */
+  int appendSentence(final RandomSource random, final StringBuilder sb) {
+    int state = 0;
+    int count = 0;
+    while (count < MAX_SENTENCE_WORDS) {
+      int transition = nextTransition(random, state);
+      int word = nextWords[transition];
+      if (word == END) {
+        break;
+      }
+      if (count > 0) {
+        sb.append(' ');
+      }
+      sb.append(words[word]);
+      count++;
+      state = nextStates[transition];
+    }
+    return count;
+  }
+
+  /**
+   * Collects the transitions from the sample, keyed on the previous words, then compiles them into flat arrays.
+   */
+  private static final class Builder {
+
+    private final int order;
+    private final Map<String, Integer> wordIds = new HashMap<String, Integer>();
+    private final List<String> words = new ArrayList<String>();
+    private final Map<Context, Map<Integer, int[]>> transitions = new LinkedHashMap<Context, Map<Integer, int[]>>();
+    private int[] context;
+    private boolean inSentence;
+
+    Builder(final int order) {
+      this.order = order;
+      context = startContext();
+      // the start state is always state 0
+      transitions.put(new Context(context), new LinkedHashMap<Integer, int[]>());
+    }
+
+    private int[] startContext() {
+      int[] start = new int[order];
+      Arrays.fill(start, START);
+      return start;
+    }
+
+    void add(final String word) {
+      Integer id = wordIds.get(word);
+      if (id == null) {
+        id = words.size();
+        wordIds.put(word, id);
+        words.add(word);
+      }
+      count(id);
+      int[] next = Arrays.copyOfRange(context, 1, order + 1);
+      next[order - 1] = id;
+      context = next;
+      inSentence = true;
+      char last = word.charAt(word.length() - 1);
+      if (last == '.' || last == '!' || last == '?') {
+        endSentence();
+      }
+    }
+
+    void endSentence() {
+      if (inSentence) {
+        count(END);
+        context = startContext();
+        inSentence = false;
+      }
+    }
+
+    private void count(final int word) {
+      Context key = new Context(context);
+      Map<Integer, int[]> counts = transitions.get(key);
+      if (counts == null) {
+        counts = new LinkedHashMap<Integer, int[]>();
+        transitions.put(key, counts);
+      }
+      int[] count = counts.get(word);
+      if (count == null) {
+        counts.put(word, new int[] { 1 });
+      } else {
+        count[0]++;
+      }
+    }
+
+    MarkovTextModel compile() {
+      if (words.isEmpty()) {
+        throw new IllegalArgumentException("Corpus does not contain any words");
+      }
+      Map<Context, Integer> stateIds = new HashMap<Context, Integer>();
+      int total = 0;
+      for (Map.Entry<Context, Map<Integer, int[]>> entry : transitions.entrySet()) {
+        stateIds.put(entry.getKey(), stateIds.size());
+        total += entry.getValue().size();
+      }
+      int[] offsets = new int[stateIds.size() + 1];
+      int[] nextWords = new int[total];
+      int[] cumulativeCounts = new int[total];
+      int[] nextStates = new int[total];
+      int state = 0;
+      int index = 0;
+      int cumulative = 0;
+      for (Map.Entry<Context, Map<Integer, int[]>> entry : transitions.entrySet()) {
+        offsets[state++] = index;
+        int[] from = entry.getKey().words;
+        for (Map.Entry<Integer, int[]> transition : entry.getValue().entrySet()) {
+          int word = transition.getKey();
+          cumulative += transition.getValue()[0];
+          nextWords[index] = word;
+          cumulativeCounts[index] = cumulative;
+          if (word == END) {
+            nextStates[index] = 0;
+          } else {
+            int[] to = Arrays.copyOfRange(from, 1, order + 1);
+            to[order - 1] = word;
+            nextStates[index] = stateIds.get(new Context(to));
+          }
+          index++;
+        }
+      }
+      offsets[state] = index;
+      return new MarkovTextModel(order, words.toArray(new String[words.size()]), offsets, nextWords,
+          cumulativeCounts, nextStates);
+    }
+  }
+
+  private static final class Context {
+
+    final int[] words;
+    private final int hash;
+
+    Context(final int[] words) {
+      this.words = words;
+      this.hash = Arrays.hashCode(words);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      return obj instanceof Context && Arrays.equals(words, ((Context) obj).words);
+    }
+  }
+
+}
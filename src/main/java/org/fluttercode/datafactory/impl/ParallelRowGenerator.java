@@ -0,0 +1,256 @@
+package org.fluttercode.datafactory.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+import org.fluttercode.datafactory.RandomSource;
+
+/**
+ * Generates rows for a {@link RowSchema} on several threads while producing exactly the same data for a given seed no
+ * matter how many threads are used. The rows are split into fixed size chunks and each chunk is generated with its own
+ * {@link DataFactory}, whose random stream is derived from the root seed and the index of the chunk. Chunks are
+ * processed on a {@link ForkJoinPool} and the results handed back in chunk order, with only a few chunks in memory at
+ * a time. For example, to write a CSV file using all the processors :
+ *
+ * <pre>
+ * ParallelRowGenerator generator = ParallelRowGenerator.create(schema, 5765297);
+ * generator.export(DelimitedExporter.csv(), Paths.get(&quot;users.csv&quot;), 500000000L);
+ * </pre>
+ *
+ * The output only depends on the seed, the chunk size and the schema, so changing the chunk size changes the data.
+ */
+public final class ParallelRowGenerator {
+
+  public static final int DEFAULT_CHUNK_SIZE = 65536;
+
+  /**
+   * Processes the rows of a single chunk, on one of the pool threads.
+   *
+   * @param <R> type of the result for each chunk
+   */
+  public interface ChunkProcessor<R> {
+
+    /**
+     * @param rows the rows of the chunk
+     * @param chunkIndex index of the chunk, from 0
+     * @return result for the chunk, passed to the consumer in chunk order
+     * @throws IOException if the chunk cannot be processed
+     */
+    R process(RowSource rows, long chunkIndex) throws IOException;
+  }
+
+  private final RowSchema schema;
+  private final long seed;
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+  private ForkJoinPool pool = ForkJoinPool.commonPool();
+  private LongFunction<? extends RandomSource> randomSources = Xoroshiro128PlusPlusRandomSource::new;
+  private Consumer<DataFactory> factorySetup;
+
+  private ParallelRowGenerator(final RowSchema schema, final long seed) {
+    this.schema = schema;
+    this.seed = seed;
+  }
+
+  /**
+   * @param schema schema of the rows to generate
+   * @param seed root seed that the random streams of the chunks are derived from
+   * @return generator for the rows
+   */
+  public static ParallelRowGenerator create(final RowSchema schema, final long seed) {
+    if (schema == null) {
+      throw new IllegalArgumentException("Schema cannot be null");
+    }
+    return new ParallelRowGenerator(schema, seed);
+  }
+
+  /**
+   * Returns the rows of one chunk. This is what each pool thread generates, and can also be used to regenerate part of
+   * a data set without generating the chunks before it.
+   *
+   * @param chunkIndex index of the chunk, from 0
+   * @param rows number of rows in the whole data set
+   * @return source of the rows in the chunk
+   */
+  public RowSource getChunk(final long chunkIndex, final long rows) {
+    long firstRow = chunkIndex * chunkSize;
+    if (chunkIndex < 0 || firstRow >= rows) {
+      throw new IllegalArgumentException(String.format("Chunk %d is outside of %d rows", chunkIndex, rows));
+    }
+    DataFactory dataFactory = DataFactory.create(randomSources.apply(chunkSeed(chunkIndex)));
+    if (factorySetup != null) {
+      factorySetup.accept(dataFactory);
+    }
+    RowPlan plan = schema.compile(dataFactory);
+    plan.setRowIndex(firstRow);
+    return plan.limit(Math.min(chunkSize, rows - firstRow));
+  }
+
+  /**
+   * Derives the seed for a chunk from the root seed. This is the value SplitMix64 would return at position
+   * <code>chunkIndex</code>, so the seeds of neighbouring chunks are unrelated.
+   */
+  private long chunkSeed(final long chunkIndex) {
+    return SplitMix64RandomSource.mix(seed + (chunkIndex + 1) * SplitMix64RandomSource.GOLDEN_GAMMA);
+  }
+
+  /**
+   * Generates <code>rows</code> rows, processing the chunks in parallel and passing the results to
+   * <code>consumer</code> on the calling thread in chunk order.
+   *
+   * @param <R> type of the result of processing each chunk
+   * @param rows total number of rows to generate
+   * @param processor processes the rows of each chunk
+   * @param consumer receives the result of each chunk in order
+   * @throws IOException if a chunk cannot be processed
+   */
+  public <R> void generate(final long rows, final ChunkProcessor<? extends R> processor,
+      final Consumer<? super R> consumer) throws IOException {
+    if (rows < 0) {
+      throw new IllegalArgumentException("Row count must be a non-negative number");
+    }
+    long chunks = (rows + chunkSize - 1) / chunkSize;
+    int maxInFlight = Math.max(2, pool.getParallelism() * 2);
+    Deque<ForkJoinTask<R>> inFlight = new ArrayDeque<ForkJoinTask<R>>();
+    try {
+      for (long chunk = 0; chunk < chunks; chunk++) {
+        if (inFlight.size() == maxInFlight) {
+          consumer.accept(inFlight.removeFirst().join());
+        }
+        final long chunkIndex = chunk;
+        inFlight.addLast(pool.submit(() -> {
+          try {
+            return processor.process(getChunk(chunkIndex, rows), chunkIndex);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }));
+      }
+      while (!inFlight.isEmpty()) {
+        consumer.accept(inFlight.removeFirst().join());
+      }
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } finally {
+      for (ForkJoinTask<R> task : inFlight) {
+        task.cancel(false);
+      }
+    }
+  }
+
+  /**
+   * Exports <code>rows</code> rows to a channel, with the chunks formatted in parallel and written in order. Only the
+   * first chunk includes the header if the exporter writes one.
+   *
+   * @param exporter exporter with the format settings to use
+   * @param channel channel to write to, which is not closed
+   * @param rows total number of rows to export
+   * @return number of rows and bytes written and the time taken
+   * @throws IOException if the rows cannot be written
+   */
+  public ThroughputStatistics export(final DelimitedExporter exporter, final WritableByteChannel channel,
+      final long rows) throws IOException {
+    long start = System.nanoTime();
+    final long[] bytes = new long[1];
+    // exporters reuse their buffer, so each pool thread gets its own copy
+    final boolean writeHeader = exporter.isWriteHeader();
+    final ThreadLocal<DelimitedExporter> exporters = ThreadLocal.withInitial(exporter::copy);
+    generate(rows, (chunkRows, chunkIndex) -> {
+      DelimitedExporter chunkExporter = exporters.get();
+      chunkExporter.setWriteHeader(writeHeader && chunkIndex == 0);
+      ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(chunkSize, 1 << 16) * 64);
+      chunkExporter.export(chunkRows, Channels.newChannel(out));
+      return out.toByteArray();
+    }, (byte[] chunk) -> {
+      ByteBuffer buffer = ByteBuffer.wrap(chunk);
+      try {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      bytes[0] += chunk.length;
+    });
+    return new ThroughputStatistics(rows, bytes[0], System.nanoTime() - start);
+  }
+
+  /**
+   * Exports <code>rows</code> rows to a file, replacing the file if it exists. See
+   * {@link #export(DelimitedExporter, WritableByteChannel, long)}.
+   *
+   * @param exporter exporter with the format settings to use
+   * @param file file to write to
+   * @param rows total number of rows to export
+   * @return number of rows and bytes written and the time taken
+   * @throws IOException if the rows cannot be written
+   */
+  public ThroughputStatistics export(final DelimitedExporter exporter, final Path file, final long rows)
+      throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    try {
+      return export(exporter, channel, rows);
+    } finally {
+      channel.close();
+    }
+  }
+
+  public int getChunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * @param chunkSize number of rows generated with each random stream
+   */
+  public void setChunkSize(final int chunkSize) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("Chunk size must be at least 1");
+    }
+    this.chunkSize = chunkSize;
+  }
+
+  public ForkJoinPool getPool() {
+    return pool;
+  }
+
+  /**
+   * @param pool pool to generate the chunks on, the common pool by default
+   */
+  public void setPool(final ForkJoinPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("Pool cannot be null");
+    }
+    this.pool = pool;
+  }
+
+  /**
+   * @param randomSources creates the random source for each chunk from the chunk seed, xoroshiro128++ by default
+   */
+  public void setRandomSources(final LongFunction<? extends RandomSource> randomSources) {
+    if (randomSources == null) {
+      throw new IllegalArgumentException("Random sources cannot be null");
+    }
+    this.randomSources = randomSources;
+  }
+
+  /**
+   * @param factorySetup called with the factory for each chunk before it is used, i.e. to set custom data values
+   */
+  public void setFactorySetup(final Consumer<DataFactory> factorySetup) {
+    this.factorySetup = factorySetup;
+  }
+
+}
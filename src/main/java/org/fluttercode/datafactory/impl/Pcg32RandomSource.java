@@ -0,0 +1,41 @@
+package org.fluttercode.datafactory.impl;
+
+/**
+ * PCG32 (XSH RR 64/32) generator by O'Neill. It produces 32 bits per step from a 64 bit state, with an optional stream
+ * selector so that generators with the same seed can produce independent sequences.
+ */
+public class Pcg32RandomSource extends AbstractRandomSource {
+
+  private static final long MULTIPLIER = 6364136223846793005L;
+  private static final long DEFAULT_STREAM = 0x5851F42D4C957F2DL;
+
+  private long state;
+  private final long increment;
+
+  public Pcg32RandomSource(final long seed) {
+    this(seed, DEFAULT_STREAM);
+  }
+
+  public Pcg32RandomSource(final long seed, final long stream) {
+    increment = (stream << 1) | 1;
+    state = 0;
+    nextInt();
+    state += seed;
+    nextInt();
+  }
+
+  @Override
+  public int nextInt() {
+    final long old = state;
+    state = old * MULTIPLIER + increment;
+    int xorShifted = (int) (((old >>> 18) ^ old) >>> 27);
+    int rotation = (int) (old >>> 59);
+    return Integer.rotateRight(xorShifted, rotation);
+  }
+
+  @Override
+  public long nextLong() {
+    return ((long) nextInt() << 32) | (nextInt() & 0xFFFFFFFFL);
+  }
+
+}
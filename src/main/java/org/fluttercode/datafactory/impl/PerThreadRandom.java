@@ -0,0 +1,77 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.Random;
+
+import org.fluttercode.datafactory.RandomSource;
+
+/**
+ * Random number generator that can be shared between threads without contention. Stream <code>n</code> is a
+ * {@link Random} seeded from the root seed and <code>n</code> in the same way as {@link ParallelRowGenerator} seeds its
+ * chunks, so a numbered stream always produces the same values whichever thread uses it. Use
+ * {@link DataFactory#forStream(int)} to give each worker or partition its own numbered stream for output that does not
+ * depend on scheduling. A thread that uses the shared instance directly is given the next stream that has not been
+ * handed out, which is only repeatable if threads first use the generator in the same order.
+ */
+final class PerThreadRandom implements RandomSource {
+
+  private final long seed;
+  private long nextThreadStream;
+
+  private final ThreadLocal<RandomSource> streams = new ThreadLocal<RandomSource>() {
+    @Override
+    protected RandomSource initialValue() {
+      return newStream(-1L - nextThreadStream());
+    }
+  };
+
+  PerThreadRandom(final long seed) {
+    this.seed = seed;
+  }
+
+  private synchronized long nextThreadStream() {
+    return nextThreadStream++;
+  }
+
+  /**
+   * Returns a new generator for stream <code>index</code>, which produces the same values every time for the same root
+   * seed. Streams created this way are not thread safe and are not handed out to threads using the shared instance.
+   *
+   * @param index index of the stream
+   * @return generator for the stream
+   */
+  RandomSource stream(final int index) {
+    if (index < 0) {
+      throw new IllegalArgumentException("Stream index must be a non-negative number");
+    }
+    return newStream(index + 1L);
+  }
+
+  /**
+   * Numbered streams are at positive positions and the streams handed out to threads at negative ones, so the two
+   * never overlap.
+   */
+  private RandomSource newStream(final long position) {
+    return new JavaRandomSource(SplitMix64RandomSource.mix(seed + position * SplitMix64RandomSource.GOLDEN_GAMMA));
+  }
+
+  public int nextInt() {
+    return streams.get().nextInt();
+  }
+
+  public int nextInt(final int bound) {
+    return streams.get().nextInt(bound);
+  }
+
+  public long nextLong() {
+    return streams.get().nextLong();
+  }
+
+  public double nextDouble() {
+    return streams.get().nextDouble();
+  }
+
+  public double nextGaussian() {
+    return streams.get().nextGaussian();
+  }
+
+}
@@ -0,0 +1,141 @@
+package org.fluttercode.datafactory.impl;
+
+import java.nio.ByteBuffer;
+
+import org.fluttercode.datafactory.RandomSource;
+
+/**
+ * Generates the same text as {@link DataFactory#getRandomText(int)} a buffer at a time, so documents of any size can
+ * be written out with a fixed amount of memory. Words are picked from a {@link WordLengthIndex} and copied straight
+ * into the buffer, and a word that does not fit is carried over to the next buffer, so every buffer is filled
+ * completely until the text is done. The length is counted in characters when filling a <code>char</code> array and in
+ * UTF-8 bytes when filling a byte buffer.
+ */
+final class RandomTextWriter {
+
+  static final int BUFFER_SIZE = 8192;
+
+  private static final byte[] A = { 'a' };
+  private static final byte[] I = { 'I' };
+
+  private final RandomSource random;
+  private final WordLengthIndex index;
+  private final GeneratorMetrics metrics;
+  private final int generator;
+  private long remaining;
+  private boolean started;
+
+  // the current word, null while writing random letters in place of a word
+  private String word;
+  private byte[] wordBytes;
+  private int wordLength;
+  private int wordPosition;
+
+  RandomTextWriter(final RandomSource random, final WordLengthIndex index, final long length,
+      final GeneratorMetrics metrics, final int generator) {
+    this.random = random;
+    this.index = index;
+    this.remaining = length;
+    this.metrics = metrics;
+    this.generator = generator;
+  }
+
+  /**
+   * @return true if all the text has been written
+   */
+  boolean isDone() {
+    return remaining == 0 && wordPosition == wordLength;
+  }
+
+  /**
+   * Fills <code>dest</code> with the next characters of the text.
+   *
+   * @return number of characters written, which is less than <code>length</code> only at the end of the text
+   */
+  int fill(final char[] dest, final int offset, final int length) {
+    int position = offset;
+    int end = offset + length;
+    while (position < end) {
+      if (wordPosition < wordLength) {
+        int count = Math.min(end - position, wordLength - wordPosition);
+        if (word == null) {
+          for (int i = 0; i < count; i++) {
+            dest[position + i] = (char) (random.nextInt(26) + 'a');
+          }
+        } else {
+          word.getChars(wordPosition, wordPosition + count, dest, position);
+        }
+        wordPosition += count;
+        position += count;
+      } else if (remaining == 0) {
+        break;
+      } else {
+        if (started) {
+          dest[position++] = ' ';
+          remaining--;
+        }
+        nextWord(false);
+      }
+    }
+    return position - offset;
+  }
+
+  /**
+   * Fills the remaining space in <code>buffer</code> with the next UTF-8 bytes of the text.
+   *
+   * @return number of bytes written, which is less than the space in the buffer only at the end of the text
+   */
+  int fill(final ByteBuffer buffer) {
+    int start = buffer.position();
+    while (buffer.hasRemaining()) {
+      if (wordPosition < wordLength) {
+        int count = Math.min(buffer.remaining(), wordLength - wordPosition);
+        if (wordBytes == null) {
+          for (int i = 0; i < count; i++) {
+            buffer.put((byte) (random.nextInt(26) + 'a'));
+          }
+        } else {
+          buffer.put(wordBytes, wordPosition, count);
+        }
+        wordPosition += count;
+      } else if (remaining == 0) {
+        break;
+      } else {
+        if (started) {
+          buffer.put((byte) ' ');
+          remaining--;
+        }
+        nextWord(true);
+      }
+    }
+    return buffer.position() - start;
+  }
+
+  /**
+   * Picks the next word in the same way as {@link DataFactory#getRandomText(int)}, making the same random draws.
+   */
+  private void nextWord(final boolean encoded) {
+    started = true;
+    double desiredLength = 1.0 + Math.abs(Ziggurat.normal(random)) * 6;
+    int length = (int) Math.min(remaining, desiredLength);
+    remaining -= length;
+    wordLength = length;
+    wordPosition = 0;
+    if (length == 1) {
+      boolean a = random.nextInt(100) < 50;
+      word = a ? "a" : "I";
+      wordBytes = a ? A : I;
+    } else if (encoded) {
+      word = null;
+      wordBytes = index.getEncodedWord(random, length);
+    } else {
+      word = index.getWord(random, length, length);
+      wordBytes = null;
+    }
+    if (length > 1 && word == null && wordBytes == null && metrics != null) {
+      // random letters in place of a word
+      metrics.fallback(generator);
+    }
+  }
+
+}
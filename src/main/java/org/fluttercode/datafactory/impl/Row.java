@@ -0,0 +1,114 @@
+package org.fluttercode.datafactory.impl;
+
+/**
+ * A single generated row, reused between calls to {@link RowSource#next(Row)} so that generating rows doesn't create a
+ * new array per row. Number columns are held as primitive longs and only boxed if read through
+ * {@link #getValue(int)}.
+ */
+public final class Row {
+
+  private final String[] names;
+  private final ColumnType[] types;
+  private final Object[] values;
+  private final long[] numbers;
+  private final boolean[] nulls;
+
+  Row(final String[] names, final ColumnType[] types) {
+    this.names = names;
+    this.types = types;
+    this.values = new Object[types.length];
+    this.numbers = new long[types.length];
+    this.nulls = new boolean[types.length];
+  }
+
+  /**
+   * @return number of columns in the row
+   */
+  public int size() {
+    return types.length;
+  }
+
+  /**
+   * @param column index of the column
+   * @return name of the column
+   */
+  public String getName(final int column) {
+    return names[column];
+  }
+
+  /**
+   * @param column index of the column
+   * @return type of the values held in the column
+   */
+  public ColumnType getType(final int column) {
+    return types[column];
+  }
+
+  /**
+   * @param column index of the column
+   * @return true if the column has no value in this row
+   */
+  public boolean isNull(final int column) {
+    return nulls[column];
+  }
+
+  /**
+   * Returns the value of a number column without boxing it.
+   *
+   * @param column index of the column
+   * @return value of the column, or 0 if it is null
+   */
+  public long getLong(final int column) {
+    if (types[column] != ColumnType.NUMBER) {
+      throw new IllegalArgumentException(String.format("Column %s is not a number column", names[column]));
+    }
+    return numbers[column];
+  }
+
+  /**
+   * Returns the value of the column as an object, boxing the values of number columns.
+   *
+   * @param column index of the column
+   * @return value of the column, or null
+   */
+  public Object getValue(final int column) {
+    if (nulls[column]) {
+      return null;
+    }
+    if (types[column] == ColumnType.NUMBER) {
+      return Long.valueOf(numbers[column]);
+    }
+    return values[column];
+  }
+
+  void setLong(final int column, final long value) {
+    numbers[column] = value;
+    nulls[column] = false;
+  }
+
+  void setValue(final int column, final Object value) {
+    values[column] = value;
+    nulls[column] = value == null;
+  }
+
+  void setDefault(final int column, final Object value) {
+    if (types[column] == ColumnType.NUMBER && value != null) {
+      setLong(column, ((Number) value).longValue());
+    } else {
+      setValue(column, value);
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < types.length; i++) {
+      if (i != 0) {
+        sb.append(", ");
+      }
+      sb.append(names[i]).append('=').append(getValue(i));
+    }
+    return sb.append(']').toString();
+  }
+
+}
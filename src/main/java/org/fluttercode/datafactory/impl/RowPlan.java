@@ -0,0 +1,223 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.Date;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Compiled form of a {@link RowSchema}. The columns are flattened into arrays of operation codes and arguments so that
+ * generating a row is a single loop over the columns calling the {@link DataFactory} generators directly. The plan
+ * produces an endless sequence of rows; use {@link #limit(long)} for a fixed number of rows.
+ * <p>
+ * A plan is not thread safe, it uses the state of its data factory and keeps track of the row number for sequences.
+ */
+public final class RowPlan implements RowSource {
+
+  private final DataFactory dataFactory;
+  private final String[] names;
+  private final ColumnType[] types;
+  private final int[] ops;
+  private final int[] probabilities;
+  private final Object[] defaults;
+  private final int[] mins;
+  private final int[] maxs;
+  private final long[] starts;
+  private final Object[] arguments;
+
+  private long rowIndex;
+
+  RowPlan(final DataFactory dataFactory, final String[] names, final ColumnGenerator[] columns,
+      final int[] probabilities, final Object[] defaults) {
+    this.dataFactory = dataFactory;
+    this.names = names;
+    this.probabilities = probabilities;
+    this.defaults = defaults;
+
+    int count = columns.length;
+    types = new ColumnType[count];
+    ops = new int[count];
+    mins = new int[count];
+    maxs = new int[count];
+    starts = new long[count];
+    arguments = new Object[count];
+    for (int i = 0; i < count; i++) {
+      ColumnGenerator column = columns[i];
+      types[i] = column.type;
+      ops[i] = column.op;
+      mins[i] = column.min;
+      maxs[i] = column.max;
+      starts[i] = column.start;
+      arguments[i] = column.argument;
+    }
+  }
+
+  /**
+   * @return number of columns in each row
+   */
+  public int getColumnCount() {
+    return names.length;
+  }
+
+  /**
+   * @param column index of the column
+   * @return name of the column
+   */
+  public String getColumnName(final int column) {
+    return names[column];
+  }
+
+  /**
+   * @param column index of the column
+   * @return type of the values in the column
+   */
+  public ColumnType getColumnType(final int column) {
+    return types[column];
+  }
+
+  /**
+   * @return index of the next row to be generated, starting from 0
+   */
+  public long getRowIndex() {
+    return rowIndex;
+  }
+
+  /**
+   * Sets the index of the next row to be generated, which is used by sequence columns. This does not change the state
+   * of the random number generator.
+   *
+   * @param rowIndex index of the next row
+   */
+  public void setRowIndex(final long rowIndex) {
+    this.rowIndex = rowIndex;
+  }
+
+  public Row newRow() {
+    return new Row(names, types);
+  }
+
+  /**
+   * Generates the next row into <code>row</code>. A plan never runs out of rows so this always returns true.
+   */
+  @SuppressWarnings("unchecked")
+  public boolean next(final Row row) {
+    final DataFactory df = dataFactory;
+    final int[] ops = this.ops;
+    for (int i = 0; i < ops.length; i++) {
+      final int probability = probabilities[i];
+      if (probability < 100 && !df.chance(probability)) {
+        row.setDefault(i, defaults[i]);
+        continue;
+      }
+      switch (ops[i]) {
+      case ColumnGenerator.FIRST_NAME:
+        row.setValue(i, df.getFirstName());
+        break;
+      case ColumnGenerator.LAST_NAME:
+        row.setValue(i, df.getLastName());
+        break;
+      case ColumnGenerator.NAME:
+        row.setValue(i, df.getName());
+        break;
+      case ColumnGenerator.EMAIL_ADDRESS:
+        row.setValue(i, df.getEmailAddress());
+        break;
+      case ColumnGenerator.ADDRESS:
+        row.setValue(i, df.getAddress());
+        break;
+      case ColumnGenerator.ADDRESS_LINE_2:
+        row.setValue(i, df.getAddressLine2());
+        break;
+      case ColumnGenerator.STREET_NAME:
+        row.setValue(i, df.getStreetName());
+        break;
+      case ColumnGenerator.CITY:
+        row.setValue(i, df.getCity());
+        break;
+      case ColumnGenerator.BUSINESS_NAME:
+        row.setValue(i, df.getBusinessName());
+        break;
+      case ColumnGenerator.BIRTH_DATE:
+        row.setValue(i, df.getBirthDate());
+        break;
+      case ColumnGenerator.DATE_BETWEEN:
+        Date[] range = (Date[]) arguments[i];
+        row.setValue(i, df.getDateBetween(range[0], range[1]));
+        break;
+      case ColumnGenerator.NUMBER_BETWEEN:
+        row.setLong(i, df.getNumberBetween(mins[i], maxs[i]));
+        break;
+      case ColumnGenerator.SEQUENCE:
+        row.setLong(i, starts[i] + rowIndex);
+        break;
+      case ColumnGenerator.NUMBER_TEXT:
+        row.setValue(i, df.getNumberText(mins[i]));
+        break;
+      case ColumnGenerator.TEXT:
+        row.setValue(i, df.getRandomText(mins[i], maxs[i]));
+        break;
+      case ColumnGenerator.WORD:
+        row.setValue(i, df.getRandomWord(mins[i], maxs[i]));
+        break;
+      case ColumnGenerator.ITEM:
+        String[] items = (String[]) arguments[i];
+        row.setValue(i, items[df.getNumberUpTo(items.length)]);
+        break;
+      case ColumnGenerator.CUSTOM:
+        row.setValue(i, ((Function<DataFactory, ?>) arguments[i]).apply(df));
+        break;
+      case ColumnGenerator.CUSTOM_NUMBER:
+        row.setLong(i, ((ToLongFunction<DataFactory>) arguments[i]).applyAsLong(df));
+        break;
+      default:
+        throw new IllegalStateException("Unknown column operation " + ops[i]);
+      }
+    }
+    rowIndex++;
+    return true;
+  }
+
+  /**
+   * Generates <code>count</code> rows, passing each one to <code>sink</code>. The same {@link Row} instance is passed
+   * each time, so the sink must copy any values it wants to keep.
+   *
+   * @param count number of rows to generate
+   * @param sink consumer of the rows
+   */
+  public void generate(final long count, final Consumer<? super Row> sink) {
+    Row row = newRow();
+    for (long i = 0; i < count; i++) {
+      next(row);
+      sink.accept(row);
+    }
+  }
+
+  /**
+   * Returns a source that reads <code>count</code> rows from this plan.
+   *
+   * @param count number of rows
+   * @return source for a fixed number of rows
+   */
+  public RowSource limit(final long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("Row count must be a non-negative number");
+    }
+    return new RowSource() {
+
+      private long remaining = count;
+
+      public Row newRow() {
+        return RowPlan.this.newRow();
+      }
+
+      public boolean next(final Row row) {
+        if (remaining == 0) {
+          return false;
+        }
+        remaining--;
+        return RowPlan.this.next(row);
+      }
+    };
+  }
+
+}
@@ -0,0 +1,110 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Describes the columns of generated rows, mapping each column name to a {@link ColumnGenerator} with an optional
+ * chance of the column holding a default value instead, in the same way as
+ * {@link DataFactory#getItem(Object[], int, Object)}. The schema is compiled into a {@link RowPlan} which generates
+ * the rows :
+ *
+ * <pre>
+ * RowPlan plan = RowSchema.create()
+ *     .column(&quot;id&quot;, ColumnGenerator.sequence(1))
+ *     .column(&quot;first_name&quot;, ColumnGenerator.firstName())
+ *     .column(&quot;email&quot;, ColumnGenerator.emailAddress(), 80, null)
+ *     .compile(DataFactory.create(5765297));
+ * </pre>
+ */
+public final class RowSchema {
+
+  private final List<String> names = new ArrayList<String>();
+  private final List<ColumnGenerator> generators = new ArrayList<ColumnGenerator>();
+  private final List<Integer> probabilities = new ArrayList<Integer>();
+  private final List<Object> defaults = new ArrayList<Object>();
+
+  private RowSchema() {
+  }
+
+  public static RowSchema create() {
+    return new RowSchema();
+  }
+
+  /**
+   * Adds a column that always has a generated value.
+   *
+   * @param name name of the column
+   * @param generator generator for the column values
+   * @return this schema
+   */
+  public RowSchema column(final String name, final ColumnGenerator generator) {
+    return column(name, generator, 100, null);
+  }
+
+  /**
+   * Adds a column that has a generated value or <code>defaultValue</code> depending on the probability parameter.
+   *
+   * @param name name of the column
+   * @param generator generator for the column values
+   * @param probability chance (in %, 100 being guaranteed) of generating a value
+   * @param defaultValue value to use if the probability test fails, must be a {@link Number} for number columns
+   *          and a {@link Date} for date columns
+   * @return this schema
+   */
+  public RowSchema column(final String name, final ColumnGenerator generator, final int probability,
+      final Object defaultValue) {
+    if (name == null) {
+      throw new IllegalArgumentException("Column name cannot be null");
+    }
+    if (names.contains(name)) {
+      throw new IllegalArgumentException(String.format("Duplicate column name '%s'", name));
+    }
+    if (generator == null) {
+      throw new IllegalArgumentException("Column generator cannot be null");
+    }
+    if (generator.type == ColumnType.NUMBER && defaultValue != null && !(defaultValue instanceof Number)) {
+      throw new IllegalArgumentException(String.format("Default value for number column '%s' must be a number", name));
+    }
+    if (generator.type == ColumnType.DATE && defaultValue != null && !(defaultValue instanceof Date)) {
+      throw new IllegalArgumentException(String.format("Default value for date column '%s' must be a date", name));
+    }
+    names.add(name);
+    generators.add(generator);
+    probabilities.add(probability);
+    defaults.add(defaultValue);
+    return this;
+  }
+
+  /**
+   * @return number of columns in the schema
+   */
+  public int size() {
+    return names.size();
+  }
+
+  /**
+   * Compiles the schema into a plan that generates rows using <code>dataFactory</code>. Later changes to the schema do
+   * not affect the plan.
+   *
+   * @param dataFactory factory to generate the values with
+   * @return plan for generating rows
+   */
+  public RowPlan compile(final DataFactory dataFactory) {
+    if (dataFactory == null) {
+      throw new IllegalArgumentException("Data factory cannot be null");
+    }
+    if (names.isEmpty()) {
+      throw new IllegalArgumentException("Schema has no columns");
+    }
+    int count = names.size();
+    ColumnGenerator[] columns = generators.toArray(new ColumnGenerator[count]);
+    int[] chances = new int[count];
+    for (int i = 0; i < count; i++) {
+      chances[i] = probabilities.get(i);
+    }
+    return new RowPlan(dataFactory, names.toArray(new String[count]), columns, chances, defaults.toArray());
+  }
+
+}
@@ -0,0 +1,22 @@
+package org.fluttercode.datafactory.impl;
+
+/**
+ * Source of generated rows. Rows are written into a {@link Row} obtained from {@link #newRow()} which the caller reuses
+ * for every row, so reading rows from a source doesn't need to allocate anything per row.
+ */
+public interface RowSource {
+
+  /**
+   * @return a new row with the columns of this source, to pass to {@link #next(Row)}
+   */
+  Row newRow();
+
+  /**
+   * Generates the next row into <code>row</code>.
+   *
+   * @param row row to write the values into
+   * @return false if there are no more rows, in which case <code>row</code> is left unchanged
+   */
+  boolean next(Row row);
+
+}
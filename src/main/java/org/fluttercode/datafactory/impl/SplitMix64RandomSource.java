@@ -0,0 +1,45 @@
+package org.fluttercode.datafactory.impl;
+
+/**
+ * SplitMix64 generator. It has a single 64 bit state that is advanced by a constant, so it is very fast and is also
+ * used to expand a single seed into the state of other generators.
+ */
+public class SplitMix64RandomSource extends AbstractRandomSource {
+
+  static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  private long state;
+
+  public SplitMix64RandomSource(final long seed) {
+    this.state = seed;
+  }
+
+  /**
+   * Resets the generator as if it had just been created with <code>seed</code>.
+   *
+   * @param seed new seed
+   */
+  void setSeed(final long seed) {
+    state = seed;
+    clearGaussian();
+  }
+
+  @Override
+  public long nextLong() {
+    state += GOLDEN_GAMMA;
+    return mix(state);
+  }
+
+  /**
+   * The SplitMix64 output function, which scrambles the bits of <code>z</code>.
+   *
+   * @param z value to mix
+   * @return mixed value
+   */
+  static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+}
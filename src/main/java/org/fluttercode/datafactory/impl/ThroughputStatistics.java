@@ -0,0 +1,62 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Number of rows and bytes processed by a bulk operation and how long it took.
+ */
+public final class ThroughputStatistics {
+
+  private final long rows;
+  private final long bytes;
+  private final long elapsedNanos;
+
+  public ThroughputStatistics(final long rows, final long bytes, final long elapsedNanos) {
+    this.rows = rows;
+    this.bytes = bytes;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * @return number of rows processed
+   */
+  public long getRows() {
+    return rows;
+  }
+
+  /**
+   * @return number of bytes written, or 0 if the operation does not count bytes
+   */
+  public long getBytes() {
+    return bytes;
+  }
+
+  /**
+   * @param unit unit of the result
+   * @return time taken in the given unit
+   */
+  public long getElapsed(final TimeUnit unit) {
+    return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * @return number of rows processed per second
+   */
+  public double getRowsPerSecond() {
+    return elapsedNanos == 0 ? 0 : rows * 1e9 / elapsedNanos;
+  }
+
+  /**
+   * @return number of megabytes (2^20 bytes) written per second
+   */
+  public double getMegabytesPerSecond() {
+    return elapsedNanos == 0 ? 0 : bytes * 1e9 / elapsedNanos / (1024 * 1024);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d rows, %d bytes in %d ms (%.0f rows/s, %.1f MB/s)", rows, bytes,
+        getElapsed(TimeUnit.MILLISECONDS), getRowsPerSecond(), getMegabytesPerSecond());
+  }
+
+}
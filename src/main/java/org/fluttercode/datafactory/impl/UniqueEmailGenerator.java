@@ -0,0 +1,104 @@
+package org.fluttercode.datafactory.impl;
+
+import org.fluttercode.datafactory.ContentDataValues;
+import org.fluttercode.datafactory.NameDataValues;
+
+/**
+ * Generates email addresses that are never repeated. The addresses follow the same forms as
+ * {@link DataFactory#getEmailAddress()}, either an initial and last name or two words, with an optional number, at a
+ * host and top level domain. The two words are separated with a dot so that different pairs of words can never join up
+ * to make the same address. Names and words containing
+ * anything other than letters, and hosts containing dots, are not used.
+ */
+public final class UniqueEmailGenerator extends UniqueValueGenerator {
+
+  // letters only, so a trailing number can always be told apart from the name
+  private static final String NAME_PATTERN = "[a-z]+";
+  // hosts cannot contain dots, so the first dot after the @ always ends the host
+  private static final String HOST_PATTERN = "[a-z0-9]+";
+  private static final String TLD_PATTERN = "[a-z0-9]+(\\.[a-z0-9]+)*";
+  // no number, or 0 to 99
+  private static final int NUMBERS = 101;
+
+  private final String[] initials;
+  private final String[] lastNames;
+  private final String[] words;
+  private final String[] hosts;
+  private final String[] tlds;
+  private final long nameLocalParts;
+  private final long localParts;
+
+  private UniqueEmailGenerator(final String[] initials, final String[] lastNames, final String[] words,
+      final String[] hosts, final String[] tlds, final long key) {
+    super(capacity(initials, lastNames, words, hosts, tlds), key);
+    this.initials = initials;
+    this.lastNames = lastNames;
+    this.words = words;
+    this.hosts = hosts;
+    this.tlds = tlds;
+    nameLocalParts = (long) initials.length * lastNames.length;
+    localParts = nameLocalParts + (long) words.length * words.length;
+  }
+
+  private static long capacity(final String[] initials, final String[] lastNames, final String[] words,
+      final String[] hosts, final String[] tlds) {
+    long local = multiply(initials.length, lastNames.length) + multiply(words.length, words.length);
+    long capacity = multiply(local, NUMBERS);
+    capacity = multiply(capacity, hosts.length);
+    return multiply(capacity, tlds.length);
+  }
+
+  /**
+   * @param key key for the order the addresses are returned in
+   * @return generator using the default names and content
+   */
+  public static UniqueEmailGenerator create(final long key) {
+    return create(new DefaultNameDataValues(), new DefaultContentDataValues(), key);
+  }
+
+  /**
+   * @param nameDataValues names to build the addresses from
+   * @param contentDataValues words, hosts and top level domains to build the addresses from
+   * @param key key for the order the addresses are returned in
+   * @return generator using the given values
+   */
+  public static UniqueEmailGenerator create(final NameDataValues nameDataValues,
+      final ContentDataValues contentDataValues, final long key) {
+    if (nameDataValues == null || contentDataValues == null) {
+      throw new IllegalArgumentException("Data values cannot be null");
+    }
+    String[] firstNames = nameDataValues.getFirstNames();
+    String[] initials = new String[firstNames.length];
+    for (int i = 0; i < firstNames.length; i++) {
+      initials[i] = firstNames[i].isEmpty() ? "" : firstNames[i].substring(0, 1);
+    }
+    return new UniqueEmailGenerator(distinct(initials, true, NAME_PATTERN),
+        distinct(nameDataValues.getLastNames(), true, NAME_PATTERN),
+        distinct(contentDataValues.getWords(), true, NAME_PATTERN),
+        distinct(contentDataValues.getEmailHosts(), true, HOST_PATTERN),
+        distinct(contentDataValues.getTlds(), true, TLD_PATTERN), key);
+  }
+
+  @Override
+  protected String decode(long value) {
+    int tld = (int) (value % tlds.length);
+    value /= tlds.length;
+    int host = (int) (value % hosts.length);
+    value /= hosts.length;
+    int number = (int) (value % NUMBERS);
+    long local = value / NUMBERS;
+
+    StringBuilder sb = new StringBuilder(40);
+    if (local < nameLocalParts) {
+      sb.append(initials[(int) (local / lastNames.length)]).append(lastNames[(int) (local % lastNames.length)]);
+    } else {
+      local -= nameLocalParts;
+      sb.append(words[(int) (local / words.length)]).append('.').append(words[(int) (local % words.length)]);
+    }
+    if (number != NUMBERS - 1) {
+      sb.append(number);
+    }
+    return sb.append('@').append(hosts[host]).append('.').append(tlds[tld]).toString();
+  }
+
+}
@@ -0,0 +1,83 @@
+package org.fluttercode.datafactory.impl;
+
+import org.fluttercode.datafactory.NameDataValues;
+
+/**
+ * Generates names that are never repeated, made up of a first name, an optional middle initial, a last name and an
+ * optional suffix, i.e. <code>Andy Gibson</code> or <code>Karen M Mayer Jr</code>. Names containing spaces are left
+ * out of the dictionaries so that every combination gives a different string.
+ *
+ * <pre>
+ * UniqueNameGenerator names = UniqueNameGenerator.create(5765297);
+ * System.out.println(names.getCapacity() + " unique names available");
+ * String name = names.next();
+ * </pre>
+ */
+public final class UniqueNameGenerator extends UniqueValueGenerator {
+
+  // no spaces, and longer than an initial, so every name splits back into its parts one way
+  private static final String NAME_PATTERN = "[^\\s]{2,}";
+  private static final int INITIALS = 26;
+
+  private final String[] firstNames;
+  private final String[] lastNames;
+  private final String[] suffixes;
+
+  private UniqueNameGenerator(final String[] firstNames, final String[] lastNames, final String[] suffixes,
+      final long key) {
+    super(capacity(firstNames, lastNames, suffixes), key);
+    this.firstNames = firstNames;
+    this.lastNames = lastNames;
+    this.suffixes = suffixes;
+  }
+
+  private static long capacity(final String[] firstNames, final String[] lastNames, final String[] suffixes) {
+    long capacity = multiply(firstNames.length, INITIALS + 1);
+    capacity = multiply(capacity, lastNames.length);
+    return multiply(capacity, suffixes.length + 1);
+  }
+
+  /**
+   * @param key key for the order the names are returned in
+   * @return generator using the default names
+   */
+  public static UniqueNameGenerator create(final long key) {
+    return create(new DefaultNameDataValues(), key);
+  }
+
+  /**
+   * @param nameDataValues names to build the unique names from
+   * @param key key for the order the names are returned in
+   * @return generator using the given names
+   */
+  public static UniqueNameGenerator create(final NameDataValues nameDataValues, final long key) {
+    if (nameDataValues == null) {
+      throw new IllegalArgumentException("Name data values cannot be null");
+    }
+    return new UniqueNameGenerator(distinct(nameDataValues.getFirstNames(), false, NAME_PATTERN),
+        distinct(nameDataValues.getLastNames(), false, NAME_PATTERN),
+        distinct(nameDataValues.getSuffixes(), false, NAME_PATTERN), key);
+  }
+
+  @Override
+  protected String decode(long value) {
+    int suffix = (int) (value % (suffixes.length + 1));
+    value /= suffixes.length + 1;
+    int last = (int) (value % lastNames.length);
+    value /= lastNames.length;
+    int initial = (int) (value % (INITIALS + 1));
+    value /= INITIALS + 1;
+    int first = (int) value;
+
+    StringBuilder sb = new StringBuilder(32).append(firstNames[first]).append(' ');
+    if (initial != INITIALS) {
+      sb.append((char) ('A' + initial)).append(' ');
+    }
+    sb.append(lastNames[last]);
+    if (suffix != suffixes.length) {
+      sb.append(' ').append(suffixes[suffix]);
+    }
+    return sb.toString();
+  }
+
+}
@@ -0,0 +1,103 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Base class for generators that never repeat a value. Every possible value is numbered by treating the choices that
+ * make it up as the digits of a mixed radix number, so the number of possible values, the capacity, is known up front.
+ * Positions are put through a keyed permutation before being turned into values so the values come out in a random
+ * looking order, and no record of the values already handed out needs to be kept.
+ */
+public abstract class UniqueValueGenerator {
+
+  private final KeyedPermutation permutation;
+  private final long capacity;
+  private long next;
+
+  protected UniqueValueGenerator(final long capacity, final long key) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("There are no values to generate");
+    }
+    this.capacity = capacity;
+    this.permutation = new KeyedPermutation(capacity, key);
+  }
+
+  /**
+   * @return the number of distinct values this generator can produce
+   */
+  public long getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * @return the number of values left before the generator is exhausted
+   */
+  public long getRemaining() {
+    return capacity - next;
+  }
+
+  /**
+   * Returns the next value, which is different to all the values returned before it.
+   *
+   * @return the next unique value
+   * @throws IllegalStateException if all the values have been used
+   */
+  public String next() {
+    if (next == capacity) {
+      throw new IllegalStateException(String.format("All %d unique values have been used", capacity));
+    }
+    return get(next++);
+  }
+
+  /**
+   * Returns the value at a position in the sequence. Different positions always give different values.
+   *
+   * @param index position in the sequence, from 0 to capacity - 1
+   * @return the value at the position
+   */
+  public String get(final long index) {
+    return decode(permutation.apply(index));
+  }
+
+  /**
+   * Builds the value numbered <code>value</code> in the mixed radix space of the generator.
+   *
+   * @param value number of the value, from 0 to capacity - 1
+   * @return the value
+   */
+  protected abstract String decode(long value);
+
+  /**
+   * Removes duplicates and values that would make the combined values ambiguous.
+   *
+   * @param values dictionary values
+   * @param lowerCase true to lower case the values before removing duplicates
+   * @param pattern regular expression the values must match to be used
+   * @return the distinct values that can be used
+   */
+  static String[] distinct(final String[] values, final boolean lowerCase, final String pattern) {
+    Set<String> distinct = new LinkedHashSet<String>();
+    for (String value : values) {
+      String test = lowerCase ? value.toLowerCase() : value;
+      if (test.matches(pattern)) {
+        distinct.add(test);
+      }
+    }
+    List<String> result = new ArrayList<String>(distinct);
+    return result.toArray(new String[result.size()]);
+  }
+
+  /**
+   * Multiplies two capacities, checking for overflow.
+   */
+  static long multiply(final long a, final long b) {
+    if (a != 0 && b > Long.MAX_VALUE / a) {
+      throw new IllegalArgumentException("Too many combinations for a unique value generator");
+    }
+    return a * b;
+  }
+
+}
@@ -0,0 +1,90 @@
+package org.fluttercode.datafactory.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Copy of a dictionary with each value encoded as UTF-8 once, so the values can be written out as bytes without
+ * encoding them each time. The values can also be lower cased before encoding, or reduced to just their initial
+ * letter in lower case, which is what email addresses are built from.
+ */
+final class Utf8Dictionary {
+
+  static final int PLAIN = 0;
+  static final int LOWER_CASE = 1;
+  static final int LOWER_CASE_INITIAL = 2;
+
+  private final Object owner;
+  private final int dictionary;
+  private final int mode;
+  private final byte[][] values;
+
+  /**
+   * @param owner data values the dictionary came from
+   * @param dictionary which of the data values dictionaries it is
+   * @param source values of the dictionary
+   * @param mode encoding mode
+   */
+  Utf8Dictionary(final Object owner, final int dictionary, final String[] source, final int mode) {
+    this.owner = owner;
+    this.dictionary = dictionary;
+    this.mode = mode;
+    values = new byte[source.length][];
+    for (int i = 0; i < source.length; i++) {
+      values[i] = encode(source[i], mode);
+    }
+  }
+
+  /**
+   * @param value value to encode
+   * @param mode encoding mode
+   * @return the UTF-8 bytes of the value in the given mode
+   */
+  static byte[] encode(final String value, final int mode) {
+    return apply(value, mode).getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Lower cases with the root locale, the same rule {@link MappedDictionary} uses for the ASCII values it lower cases
+   * while copying, so a dictionary gives the same values however it is loaded.
+   *
+   * @param value value to change
+   * @param mode encoding mode
+   * @return the value lower cased or reduced to its initial as the mode requires
+   */
+  static String apply(String value, final int mode) {
+    if (mode == LOWER_CASE_INITIAL) {
+      value = value.isEmpty() ? value : value.substring(0, 1);
+    }
+    if (mode != PLAIN) {
+      value = value.toLowerCase(Locale.ROOT);
+    }
+    return value;
+  }
+
+  /**
+   * @param owner data values to check
+   * @param dictionary dictionary of the data values to check
+   * @param mode encoding mode to check
+   * @return true if this is an encoding of the dictionary in the given mode
+   */
+  boolean isEncodingOf(final Object owner, final int dictionary, final int mode) {
+    return this.owner == owner && this.dictionary == dictionary && this.mode == mode;
+  }
+
+  /**
+   * @return number of values in the dictionary
+   */
+  int size() {
+    return values.length;
+  }
+
+  /**
+   * @param index index of the value
+   * @return encoded bytes of the value, which must not be modified
+   */
+  byte[] get(final int index) {
+    return values[index];
+  }
+
+}
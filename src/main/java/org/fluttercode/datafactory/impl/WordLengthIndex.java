@@ -0,0 +1,187 @@
+package org.fluttercode.datafactory.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+import org.fluttercode.datafactory.ContentDataValues;
+import org.fluttercode.datafactory.RandomSource;
+
+/**
+ * Index over a word dictionary that groups the words by length so that a word within a length range can be picked in
+ * constant time. The positions of the words are held in a single buffer ordered by length (keeping the dictionary order
+ * within each length) so all the words within a length range sit next to each other and each one is equally likely to
+ * be picked. The UTF-8 bytes of the words are grouped the same way by their encoded length the first time they are
+ * asked for. Memory mapped dictionaries are indexed from the lengths in the file, with the positions held outside the
+ * heap, and only the words picked are decoded.
+ */
+final class WordLengthIndex {
+
+  private final ContentDataValues owner;
+  private final String[] source;
+  private final MappedDictionary mapped;
+  private final Lengths lengths;
+  private volatile Encoded encoded;
+
+  WordLengthIndex(final ContentDataValues owner) {
+    this.owner = owner;
+    this.mapped = owner instanceof MappedDataValues ? ((MappedDataValues) owner)
+        .getMappedDictionary(MappedDataValues.WORDS) : null;
+    this.source = mapped == null ? owner.getWords() : null;
+    if (mapped == null) {
+      lengths = new Lengths(source.length, false, word -> source[word].length());
+    } else {
+      lengths = new Lengths(mapped.size(), true, mapped::charLength);
+    }
+  }
+
+  /**
+   * The index is kept for as long as the content data values are in use, so implementations that return a new array
+   * from each call to {@link ContentDataValues#getWords()} are only asked for their words once.
+   *
+   * @param values content data values to check
+   * @return true if this index was built from the words of <code>values</code>
+   */
+  boolean isIndexOf(final ContentDataValues values) {
+    return owner == values;
+  }
+
+  /**
+   * Returns the number of words that have a length between <code>minLength</code> and <code>maxLength</code>
+   * inclusive.
+   *
+   * @param minLength minimum length of the word
+   * @param maxLength maximum length of the word
+   * @return number of words in the range
+   */
+  int count(final int minLength, final int maxLength) {
+    return lengths.count(minLength, maxLength);
+  }
+
+  /**
+   * Returns a word with a length between <code>minLength</code> and <code>maxLength</code> inclusive, or null if there
+   * are no words in the dictionary in that range.
+   *
+   * @param random random number generator used to pick the word
+   * @param minLength minimum length of the word
+   * @param maxLength maximum length of the word
+   * @return a word of a length between min and max length or null
+   */
+  String getWord(final RandomSource random, final int minLength, final int maxLength) {
+    int word = lengths.pick(random, minLength, maxLength);
+    if (word < 0) {
+      return null;
+    }
+    return mapped == null ? source[word] : mapped.get(word);
+  }
+
+  /**
+   * Returns the UTF-8 bytes of a word that is exactly <code>length</code> bytes long when encoded, or null if there
+   * are no words of that length. When the words are all ASCII this picks the same word as
+   * {@link #getWord(RandomSource, int, int)} for the same random numbers.
+   *
+   * @param random random number generator used to pick the word
+   * @param length length of the encoded word
+   * @return the encoded word, which must not be modified, or null
+   */
+  byte[] getEncodedWord(final RandomSource random, final int length) {
+    Encoded index = encoded;
+    if (index == null) {
+      index = mapped == null ? new Encoded(source) : new Encoded(mapped);
+      encoded = index;
+    }
+    int word = index.lengths.pick(random, length, length);
+    if (word < 0) {
+      return null;
+    }
+    return index.values == null ? mapped.getBytes(word) : index.values[word];
+  }
+
+  /**
+   * Positions of the words ordered by their length, using a counting sort so words of the same length keep their
+   * dictionary order. The lengths are read twice, once to count the words of each length and once to place them, so
+   * only the positions are held.
+   */
+  private static final class Lengths {
+
+    final IntBuffer words;
+    // offsets[len] is the position of the first word of length len, offsets[maxLength + 1] is the end of the buffer
+    final int[] offsets;
+    final int maxLength;
+
+    /**
+     * @param size number of words
+     * @param direct whether to hold the positions outside the heap
+     * @param lengths length of each word, which must give the same length both times it is asked
+     */
+    Lengths(final int size, final boolean direct, final IntUnaryOperator lengths) {
+      int[] counts = new int[16];
+      int max = 0;
+      for (int i = 0; i < size; i++) {
+        int length = lengths.applyAsInt(i);
+        if (length + 1 >= counts.length) {
+          counts = Arrays.copyOf(counts, Math.max(length + 2, counts.length * 2));
+        }
+        counts[length + 1]++;
+        max = Math.max(max, length);
+      }
+      maxLength = max;
+      offsets = Arrays.copyOf(counts, maxLength + 2);
+      for (int i = 1; i < offsets.length; i++) {
+        offsets[i] += offsets[i - 1];
+      }
+      int[] next = offsets.clone();
+      words = direct ? ByteBuffer.allocateDirect(4 * size).order(ByteOrder.nativeOrder()).asIntBuffer()
+          : IntBuffer.allocate(size);
+      for (int i = 0; i < size; i++) {
+        words.put(next[lengths.applyAsInt(i)]++, i);
+      }
+    }
+
+    int count(final int minLength, final int maxLength) {
+      if (minLength > this.maxLength) {
+        return 0;
+      }
+      return offsets[Math.min(maxLength, this.maxLength) + 1] - offsets[minLength];
+    }
+
+    /**
+     * @return position in the dictionary of a word in the length range, or -1 if there are none
+     */
+    int pick(final RandomSource random, final int minLength, final int maxLength) {
+      int count = count(minLength, maxLength);
+      if (count == 0) {
+        return -1;
+      }
+      return words.get(offsets[minLength] + random.nextInt(count));
+    }
+  }
+
+  /**
+   * Words grouped by their encoded length. The encoded words are kept for dictionaries held as a
+   * <code>String[]</code>, while mapped dictionaries copy the bytes of a word out of the file when it is picked.
+   */
+  private static final class Encoded {
+
+    final byte[][] values;
+    final Lengths lengths;
+
+    Encoded(final String[] source) {
+      final byte[][] encoded = new byte[source.length][];
+      for (int i = 0; i < source.length; i++) {
+        encoded[i] = source[i].getBytes(StandardCharsets.UTF_8);
+      }
+      values = encoded;
+      lengths = new Lengths(source.length, false, word -> encoded[word].length);
+    }
+
+    Encoded(final MappedDictionary mapped) {
+      values = null;
+      lengths = new Lengths(mapped.size(), true, mapped::byteLength);
+    }
+  }
+
+}
@@ -0,0 +1,29 @@
+package org.fluttercode.datafactory.impl;
+
+/**
+ * xoroshiro128++ generator by Blackman and Vigna. It has 128 bits of state and passes the standard statistical test
+ * suites. The state is expanded from the seed with SplitMix64.
+ */
+public class Xoroshiro128PlusPlusRandomSource extends AbstractRandomSource {
+
+  private long s0;
+  private long s1;
+
+  public Xoroshiro128PlusPlusRandomSource(final long seed) {
+    SplitMix64RandomSource seeder = new SplitMix64RandomSource(seed);
+    s0 = seeder.nextLong();
+    s1 = seeder.nextLong();
+  }
+
+  @Override
+  public long nextLong() {
+    final long s0 = this.s0;
+    long s1 = this.s1;
+    final long result = Long.rotateLeft(s0 + s1, 17) + s0;
+    s1 ^= s0;
+    this.s0 = Long.rotateLeft(s0, 49) ^ s1 ^ (s1 << 21);
+    this.s1 = Long.rotateLeft(s1, 28);
+    return result;
+  }
+
+}
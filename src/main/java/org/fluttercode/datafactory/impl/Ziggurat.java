@@ -0,0 +1,124 @@
+package org.fluttercode.datafactory.impl;
+
+import org.fluttercode.datafactory.RandomSource;
+
+/**
+ * Ziggurat samplers for the standard normal and exponential distributions, after Marsaglia and Tsang (2000). The area
+ * under the density is covered by layers of equal area so most samples take one random draw, one table lookup and one
+ * multiply, with the slower exact test only needed at the edges of the layers and in the tail. Each draw takes the
+ * layer from the low bits and the value from the high 32 bits of one long so the two are independent.
+ */
+final class Ziggurat {
+
+  private static final double NORMAL_R = 3.442619855899;
+  private static final double NORMAL_AREA = 9.91256303526217e-3;
+  private static final double EXPONENTIAL_R = 7.697117470131487;
+  private static final double EXPONENTIAL_AREA = 3.949659822581572e-3;
+
+  private static final long[] KN = new long[128];
+  private static final double[] WN = new double[128];
+  private static final double[] FN = new double[128];
+  private static final long[] KE = new long[256];
+  private static final double[] WE = new double[256];
+  private static final double[] FE = new double[256];
+
+  static {
+    final double m1 = 2147483648.0;
+    double dn = NORMAL_R;
+    double tn = dn;
+    double q = NORMAL_AREA / Math.exp(-.5 * dn * dn);
+    KN[0] = (long) ((dn / q) * m1);
+    KN[1] = 0;
+    WN[0] = q / m1;
+    WN[127] = dn / m1;
+    FN[0] = 1;
+    FN[127] = Math.exp(-.5 * dn * dn);
+    for (int i = 126; i >= 1; i--) {
+      dn = Math.sqrt(-2 * Math.log(NORMAL_AREA / dn + Math.exp(-.5 * dn * dn)));
+      KN[i + 1] = (long) ((dn / tn) * m1);
+      tn = dn;
+      FN[i] = Math.exp(-.5 * dn * dn);
+      WN[i] = dn / m1;
+    }
+
+    final double m2 = 4294967296.0;
+    double de = EXPONENTIAL_R;
+    double te = de;
+    q = EXPONENTIAL_AREA / Math.exp(-de);
+    KE[0] = (long) ((de / q) * m2);
+    KE[1] = 0;
+    WE[0] = q / m2;
+    WE[255] = de / m2;
+    FE[0] = 1;
+    FE[255] = Math.exp(-de);
+    for (int i = 254; i >= 1; i--) {
+      de = -Math.log(EXPONENTIAL_AREA / de + Math.exp(-de));
+      KE[i + 1] = (long) ((de / te) * m2);
+      te = de;
+      FE[i] = Math.exp(-de);
+      WE[i] = de / m2;
+    }
+  }
+
+  private Ziggurat() {
+  }
+
+  /**
+   * @param random random source to draw from
+   * @return a sample from the standard normal distribution
+   */
+  static double normal(final RandomSource random) {
+    while (true) {
+      long bits = random.nextLong();
+      int layer = (int) bits & 127;
+      int hz = (int) (bits >>> 32);
+      double x = hz * WN[layer];
+      if (Math.abs((long) hz) < KN[layer]) {
+        return x;
+      }
+      if (layer == 0) {
+        // the tail beyond r
+        double tail;
+        double y;
+        do {
+          tail = -Math.log(uniform(random)) / NORMAL_R;
+          y = -Math.log(uniform(random));
+        } while (y + y < tail * tail);
+        return hz > 0 ? NORMAL_R + tail : -NORMAL_R - tail;
+      }
+      if (FN[layer] + random.nextDouble() * (FN[layer - 1] - FN[layer]) < Math.exp(-.5 * x * x)) {
+        return x;
+      }
+    }
+  }
+
+  /**
+   * @param random random source to draw from
+   * @return a sample from the exponential distribution with a mean of 1
+   */
+  static double exponential(final RandomSource random) {
+    while (true) {
+      long bits = random.nextLong();
+      int layer = (int) bits & 255;
+      long jz = bits >>> 32;
+      double x = jz * WE[layer];
+      if (jz < KE[layer]) {
+        return x;
+      }
+      if (layer == 0) {
+        return EXPONENTIAL_R - Math.log(uniform(random));
+      }
+      if (FE[layer] + random.nextDouble() * (FE[layer - 1] - FE[layer]) < Math.exp(-x)) {
+        return x;
+      }
+    }
+  }
+
+  /**
+   * @return a uniform value in (0, 1] so it is safe to take the log of
+   */
+  private static double uniform(final RandomSource random) {
+    return 1.0 - random.nextDouble();
+  }
+
+}
@@ -0,0 +1,241 @@
+package org.fluttercode.datafactory.impl;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BeanPopulatorTest {
+
+	public enum Status {
+		ACTIVE, SUSPENDED, CLOSED
+	}
+
+	public static class Person {
+
+		private Long id;
+		private String firstName;
+		private String last_name;
+		private String email;
+		private String phoneNumber;
+		private String city;
+		private String description;
+		private String nickname;
+		private Date birthDate;
+		private LocalDate joined;
+		private Date lastLogin;
+		private int age;
+		private Integer visits;
+		private double balance;
+		private boolean active;
+		private Status status;
+		private Object other;
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public void setFirstName(String firstName) {
+			this.firstName = firstName;
+		}
+
+		public void setLast_name(String lastName) {
+			this.last_name = lastName;
+		}
+
+		public void setEmail(String email) {
+			this.email = email;
+		}
+
+		public void setPhoneNumber(String phoneNumber) {
+			this.phoneNumber = phoneNumber;
+		}
+
+		public void setCity(String city) {
+			this.city = city;
+		}
+
+		public void setDescription(String description) {
+			this.description = description;
+		}
+
+		public void setNickname(String nickname) {
+			this.nickname = nickname;
+		}
+
+		public void setBirthDate(Date birthDate) {
+			this.birthDate = birthDate;
+		}
+
+		public void setJoined(LocalDate joined) {
+			this.joined = joined;
+		}
+
+		public void setLastLogin(Date lastLogin) {
+			this.lastLogin = lastLogin;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public void setVisits(Integer visits) {
+			this.visits = visits;
+		}
+
+		public void setBalance(double balance) {
+			this.balance = balance;
+		}
+
+		public void setActive(boolean active) {
+			this.active = active;
+		}
+
+		public void setStatus(Status status) {
+			this.status = status;
+		}
+
+		public void setOther(Object other) {
+			this.other = other;
+		}
+	}
+
+	public static class Holder<V> {
+
+		V value;
+
+		public void setValue(V value) {
+			this.value = value;
+		}
+	}
+
+	public static class Account extends Holder<String> {
+
+		private double amount;
+		private Object amountObject;
+
+		@Override
+		public void setValue(String value) {
+			this.value = value;
+		}
+
+		public void setAmount(Object amount) {
+			this.amountObject = amount;
+		}
+
+		public void setAmount(double amount) {
+			this.amount = amount;
+		}
+	}
+
+	public static class Employee extends Person {
+
+		private String company;
+
+		public void setCompany(String company) {
+			this.company = company;
+		}
+	}
+
+	public static class NoDefaultConstructor {
+
+		public NoDefaultConstructor(String name) {
+		}
+	}
+
+	@Test
+	public void shouldMapPropertiesByNameAndType() {
+		DataFactory df = DataFactory.create(8114);
+		for (int i = 0; i < 1000; i++) {
+			Person person = df.getBean(Person.class);
+			Assert.assertNull(person.id);
+			Assert.assertNull(person.other);
+			Assert.assertTrue(contains(df.getNameDataValues().getFirstNames(), person.firstName));
+			Assert.assertTrue(contains(df.getNameDataValues().getLastNames(), person.last_name));
+			Assert.assertTrue(person.email, person.email.indexOf('@') > 0);
+			Assert.assertEquals(IdentifierFormat.PHONE_NUMBER.length(), person.phoneNumber.length());
+			Assert.assertTrue(contains(new DefaultAddressDataValues().getCities(), person.city));
+			Assert.assertTrue(person.description.length() >= 20 && person.description.length() <= 200);
+			Assert.assertNotNull(person.nickname);
+			Assert.assertTrue(person.birthDate.before(new Date()));
+			Assert.assertEquals(2019, person.joined.getYear());
+			Assert.assertFalse(person.lastLogin.before(utc(2019)));
+			Assert.assertTrue(person.lastLogin.before(utc(2020)));
+			Assert.assertEquals(0, person.lastLogin.getTime() % (24 * 60 * 60 * 1000L));
+			Assert.assertTrue(person.age >= 18 && person.age <= 90);
+			Assert.assertTrue(person.visits >= 0 && person.visits <= 1000);
+			Assert.assertTrue(person.balance >= 0 && person.balance < 1000);
+			Assert.assertNotNull(person.status);
+		}
+	}
+
+	@Test
+	public void shouldPopulateInTheSameOrderForTheSameSeed() {
+		Person first = DataFactory.create(8114).populate(new Person());
+		Person second = DataFactory.create(8114).populate(new Person());
+		Assert.assertEquals(first.firstName, second.firstName);
+		Assert.assertEquals(first.email, second.email);
+		Assert.assertEquals(first.description, second.description);
+		Assert.assertEquals(first.balance, second.balance, 0);
+		Assert.assertEquals(first.active, second.active);
+		Assert.assertEquals(first.status, second.status);
+		Assert.assertEquals(first.birthDate, second.birthDate);
+		Assert.assertEquals(first.joined, second.joined);
+		Assert.assertEquals(first.lastLogin, second.lastLogin);
+	}
+
+	@Test
+	public void shouldCachePlanPerClass() {
+		BeanPopulator<Person> populator = BeanPopulator.of(Person.class);
+		Assert.assertSame(populator, BeanPopulator.of(Person.class));
+		Assert.assertEquals(Person.class, populator.getType());
+		Assert.assertEquals(15, populator.getPropertyCount());
+		Assert.assertEquals("active", populator.getPropertyName(0));
+		Assert.assertEquals("visits", populator.getPropertyName(14));
+	}
+
+	@Test
+	public void shouldSkipBridgeSettersAndPickOverloadsByType() {
+		BeanPopulator<Account> populator = BeanPopulator.of(Account.class);
+		Assert.assertEquals(2, populator.getPropertyCount());
+		Account account = DataFactory.create(8114).getBean(Account.class);
+		Assert.assertTrue(account.amount > 0);
+		Assert.assertNull(account.amountObject);
+		Assert.assertTrue(account.value instanceof String);
+	}
+
+	@Test
+	public void shouldOnlyPopulateOwnPropertiesOfSubclass() {
+		Employee employee = new Employee();
+		BeanPopulator.of(Person.class).populate(employee, DataFactory.create(8114));
+		Assert.assertNotNull(((Person) employee).email);
+		Assert.assertNull(employee.company);
+		DataFactory.create(8114).populate(employee);
+		Assert.assertNotNull(employee.company);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void shouldRequireConstructorToCreate() {
+		DataFactory.create(8114).getBean(NoDefaultConstructor.class);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectNullBean() {
+		DataFactory.create(8114).populate(null);
+	}
+
+	private static Date utc(int year) {
+		return Date.from(LocalDate.of(year, 1, 1).atStartOfDay(ZoneOffset.UTC).toInstant());
+	}
+
+	private static boolean contains(String[] values, String value) {
+		for (String candidate : values) {
+			if (candidate.equals(value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
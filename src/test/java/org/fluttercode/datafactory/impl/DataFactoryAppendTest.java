@@ -0,0 +1,78 @@
+package org.fluttercode.datafactory.impl;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DataFactoryAppendTest {
+
+	@Test
+	public void shouldAppendSameValuesAsStringMethods() {
+		DataFactory strings = DataFactory.create(6613);
+		DataFactory appends = DataFactory.create(6613);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 500; i++) {
+			sb.setLength(0);
+			Assert.assertEquals(strings.getName(), appends.appendName(sb).toString());
+			sb.setLength(0);
+			Assert.assertEquals(strings.getAddress(), appends.appendAddress(sb).toString());
+			sb.setLength(0);
+			Assert.assertEquals(strings.getAddressLine2(), appends.appendAddressLine2(sb).toString());
+			sb.setLength(0);
+			Assert.assertEquals(strings.getBusinessName(), appends.appendBusinessName(sb).toString());
+			sb.setLength(0);
+			Assert.assertEquals(strings.getEmailAddress(), appends.appendEmailAddress(sb).toString());
+		}
+	}
+
+	@Test
+	public void shouldKeepEmailAddressesAsBefore() {
+		DataFactory df = DataFactory.create(6613);
+		DataFactory legacy = DataFactory.create(6613);
+		String[] hosts = new DefaultContentDataValues().getEmailHosts();
+		String[] tlds = new DefaultContentDataValues().getTlds();
+		for (int i = 0; i < 500; i++) {
+			String email;
+			if (legacy.getNumberUpTo(100) < 50) {
+				email = legacy.getFirstName().charAt(0) + legacy.getLastName();
+			} else {
+				email = legacy.getRandomWord() + legacy.getRandomWord();
+			}
+			if (legacy.getNumberUpTo(100) > 80) {
+				email = email + legacy.getNumberUpTo(100);
+			}
+			email = email + "@" + legacy.getItem(hosts) + "." + legacy.getItem(tlds);
+			Assert.assertEquals(email.toLowerCase(Locale.ROOT), df.getEmailAddress());
+		}
+	}
+
+	@Test
+	public void shouldAppendAfterExistingText() {
+		StringBuilder sb = new StringBuilder("Contact: ");
+		DataFactory.create(6613).appendEmailAddress(sb);
+		Assert.assertTrue(sb.toString(), sb.toString().matches("Contact: [a-z0-9]+@[a-z0-9.]+"));
+	}
+
+	@Test
+	public void shouldLowerCaseDefensiveCopiesOnce() {
+		final int[] calls = new int[1];
+		DataFactory df = DataFactory.create(6613);
+		df.setNameDataValues(new DefaultNameDataValues() {
+			@Override
+			public String[] getFirstNames() {
+				calls[0]++;
+				return super.getFirstNames().clone();
+			}
+		});
+		ByteBuffer buffer = ByteBuffer.allocate(256);
+		for (int i = 0; i < 1000; i++) {
+			df.getEmailAddress();
+			buffer.clear();
+			df.writeEmailAddress(buffer);
+		}
+		// once for the lower cased copy and once for the encoded one
+		Assert.assertEquals(2, calls[0]);
+	}
+}
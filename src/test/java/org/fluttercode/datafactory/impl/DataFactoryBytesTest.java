@@ -0,0 +1,65 @@
+package org.fluttercode.datafactory.impl;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DataFactoryBytesTest {
+
+	private final int ITERATION_COUNT = 10000;
+
+	private DataFactory strings;
+	private DataFactory bytes;
+	private ByteBuffer buffer;
+
+	@Before
+	public void initTest() {
+		strings = DataFactory.create(73438);
+		bytes = DataFactory.create(73438);
+		buffer = ByteBuffer.allocate(256);
+	}
+
+	private String read(int written) {
+		Assert.assertEquals(written, buffer.position());
+		String value = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+		buffer.clear();
+		return value;
+	}
+
+	@Test
+	public void shouldWriteSameValuesAsStrings() {
+		for (int i = 0; i < ITERATION_COUNT; i++) {
+			Assert.assertEquals(strings.getFirstName(), read(bytes.writeFirstName(buffer)));
+			Assert.assertEquals(strings.getName(), read(bytes.writeName(buffer)));
+			Assert.assertEquals(strings.getAddress(), read(bytes.writeAddress(buffer)));
+			Assert.assertEquals(strings.getBusinessName(), read(bytes.writeBusinessName(buffer)));
+			Assert.assertEquals(strings.getEmailAddress(), read(bytes.writeEmailAddress(buffer)));
+			Assert.assertEquals(strings.getNumberText(5), read(bytes.writeNumberText(buffer, 5)));
+		}
+	}
+
+	@Test
+	public void shouldNotWritePartialValueWhenBufferIsFull() {
+		buffer.position(buffer.limit() - 3);
+		try {
+			bytes.writeEmailAddress(buffer);
+			Assert.fail("Expected buffer overflow");
+		} catch (BufferOverflowException e) {
+			Assert.assertEquals(buffer.limit() - 3, buffer.position());
+		}
+	}
+
+	@Test
+	public void shouldWriteAddressIntoBufferOfExactSize() {
+		for (int i = 0; i < 1000; i++) {
+			byte[] expected = strings.getAddress().getBytes(StandardCharsets.UTF_8);
+			ByteBuffer exact = ByteBuffer.allocate(expected.length);
+			bytes.writeAddress(exact);
+			Assert.assertArrayEquals(expected, exact.array());
+		}
+	}
+}
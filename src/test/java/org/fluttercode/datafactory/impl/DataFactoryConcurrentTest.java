@@ -0,0 +1,95 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DataFactoryConcurrentTest {
+
+	private final int ITERATION_COUNT = 10000;
+
+	@Test
+	public void shouldRepeatValuesForSameSeed() {
+		DataFactory first = DataFactory.createConcurrent(73438);
+		DataFactory second = DataFactory.createConcurrent(73438);
+		for (int i = 0; i < ITERATION_COUNT; i++) {
+			Assert.assertEquals(first.getEmailAddress(), second.getEmailAddress());
+			Assert.assertEquals(first.getRandomText(10, 40), second.getRandomText(10, 40));
+		}
+	}
+
+	@Test
+	public void shouldGiveEachThreadItsOwnStream() throws Exception {
+		final DataFactory dataFactory = DataFactory.createConcurrent(73438);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			List<Future<List<String>>> results = new ArrayList<Future<List<String>>>();
+			for (int t = 0; t < 2; t++) {
+				results.add(executor.submit(new Callable<List<String>>() {
+					public List<String> call() {
+						List<String> names = new ArrayList<String>();
+						for (int i = 0; i < ITERATION_COUNT; i++) {
+							names.add(dataFactory.getName());
+						}
+						return names;
+					}
+				}));
+			}
+			Assert.assertFalse("Threads should not share a stream",
+					results.get(0).get().equals(results.get(1).get()));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void shouldRepeatNumberedStreamsWhateverTheThreadOrder() throws Exception {
+		Assert.assertEquals(generateOnPool(73438), generateOnPool(73438));
+	}
+
+	@Test
+	public void shouldGiveNumberedStreamsDifferentValues() {
+		DataFactory dataFactory = DataFactory.createConcurrent(73438);
+		Assert.assertFalse(dataFactory.forStream(0).getName().equals(dataFactory.forStream(1).getName())
+				&& dataFactory.forStream(0).getEmailAddress().equals(dataFactory.forStream(1).getEmailAddress()));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void shouldOnlyNumberStreamsOfConcurrentFactories() {
+		DataFactory.create().forStream(0);
+	}
+
+	private List<String> generateOnPool(final long seed) throws Exception {
+		final DataFactory dataFactory = DataFactory.createConcurrent(seed);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<List<String>>> results = new ArrayList<Future<List<String>>>();
+			for (int t = 0; t < 16; t++) {
+				final int stream = t;
+				results.add(executor.submit(new Callable<List<String>>() {
+					public List<String> call() {
+						DataFactory df = dataFactory.forStream(stream);
+						List<String> values = new ArrayList<String>();
+						for (int i = 0; i < 1000; i++) {
+							values.add(df.getName() + " " + df.getEmailAddress());
+						}
+						return values;
+					}
+				}));
+			}
+			List<String> combined = new ArrayList<String>();
+			for (Future<List<String>> result : results) {
+				combined.addAll(result.get());
+			}
+			return combined;
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package org.fluttercode.datafactory.impl;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DataFactoryDateTest {
+
+	@Test
+	public void shouldMatchCalendarArithmeticInEveryZone() {
+		TimeZone original = TimeZone.getDefault();
+		try {
+			for (String zone : new String[] { "UTC", "America/New_York", "Europe/London", "Australia/Sydney" }) {
+				TimeZone.setDefault(TimeZone.getTimeZone(zone));
+				DataFactory df = DataFactory.create(39021);
+				DataFactory legacy = DataFactory.create(39021);
+				Date base = new Date(1300000000000L);
+				for (int i = 0; i < 500; i++) {
+					Date date = df.getDate(base, -400, 400);
+					Calendar cal = Calendar.getInstance();
+					cal.setTime(base);
+					cal.add(Calendar.DATE, -400 + legacy.getNumberUpTo(800));
+					Assert.assertEquals(zone, cal.getTime(), date);
+
+					Date birthDate = df.getBirthDate();
+					cal.setTime(new Date(0));
+					cal.add(Calendar.DATE, -365 * 15 + legacy.getNumberUpTo(365 * 30));
+					Assert.assertEquals(zone, cal.getTime(), birthDate);
+				}
+				Calendar cal = Calendar.getInstance();
+				cal.clear();
+				cal.set(2011, 13, 31, 0, 0, 0);
+				Assert.assertEquals(zone, cal.getTime(), df.getDate(2011, 14, 31));
+			}
+		} finally {
+			TimeZone.setDefault(original);
+		}
+	}
+
+	@Test
+	public void shouldUseSameDrawsForEpochAndLegacyBirthDates() {
+		DataFactory epoch = DataFactory.create(39021);
+		DataFactory local = DataFactory.create(39021);
+		for (int i = 0; i < 500; i++) {
+			long day = epoch.getBirthEpochDay();
+			LocalDate date = local.getBirthLocalDate();
+			Assert.assertEquals(day, date.toEpochDay());
+			Assert.assertTrue(date.getYear() >= 1955 && date.getYear() <= 1985);
+		}
+	}
+
+	@Test
+	public void shouldStayWithinRanges() {
+		DataFactory df = DataFactory.create(39021);
+		LocalDate minDate = LocalDate.of(2000, 2, 27);
+		LocalDate maxDate = LocalDate.of(2000, 3, 2);
+		LocalDateTime min = LocalDateTime.of(1969, 12, 31, 23, 59, 59);
+		LocalDateTime max = LocalDateTime.of(1970, 1, 1, 0, 0, 1);
+		Instant minInstant = Instant.parse("2020-01-01T00:00:00Z");
+		Instant maxInstant = Instant.parse("2020-01-01T00:00:00.010Z");
+		boolean leapDay = false;
+		for (int i = 0; i < 1000; i++) {
+			LocalDate date = df.getLocalDateBetween(minDate, maxDate);
+			Assert.assertTrue(!date.isBefore(minDate) && date.isBefore(maxDate));
+			leapDay |= date.getDayOfMonth() == 29;
+			LocalDateTime dateTime = df.getLocalDateTimeBetween(min, max);
+			Assert.assertTrue(!dateTime.isBefore(min) && dateTime.isBefore(max));
+			Instant instant = df.getInstantBetween(minInstant, maxInstant);
+			Assert.assertTrue(!instant.isBefore(minInstant) && instant.isBefore(maxInstant));
+		}
+		Assert.assertTrue(leapDay);
+		Assert.assertEquals(minDate, df.getLocalDateBetween(minDate, minDate));
+	}
+
+	@Test
+	public void shouldFillEpochValues() {
+		DataFactory df = DataFactory.create(39021);
+		long[] days = new long[1000];
+		df.fillEpochDaysBetween(days, LocalDate.of(1999, 1, 1), LocalDate.of(2000, 1, 1));
+		for (long day : days) {
+			Assert.assertEquals(1999, LocalDate.ofEpochDay(day).getYear());
+		}
+		long[] millis = new long[1000];
+		df.fillEpochMillisBetween(millis, Instant.ofEpochMilli(-5), Instant.ofEpochMilli(5));
+		for (long milli : millis) {
+			Assert.assertTrue(milli >= -5 && milli < 5);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectReversedRange() {
+		DataFactory.create().getLocalDateBetween(LocalDate.of(2001, 1, 1), LocalDate.of(2000, 1, 1));
+	}
+}
@@ -0,0 +1,64 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DataFactoryFillTest {
+
+	@Test
+	public void shouldFillNamesFromDictionary() {
+		DataFactory dataFactory = DataFactory.create(73438);
+		List<String> firstNames = Arrays.asList(new DefaultNameDataValues().getFirstNames());
+		String[] names = new String[1000];
+		dataFactory.fillFirstNames(names);
+		for (String name : names) {
+			Assert.assertTrue(firstNames.contains(name));
+		}
+	}
+
+	@Test
+	public void shouldFillSameNumbersAsSingleCalls() {
+		DataFactory single = DataFactory.create(73438);
+		DataFactory bulk = DataFactory.create(73438);
+		int[] numbers = new int[1000];
+		bulk.fillNumbersBetween(numbers, -50, 50);
+		for (int number : numbers) {
+			Assert.assertEquals(single.getNumberBetween(-50, 50), number);
+		}
+	}
+
+	@Test
+	public void shouldFillOnlyRequestedRange() {
+		DataFactory dataFactory = DataFactory.create(73438);
+		int[] numbers = new int[100];
+		dataFactory.fillNumbersBetween(numbers, 10, 80, 5, 10);
+		for (int i = 0; i < numbers.length; i++) {
+			if (i < 10 || i >= 90) {
+				Assert.assertEquals(0, numbers[i]);
+			} else {
+				Assert.assertTrue(numbers[i] >= 5 && numbers[i] < 10);
+			}
+		}
+	}
+
+	@Test
+	public void shouldFillLongsWithinRange() {
+		DataFactory dataFactory = DataFactory.create(73438);
+		long[] numbers = new long[100000];
+		long min = -3000000000L;
+		long max = 7000000001L;
+		dataFactory.fillNumbersBetween(numbers, min, max);
+		for (long number : numbers) {
+			Assert.assertTrue(number >= min && number < max);
+		}
+		dataFactory.fillNumbersBetween(numbers, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldErrorOnRangeOutsideArray() {
+		DataFactory.create(73438).fillLastNames(new String[10], 5, 6);
+	}
+}
@@ -0,0 +1,63 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DataFactoryStreamTest {
+
+	@Test
+	public void shouldStreamSameValuesAsSingleCalls() {
+		DataFactory single = DataFactory.create(73438);
+		List<String> emails = DataFactory.create(73438).emailAddresses().limit(100)
+				.collect(Collectors.toList());
+		Assert.assertEquals(100, emails.size());
+		for (String email : emails) {
+			Assert.assertEquals(single.getEmailAddress(), email);
+		}
+	}
+
+	@Test
+	public void shouldOnlyGenerateValuesThatArePulled() {
+		final AtomicInteger calls = new AtomicInteger();
+		final DataFactory dataFactory = DataFactory.create(73438);
+		String name = dataFactory.stream(() -> {
+			calls.incrementAndGet();
+			return dataFactory.getName();
+		}).filter(n -> n.length() > 3).findFirst().get();
+		Assert.assertNotNull(name);
+		Assert.assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void shouldReportSizeOfBoundedStream() {
+		final AtomicInteger calls = new AtomicInteger();
+		DataFactory dataFactory = DataFactory.create(73438);
+		Spliterator<String> spliterator = dataFactory.stream(() -> {
+			calls.incrementAndGet();
+			return "";
+		}, 1000).spliterator();
+		Assert.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+		Assert.assertEquals(1000, spliterator.getExactSizeIfKnown());
+		Assert.assertNull(spliterator.trySplit());
+		Assert.assertEquals(0, calls.get());
+		Assert.assertEquals(1000, dataFactory.intStream(dataFactory::getNumber, 1000).count());
+	}
+
+	@Test
+	public void shouldStreamNumbersWithinRange() {
+		DataFactory dataFactory = DataFactory.create(73438);
+		Assert.assertTrue(dataFactory.numbersBetween(5, 10).limit(10000).allMatch(n -> n >= 5 && n < 10));
+		Assert.assertTrue(dataFactory.numbersBetween(-5L, 1L << 40).limit(10000)
+				.allMatch(n -> n >= -5 && n < 1L << 40));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldErrorOnNegativeSize() {
+		DataFactory.create(73438).stream(() -> "", -1);
+	}
+}
@@ -1,5 +1,13 @@
 package org.fluttercode.datafactory.impl;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import org.fluttercode.datafactory.ContentDataValues;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -45,6 +53,82 @@ public class DataFactoryTextTest {
 		}
 	}
 
+	@Test
+	public void shouldStreamSameTextAsGetRandomText() throws IOException {
+		DataFactory other = DataFactory.create(73438);
+		for (int len = 0; len < 300; len++) {
+			StringWriter writer = new StringWriter();
+			Assert.assertEquals(len, other.writeRandomText(writer, len));
+			Assert.assertEquals(dataFactory.getRandomText(len), writer.toString());
+		}
+		Assert.assertEquals(dataFactory.getRandomWord(), other.getRandomWord());
+	}
+
+	@Test
+	public void shouldStreamTextLongerThanBuffer() throws IOException {
+		int len = RandomTextWriter.BUFFER_SIZE * 5 + 17;
+		DataFactory chars = DataFactory.create(1234);
+		DataFactory bytes = DataFactory.create(1234);
+		dataFactory.randomize(1234);
+		String expected = dataFactory.getRandomText(len);
+
+		StringWriter writer = new StringWriter();
+		chars.writeRandomText(writer, len);
+		Assert.assertEquals(expected, writer.toString());
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Assert.assertEquals(len, bytes.writeRandomText(Channels.newChannel(out), len));
+		Assert.assertEquals(expected, new String(out.toByteArray(), StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	public void shouldWriteTextToByteBuffer() {
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		buffer.put((byte) '>');
+		Assert.assertEquals(40, dataFactory.writeRandomText(buffer, 40));
+		Assert.assertEquals(41, buffer.position());
+		Assert.assertEquals(64, buffer.limit());
+		dataFactory.randomize(73438);
+		String expected = ">" + dataFactory.getRandomText(40);
+		Assert.assertEquals(expected, new String(buffer.array(), 0, 41, StandardCharsets.US_ASCII));
+	}
+
+	@Test
+	public void shouldWriteExactByteLengthWithMultiByteWords() throws IOException {
+		dataFactory.setContentDataValues(new WordsOnly("\u00E9t\u00E9", "caf\u00E9", "na\u00EFve", "\u00FCber"));
+		for (int len = 0; len < 200; len++) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			dataFactory.writeRandomText(Channels.newChannel(out), len);
+			Assert.assertEquals(len, out.size());
+		}
+	}
+
+	@Test
+	public void shouldIndexWordsOnceForDefensiveCopies() {
+		final int[] calls = new int[1];
+		dataFactory.setContentDataValues(new WordsOnly("one", "two", "three", "four") {
+
+			@Override
+			public String[] getWords() {
+				calls[0]++;
+				return super.getWords().clone();
+			}
+		});
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(3, dataFactory.getRandomWord(3, 3).length());
+			dataFactory.getRandomText(20);
+		}
+		Assert.assertEquals(1, calls[0]);
+
+		dataFactory.setContentDataValues(new WordsOnly("seven"));
+		Assert.assertEquals("seven", dataFactory.getRandomWord(5, 5));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectNegativeTextLength() throws IOException {
+		dataFactory.writeRandomText(new StringWriter(), -1);
+	}
+
 	@Test
 	public void shouldReturnTextOfSpecificLength() {
 		for (int i = 0; i < ITERATION_COUNT; i++) {
@@ -107,6 +191,29 @@ public class DataFactoryTextTest {
 
 	}
 
+	@Test
+	public void shouldPickWordsOfLengthEvenly() {
+		dataFactory.setContentDataValues(new WordsOnly("ab", "abcdefghij", "cd",
+				"abcdefghij", "abcdefghij", "ef"));
+		int[] counts = new int[3];
+		for (int i = 0; i < 30000; i++) {
+			String word = dataFactory.getRandomWord(2, 3);
+			counts[(word.charAt(0) - 'a') / 2]++;
+		}
+		for (int count : counts) {
+			Assert.assertTrue("Words should be picked evenly, got " + count,
+					count > 9000 && count < 11000);
+		}
+	}
+
+	@Test
+	public void shouldGenerateWordWhenNoneOfLengthInDictionary() {
+		dataFactory.setContentDataValues(new WordsOnly("ab", "cd"));
+		String word = dataFactory.getRandomWord(5, 7);
+		Assert.assertTrue("Wrong size word",
+				word.length() >= 5 && word.length() <= 7);
+	}
+
 	@Test
 	public void shouldReturnRandomNumber() {
 		dataFactory.getNumber();
@@ -197,4 +304,29 @@ public class DataFactoryTextTest {
 	public void shouldErrorOnInvalidSizeLenForRandomChars() {
 		dataFactory.getRandomChars(10,2);
 	}	
+
+	private static class WordsOnly implements ContentDataValues {
+
+		private final String[] words;
+
+		WordsOnly(String... words) {
+			this.words = words;
+		}
+
+		public String[] getWords() {
+			return words;
+		}
+
+		public String[] getBusinessTypes() {
+			return words;
+		}
+
+		public String[] getEmailHosts() {
+			return words;
+		}
+
+		public String[] getTlds() {
+			return words;
+		}
+	}
 }
@@ -0,0 +1,83 @@
+package org.fluttercode.datafactory.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DataFactoryWeightTest {
+
+	@Test
+	public void shouldPickInProportionToWeights() {
+		DataFactory df = DataFactory.create(2231);
+		String[] items = { "a", "b", "c", "d" };
+		double[] weights = { 1, 2, 0, 5 };
+		int[] counts = new int[items.length];
+		int samples = 80000;
+		for (int i = 0; i < samples; i++) {
+			counts[df.getItem(items, weights).charAt(0) - 'a']++;
+		}
+		Assert.assertEquals(0, counts[2]);
+		Assert.assertEquals(samples / 8, counts[0], samples / 100);
+		Assert.assertEquals(samples / 4, counts[1], samples / 100);
+		Assert.assertEquals(samples * 5 / 8, counts[3], samples / 100);
+	}
+
+	@Test
+	public void shouldMatchUnweightedPicksWithoutWeights() {
+		DataFactory weighted = DataFactory.create(2231);
+		DataFactory plain = DataFactory.create(2231);
+		String[] items = { "a", "b", "c", "d" };
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(plain.getItem(items), weighted.getItem(items, null));
+		}
+	}
+
+	@Test
+	public void shouldUseDataValueWeights() {
+		DataFactory df = DataFactory.create(2231);
+		df.setNameDataValues(new WeightedNames());
+		String[] fill = new String[50];
+		df.fillFirstNames(fill);
+		ByteBuffer buffer = ByteBuffer.allocate(16);
+		for (int i = 0; i < 50; i++) {
+			Assert.assertEquals("Karen", df.getFirstName());
+			Assert.assertEquals("Karen", fill[i]);
+			buffer.clear();
+			df.writeFirstName(buffer);
+			Assert.assertEquals("Karen", new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectWrongNumberOfWeights() {
+		DataFactory.create().getItem(new String[] { "a", "b" }, new double[] { 1 });
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectNegativeWeights() {
+		DataFactory.create().getItem(new String[] { "a", "b" }, new double[] { 1, -1 });
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectAllZeroWeights() {
+		DataFactory.create().getItem(new String[] { "a", "b" }, new double[] { 0, 0 });
+	}
+
+	private static class WeightedNames extends DefaultNameDataValues {
+
+		private final String[] firstNames = { "Andy", "Karen", "Mary" };
+		private final double[] weights = { 0, 3, 0 };
+
+		@Override
+		public String[] getFirstNames() {
+			return firstNames;
+		}
+
+		@Override
+		public double[] getFirstNameWeights() {
+			return weights;
+		}
+	}
+}
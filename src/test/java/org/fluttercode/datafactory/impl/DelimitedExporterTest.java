@@ -0,0 +1,86 @@
+package org.fluttercode.datafactory.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DelimitedExporterTest {
+
+	private String export(DelimitedExporter exporter, RowSource source) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ThroughputStatistics stats = exporter.export(source, Channels.newChannel(out));
+		Assert.assertEquals(out.size(), stats.getBytes());
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private RowSource values(final String... values) {
+		return RowSchema.create()
+				.column("id", ColumnGenerator.sequence(1))
+				.column("value", ColumnGenerator.custom(ColumnType.TEXT, df -> values[df.getNumberUpTo(0)]))
+				.compile(DataFactory.create(73438)).limit(1);
+	}
+
+	@Test
+	public void shouldQuoteSpecialCharacters() throws Exception {
+		Assert.assertEquals("id,value\n1,\"a,b\"\n", export(DelimitedExporter.csv(), values("a,b")));
+		Assert.assertEquals("id,value\n1,\"say \"\"hi\"\"\"\n", export(DelimitedExporter.csv(), values("say \"hi\"")));
+		Assert.assertEquals("id,value\n1,\"two\nlines\"\n", export(DelimitedExporter.csv(), values("two\nlines")));
+		Assert.assertEquals("id\tvalue\n1\ta,b\n", export(DelimitedExporter.tsv(), values("a,b")));
+	}
+
+	@Test
+	public void shouldEncodeUnicodeAsUtf8() throws Exception {
+		Assert.assertEquals("id,value\n1,Freyd\u00EDs \uD83D\uDE00\n", export(DelimitedExporter.csv(), values("Freyd\u00EDs \uD83D\uDE00")));
+	}
+
+	@Test
+	public void shouldWriteNullsAndEmptyStringsDifferently() throws Exception {
+		DelimitedExporter exporter = DelimitedExporter.csv();
+		exporter.setWriteHeader(false);
+		Assert.assertEquals("1,\"\"\n", export(exporter, values("")));
+		Assert.assertEquals("1,\n", export(exporter, values((String) null)));
+		exporter.setNullValue("\\N");
+		Assert.assertEquals("1,\\N\n", export(exporter, values((String) null)));
+	}
+
+	@Test
+	public void shouldExportRowsToFile() throws Exception {
+		Path file = Files.createTempFile("datafactory", ".csv");
+		try {
+			DelimitedExporter exporter = DelimitedExporter.csv();
+			exporter.setBufferSize(64);
+			RowSource source = RowSchema.create()
+					.column("id", ColumnGenerator.sequence(-5))
+					.column("name", ColumnGenerator.name())
+					.column("birth_date", ColumnGenerator.birthDate())
+					.compile(DataFactory.create(73438)).limit(1000);
+			ThroughputStatistics stats = exporter.export(source, file);
+			Assert.assertEquals(1000, stats.getRows());
+			Assert.assertEquals(Files.size(file), stats.getBytes());
+
+			List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+			Assert.assertEquals(1001, lines.size());
+			Assert.assertEquals("id,name,birth_date", lines.get(0));
+			Assert.assertTrue(lines.get(1).matches("-5,[A-Za-z' ]+,19\\d\\d-\\d\\d-\\d\\d \\d\\d:\\d\\d:\\d\\d"));
+			Assert.assertTrue(lines.get(1000).startsWith("994,"));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectNonAsciiDelimiter() {
+		DelimitedExporter.create('\u00A7');
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectNonAsciiQuote() {
+		DelimitedExporter.csv().setQuote('\u00A6');
+	}
+}
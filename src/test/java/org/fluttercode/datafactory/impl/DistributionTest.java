@@ -0,0 +1,100 @@
+package org.fluttercode.datafactory.impl;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DistributionTest {
+
+	private static final int SAMPLES = 200000;
+
+	@Test
+	public void shouldSampleNormal() {
+		double[] values = new double[SAMPLES];
+		DataFactory.create(57113).fillNumbers(values, Distribution.normal(10, 2));
+		Assert.assertEquals(10, mean(values), 0.02);
+		Assert.assertEquals(4, variance(values), 0.05);
+		int beyondThree = 0;
+		for (double value : values) {
+			if (Math.abs(value - 10) > 6) {
+				beyondThree++;
+			}
+		}
+		// 0.27% of a normal distribution is more than 3 standard deviations out
+		Assert.assertEquals(SAMPLES * 0.0027, beyondThree, SAMPLES * 0.0006);
+	}
+
+	@Test
+	public void shouldSampleExponential() {
+		double[] values = new double[SAMPLES];
+		DataFactory.create(57113).fillNumbers(values, Distribution.exponential(3));
+		Assert.assertEquals(3, mean(values), 0.03);
+		Assert.assertEquals(9, variance(values), 0.25);
+		for (double value : values) {
+			Assert.assertTrue(value >= 0);
+		}
+	}
+
+	@Test
+	public void shouldSamplePoisson() {
+		for (double mean : new double[] { 0.5, 4, 10, 250 }) {
+			long[] values = new long[SAMPLES];
+			DataFactory.create(57113).fillNumbers(values, Distribution.poisson(mean));
+			double[] doubles = new double[SAMPLES];
+			for (int i = 0; i < SAMPLES; i++) {
+				Assert.assertTrue(values[i] >= 0);
+				doubles[i] = values[i];
+			}
+			Assert.assertEquals(mean, mean(doubles), mean * 0.01 + 0.01);
+			Assert.assertEquals(mean, variance(doubles), mean * 0.03 + 0.01);
+		}
+	}
+
+	@Test
+	public void shouldSampleLogNormalAndUniform() {
+		DataFactory df = DataFactory.create(57113);
+		double[] values = df.doubles(Distribution.logNormal(1, 0.5)).limit(SAMPLES).toArray();
+		Assert.assertEquals(Math.exp(1 + 0.125), mean(values), 0.02);
+		double[] uniform = df.doubles(Distribution.uniform(-2, 6)).limit(SAMPLES).toArray();
+		for (double value : uniform) {
+			Assert.assertTrue(value >= -2 && value < 6);
+		}
+		Assert.assertEquals(2, mean(uniform), 0.03);
+	}
+
+	@Test
+	public void shouldRoundToWholeNumbers() {
+		DataFactory df = DataFactory.create(57113);
+		Assert.assertEquals(7, df.getInt(Distribution.uniform(7, 7)));
+		Assert.assertEquals(Integer.MAX_VALUE, df.getInt(Distribution.uniform(1e12, 1e12)));
+		int[] values = df.ints(Distribution.poisson(3)).limit(1000).toArray();
+		Assert.assertEquals(1000, values.length);
+		DataFactory a = DataFactory.create(57113);
+		DataFactory b = DataFactory.create(57113);
+		Distribution normal = Distribution.normal(0, 1);
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(a.getDouble(normal), b.doubles(normal).findFirst().getAsDouble(), 0);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectNegativeMean() {
+		Distribution.exponential(-1);
+	}
+
+	private static double mean(final double[] values) {
+		double sum = 0;
+		for (double value : values) {
+			sum += value;
+		}
+		return sum / values.length;
+	}
+
+	private static double variance(final double[] values) {
+		double mean = mean(values);
+		double sum = 0;
+		for (double value : values) {
+			sum += (value - mean) * (value - mean);
+		}
+		return sum / values.length;
+	}
+}
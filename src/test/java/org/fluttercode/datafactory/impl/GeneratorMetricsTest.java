@@ -0,0 +1,209 @@
+package org.fluttercode.datafactory.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.fluttercode.datafactory.ContentDataValues;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GeneratorMetricsTest {
+
+	private DataFactory dataFactory;
+	private GeneratorMetrics metrics;
+
+	@Before
+	public void initTest() {
+		dataFactory = DataFactory.create(8114);
+		metrics = new GeneratorMetrics();
+		dataFactory.setMetrics(metrics);
+	}
+
+	@Test
+	public void shouldCountCallsAndDraws() {
+		for (int i = 0; i < 1000; i++) {
+			dataFactory.getName();
+		}
+		Map<String, GeneratorStatistics> snapshot = metrics.snapshot();
+		Assert.assertEquals(3, snapshot.size());
+		GeneratorStatistics name = snapshot.get("getName");
+		GeneratorStatistics first = snapshot.get("getFirstName");
+		GeneratorStatistics last = snapshot.get("getLastName");
+		Assert.assertEquals(1000, name.getCalls());
+		Assert.assertEquals(1000, first.getCalls());
+		Assert.assertEquals(1000, last.getCalls());
+		Assert.assertTrue(first.getRandomDraws() >= 1000);
+		// nested calls are included in the outer call
+		Assert.assertEquals(first.getRandomDraws() + last.getRandomDraws(), name.getRandomDraws());
+		Assert.assertEquals(name.getRandomDraws(), metrics.getRandomDraws());
+		Assert.assertEquals(first.getSize() + last.getSize() + 1000, name.getSize());
+	}
+
+	@Test
+	public void shouldCountSizes() {
+		for (int i = 0; i < 10; i++) {
+			dataFactory.getRandomText(50);
+		}
+		Assert.assertEquals(500, metrics.snapshot().get("getRandomText").getSize());
+	}
+
+	@Test
+	public void shouldCountTextLengthDraw() {
+		for (int i = 0; i < 10; i++) {
+			dataFactory.getRandomText(10, 60);
+		}
+		Assert.assertEquals(metrics.getRandomDraws(), metrics.snapshot().get("getRandomText").getRandomDraws());
+	}
+
+	@Test
+	public void shouldRecordFailedWrites() {
+		Writer failing = new Writer() {
+			@Override
+			public void write(char[] cbuf, int off, int len) throws IOException {
+				throw new IOException("Disk full");
+			}
+
+			@Override
+			public void flush() {
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+		for (int i = 0; i < 100; i++) {
+			try {
+				dataFactory.writeRandomText(failing, 100);
+				Assert.fail("Expected the writer to fail");
+			} catch (IOException e) {
+				// expected
+			}
+			try {
+				dataFactory.writeRandomText(ByteBuffer.allocate(10), -1);
+				Assert.fail("Expected the length to be rejected");
+			} catch (IllegalArgumentException e) {
+				// expected
+			}
+		}
+		GeneratorStatistics write = metrics.snapshot().get("writeRandomText");
+		Assert.assertEquals(100, write.getCalls());
+		Assert.assertEquals(0, write.getSize());
+		Assert.assertEquals(write.getRandomDraws(), metrics.getRandomDraws());
+	}
+
+	@Test
+	public void shouldCountFallbacks() {
+		dataFactory.setContentDataValues(new ShortWords());
+		for (int i = 0; i < 100; i++) {
+			dataFactory.getRandomWord(2, 2);
+			dataFactory.getRandomWord(8, 8);
+		}
+		GeneratorStatistics words = metrics.snapshot().get("getRandomWord");
+		Assert.assertEquals(200, words.getCalls());
+		Assert.assertEquals(100, words.getFallbacks());
+		Assert.assertEquals(100, metrics.snapshot().get("getRandomChars").getCalls());
+
+		dataFactory.getRandomText(1000);
+		Assert.assertTrue(metrics.snapshot().get("getRandomText").getFallbacks() > 0);
+	}
+
+	@Test
+	public void shouldSampleLatencies() {
+		for (int i = 0; i < 100 * GeneratorMetrics.SAMPLE_INTERVAL; i++) {
+			dataFactory.getEmailAddress();
+		}
+		GeneratorStatistics emails = metrics.snapshot().get("getEmailAddress");
+		Assert.assertTrue(emails.getSampleCount() > 0);
+		Assert.assertTrue(emails.getLatencyNanos(0.5) > 0);
+		Assert.assertTrue(emails.getLatencyNanos(0.99) >= emails.getLatencyNanos(0.5));
+	}
+
+	@Test
+	public void shouldNotChangeGeneratedValues() {
+		DataFactory plain = DataFactory.create(8114);
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals(plain.getEmailAddress(), dataFactory.getEmailAddress());
+			Assert.assertEquals(plain.getRandomText(10, 40), dataFactory.getRandomText(10, 40));
+		}
+		dataFactory.randomize(99);
+		plain.randomize(99);
+		Assert.assertEquals(plain.getAddress(), dataFactory.getAddress());
+		Assert.assertTrue(metrics.snapshot().get("getAddress").getRandomDraws() > 0);
+	}
+
+	@Test
+	public void shouldStopRecordingWhenRemoved() {
+		dataFactory.getCity();
+		dataFactory.setMetrics(null);
+		dataFactory.getCity();
+		Assert.assertNull(dataFactory.getMetrics());
+		Assert.assertEquals(1, metrics.snapshot().get("getCity").getCalls());
+		metrics.reset();
+		Assert.assertTrue(metrics.snapshot().isEmpty());
+		Assert.assertEquals(0, metrics.getRandomDraws());
+	}
+
+	@Test
+	public void shouldKeepDrawsOfEndedThreads() throws Exception {
+		Thread thread = new Thread(new Runnable() {
+			public void run() {
+				DataFactory other = DataFactory.create(7);
+				other.setMetrics(metrics);
+				other.getName();
+			}
+		});
+		thread.start();
+		thread.join();
+		dataFactory.getCity();
+		long draws = metrics.snapshot().get("getName").getRandomDraws()
+				+ metrics.snapshot().get("getCity").getRandomDraws();
+		Assert.assertEquals(draws, metrics.getRandomDraws());
+		metrics.reset();
+		dataFactory.getCity();
+		Assert.assertEquals(metrics.snapshot().get("getCity").getRandomDraws(), metrics.getRandomDraws());
+	}
+
+	@Test
+	public void shouldRegisterMBean() throws Exception {
+		dataFactory.getCity();
+		ObjectName name = metrics.register("test");
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			Assert.assertEquals(metrics.getRandomDraws(), server.getAttribute(name, "RandomDraws"));
+			Assert.assertNotNull(server.getAttribute(name, "Calls"));
+			server.invoke(name, "reset", null, null);
+			Assert.assertEquals(0L, server.getAttribute(name, "RandomDraws"));
+		} finally {
+			metrics.unregister();
+		}
+		Assert.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+	}
+
+	private static class ShortWords implements ContentDataValues {
+
+		private final String[] words = { "ab", "cd", "ef" };
+
+		public String[] getWords() {
+			return words;
+		}
+
+		public String[] getBusinessTypes() {
+			return words;
+		}
+
+		public String[] getEmailHosts() {
+			return words;
+		}
+
+		public String[] getTlds() {
+			return words;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package org.fluttercode.datafactory.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IdentifierFormatTest {
+
+	@Test
+	public void shouldGenerateNamedFormats() {
+		DataFactory df = DataFactory.create(81157);
+		for (int i = 0; i < 1000; i++) {
+			Assert.assertTrue(df.getPhoneNumber().matches("\\(\\d{3}\\) \\d{3}-\\d{4}"));
+			Assert.assertTrue(df.getZipCode().matches("\\d{5}"));
+			Assert.assertTrue(df.getSocialSecurityNumber().matches("\\d{3}-\\d{2}-\\d{4}"));
+			String card = df.getCardNumber();
+			Assert.assertTrue(card.matches("4\\d{15}"));
+			Assert.assertTrue(card, IdentifierFormat.isLuhnValid(card));
+		}
+	}
+
+	@Test
+	public void shouldHandleLettersEscapesAndSeparatedCheckDigits() {
+		DataFactory df = DataFactory.create(81157);
+		IdentifierFormat postCode = IdentifierFormat.compile("??## #?? \\#\\?");
+		Assert.assertEquals(11, postCode.length());
+		Assert.assertTrue(df.getIdentifier(postCode).matches("[A-Z]{2}\\d{2} \\d[A-Z]{2} #\\?"));
+
+		IdentifierFormat card = IdentifierFormat.luhn("5### #### #### ###-");
+		for (int i = 0; i < 100; i++) {
+			String value = df.getIdentifier(card);
+			Assert.assertTrue(value.matches("5\\d{3} \\d{4} \\d{4} \\d{3}-"));
+			Assert.assertTrue(value, IdentifierFormat.isLuhnValid(value));
+		}
+	}
+
+	@Test
+	public void shouldWriteSameValuesToEveryTarget() {
+		DataFactory strings = DataFactory.create(81157);
+		DataFactory chars = DataFactory.create(81157);
+		DataFactory bytes = DataFactory.create(81157);
+		DataFactory buffers = DataFactory.create(81157);
+		IdentifierFormat format = IdentifierFormat.CARD_NUMBER;
+		char[] charArray = new char[20];
+		byte[] byteArray = new byte[20];
+		ByteBuffer buffer = ByteBuffer.allocateDirect(32);
+		for (int i = 0; i < 100; i++) {
+			String expected = strings.getIdentifier(format);
+			Assert.assertEquals(16, chars.fillIdentifier(format, charArray, 2));
+			Assert.assertEquals(expected, new String(charArray, 2, 16));
+			bytes.fillIdentifier(format, byteArray, 4);
+			Assert.assertEquals(expected, new String(byteArray, 4, 16, StandardCharsets.US_ASCII));
+			buffer.clear();
+			buffer.put((byte) 'x');
+			Assert.assertEquals(16, buffers.writeIdentifier(format, buffer));
+			Assert.assertEquals(17, buffer.position());
+			byte[] written = new byte[16];
+			buffer.position(1);
+			buffer.get(written);
+			Assert.assertEquals(expected, new String(written, StandardCharsets.US_ASCII));
+		}
+	}
+
+	@Test
+	public void shouldGenerateEvenlySpreadNumberText() {
+		DataFactory df = DataFactory.create(81157);
+		int[] counts = new int[10];
+		for (int i = 0; i < 10000; i++) {
+			String text = df.getNumberText(13);
+			Assert.assertEquals(13, text.length());
+			for (int j = 0; j < text.length(); j++) {
+				counts[text.charAt(j) - '0']++;
+			}
+		}
+		for (int count : counts) {
+			Assert.assertEquals(13000, count, 600);
+		}
+		Assert.assertEquals("", df.getNumberText(0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectLuhnPatternWithoutTrailingDigit() {
+		IdentifierFormat.luhn("###-?");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectTooSmallDestination() {
+		DataFactory.create().fillIdentifier(IdentifierFormat.PHONE_NUMBER, new char[10], 0);
+	}
+}
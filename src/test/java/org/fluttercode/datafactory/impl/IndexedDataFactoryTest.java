@@ -0,0 +1,73 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IndexedDataFactoryTest {
+
+	@Test
+	public void shouldReturnSameValueForRowInAnyOrder() {
+		IndexedDataFactory forward = IndexedDataFactory.create(73438);
+		String[] emails = new String[1000];
+		for (int i = 0; i < emails.length; i++) {
+			emails[i] = forward.getEmailAddress(i);
+			forward.getFirstName(i);
+		}
+		IndexedDataFactory backward = IndexedDataFactory.create(73438);
+		for (int i = emails.length - 1; i >= 0; i--) {
+			Assert.assertEquals(emails[i], backward.getEmailAddress(i));
+		}
+	}
+
+	@Test
+	public void shouldGenerateDistantRowsDirectly() {
+		IndexedDataFactory df = IndexedDataFactory.create(73438);
+		String name = df.getName(80000000L);
+		df.getName(5);
+		Assert.assertEquals(name, df.getName(80000000L));
+		Assert.assertEquals(df.at(80000000L, 1).getRandomText(50),
+				IndexedDataFactory.create(73438).at(80000000L, 1).getRandomText(50));
+	}
+
+	@Test
+	public void shouldVaryValuesBetweenRowsAndSeeds() {
+		IndexedDataFactory first = IndexedDataFactory.create(73438);
+		IndexedDataFactory second = IndexedDataFactory.create(73439);
+		Set<String> names = new HashSet<String>();
+		int sameAcrossSeeds = 0;
+		for (int i = 0; i < 1000; i++) {
+			String name = first.getName(i);
+			names.add(name);
+			if (name.equals(second.getName(i))) {
+				sameAcrossSeeds++;
+			}
+		}
+		Assert.assertTrue(names.size() > 900);
+		Assert.assertTrue(sameAcrossSeeds < 10);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldErrorOnReservedField() {
+		IndexedDataFactory.create(73438).at(0, IndexedDataFactory.RESERVED_FIELDS);
+	}
+
+	@Test
+	public void shouldNotLetSharedFactoryBeReconfigured() {
+		IndexedDataFactory df = IndexedDataFactory.create(73438);
+		String email = df.getEmailAddress(12);
+		try {
+			df.at(3, 1).randomize(5);
+			Assert.fail("Expected the factory to be fixed");
+		} catch (IllegalStateException e) {
+			Assert.assertEquals(email, df.getEmailAddress(12));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectNegativeField() {
+		IndexedDataFactory.create(73438).at(3, -1);
+	}
+}
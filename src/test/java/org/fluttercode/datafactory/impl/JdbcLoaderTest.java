@@ -0,0 +1,138 @@
+package org.fluttercode.datafactory.impl;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JdbcLoaderTest {
+
+	private static final String URL = "jdbc:h2:mem:loader;DB_CLOSE_DELAY=-1";
+
+	private Connection connection;
+
+	@Before
+	public void initTest() throws SQLException {
+		connection = DriverManager.getConnection(URL);
+		Statement statement = connection.createStatement();
+		statement.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, first_name VARCHAR(50), "
+				+ "email VARCHAR(100), birth_date TIMESTAMP)");
+		statement.close();
+	}
+
+	@After
+	public void closeConnection() throws SQLException {
+		Statement statement = connection.createStatement();
+		statement.execute("DROP TABLE users");
+		statement.close();
+		connection.close();
+	}
+
+	private RowPlan createPlan(long firstId) {
+		return RowSchema.create()
+				.column("id", ColumnGenerator.sequence(firstId))
+				.column("first_name", ColumnGenerator.firstName())
+				.column("email", ColumnGenerator.emailAddress(), 80, null)
+				.column("birth_date", ColumnGenerator.birthDate())
+				.compile(DataFactory.create(firstId));
+	}
+
+	private long count(String where) throws SQLException {
+		Statement statement = connection.createStatement();
+		try {
+			ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM users " + where);
+			rs.next();
+			return rs.getLong(1);
+		} finally {
+			statement.close();
+		}
+	}
+
+	@Test
+	public void shouldLoadRowsInBatches() throws SQLException {
+		JdbcLoader loader = JdbcLoader.forTable("users");
+		loader.setBatchSize(300);
+		loader.setCommitInterval(1000);
+		ThroughputStatistics stats = loader.load(createPlan(1).limit(10001), connection);
+		Assert.assertEquals(10001, stats.getRows());
+		Assert.assertEquals(10001, count(""));
+		Assert.assertTrue(count("WHERE email IS NULL") > 0);
+		Assert.assertTrue(connection.getAutoCommit());
+	}
+
+	@Test
+	public void shouldLoadWithInsertStatement() throws SQLException {
+		JdbcLoader loader = JdbcLoader.create("INSERT INTO users (id, first_name, email, birth_date) VALUES (?, ?, ?, ?)");
+		loader.load(createPlan(1).limit(100), connection);
+		Assert.assertEquals(100, count(""));
+	}
+
+	@Test
+	public void shouldLoadOverParallelConnections() throws SQLException {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL(URL);
+		ThroughputStatistics stats = JdbcLoader.forTable("users").load(dataSource, 4,
+				i -> createPlan(1 + i * 1000000L).limit(2500));
+		Assert.assertEquals(10000, stats.getRows());
+		Assert.assertEquals(10000, count(""));
+	}
+
+	@Test
+	public void shouldRollBackFailedLoad() throws SQLException {
+		JdbcLoader loader = JdbcLoader.forTable("users");
+		loader.setCommitInterval(100);
+		loader.load(createPlan(1).limit(100), connection);
+		try {
+			// ids clash with the rows already loaded after the first one
+			loader.load(createPlan(0).limit(100), connection);
+			Assert.fail("Expected duplicate key failure");
+		} catch (SQLException e) {
+			Assert.assertEquals(100, count(""));
+		}
+	}
+
+	@Test
+	public void shouldRollBackLoadFailingWithRuntimeException() throws SQLException {
+		RowPlan plan = RowSchema.create()
+				.column("id", ColumnGenerator.sequence(1))
+				.column("first_name", ColumnGenerator.custom(ColumnType.TEXT, df -> {
+					if (df.getNumberUpTo(100) == 0) {
+						throw new IllegalStateException("Generator failed");
+					}
+					return df.getFirstName();
+				}))
+				.compile(DataFactory.create(1));
+		JdbcLoader loader = JdbcLoader.create("INSERT INTO users (id, first_name) VALUES (?, ?)");
+		loader.setBatchSize(10);
+		try {
+			loader.load(plan.limit(10000), connection);
+			Assert.fail("Expected the generator to fail");
+		} catch (IllegalStateException e) {
+			Assert.assertEquals(0, count(""));
+			Assert.assertTrue(connection.getAutoCommit());
+		}
+	}
+
+	@Test
+	public void shouldBindTextAndNullObjectColumns() throws SQLException {
+		RowPlan plan = RowSchema.create()
+				.column("id", ColumnGenerator.sequence(1))
+				.column("first_name", ColumnGenerator.custom(ColumnType.TEXT, df -> df.getNumberUpTo(10)))
+				.column("email", ColumnGenerator.custom(ColumnType.OBJECT, df -> null))
+				.compile(DataFactory.create(1));
+		JdbcLoader.forTable("users").load(plan.limit(10), connection);
+		Assert.assertEquals(10, count("WHERE email IS NULL AND LENGTH(first_name) = 1"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectNullSources() throws SQLException {
+		JdbcLoader.forTable("users").load(new JdbcDataSource(), 2, null);
+	}
+}
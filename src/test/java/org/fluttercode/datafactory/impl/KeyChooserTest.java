@@ -0,0 +1,132 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class KeyChooserTest {
+
+	private static final int SAMPLES = 200000;
+
+	@Test
+	public void shouldFollowZipfProbabilities() {
+		int items = 50;
+		double skew = 0.99;
+		long[] keys = new long[SAMPLES];
+		DataFactory.create(6151).fillKeys(keys, KeyChooser.zipfian(items, skew));
+		int[] counts = new int[items];
+		for (long key : keys) {
+			counts[(int) key]++;
+		}
+		double total = 0;
+		for (int i = 1; i <= items; i++) {
+			total += Math.pow(i, -skew);
+		}
+		for (int i = 0; i < 5; i++) {
+			double expected = SAMPLES * Math.pow(i + 1, -skew) / total;
+			Assert.assertEquals(expected, counts[i], expected * 0.05);
+		}
+	}
+
+	@Test
+	public void shouldStayInRangeForHugeCounts() {
+		DataFactory df = DataFactory.create(6151);
+		KeyChooser chooser = KeyChooser.scrambledZipfian(Long.MAX_VALUE / 3, KeyChooser.DEFAULT_SKEW, 77);
+		for (int i = 0; i < 10000; i++) {
+			long key = df.getKey(chooser);
+			Assert.assertTrue(key >= 0 && key < Long.MAX_VALUE / 3);
+		}
+	}
+
+	@Test
+	public void shouldSpreadScrambledHotKeys() {
+		DataFactory df = DataFactory.create(6151);
+		KeyChooser chooser = KeyChooser.scrambledZipfian(1000000, KeyChooser.DEFAULT_SKEW, 77);
+		int[] counts = new int[10];
+		Set<Long> distinct = new HashSet<Long>();
+		for (int i = 0; i < SAMPLES; i++) {
+			long key = df.getKey(chooser);
+			counts[(int) (key / 100000)]++;
+			distinct.add(key);
+		}
+		for (int count : counts) {
+			Assert.assertTrue(count > SAMPLES / 50);
+		}
+		// still skewed, so far fewer distinct keys than samples
+		Assert.assertTrue(distinct.size() < SAMPLES / 2);
+	}
+
+	@Test
+	public void shouldFavourLatestKeysAsItemsAreAdded() {
+		DataFactory df = DataFactory.create(6151);
+		KeyChooser chooser = KeyChooser.latest(1000, KeyChooser.DEFAULT_SKEW);
+		Assert.assertTrue(hits(df, chooser, 999) > SAMPLES / 20);
+		chooser.setItemCount(2000);
+		Assert.assertTrue(hits(df, chooser, 1999) > SAMPLES / 20);
+		Assert.assertTrue(hits(df, chooser, 999) < SAMPLES / 1000);
+	}
+
+	@Test
+	public void shouldChangeSkewAtRuntime() {
+		DataFactory df = DataFactory.create(6151);
+		KeyChooser chooser = KeyChooser.zipfian(100, 2);
+		int skewed = hits(df, chooser, 0);
+		chooser.setSkew(0);
+		Assert.assertEquals(0.0, chooser.getSkew(), 0);
+		int uniform = hits(df, chooser, 0);
+		Assert.assertTrue(skewed > SAMPLES / 2);
+		Assert.assertEquals(SAMPLES / 100, uniform, SAMPLES / 400);
+	}
+
+	@Test
+	public void shouldChooseDictionaryItems() {
+		String[] items = { "hot", "warm", "cold" };
+		DataFactory df = DataFactory.create(6151);
+		KeyChooser chooser = KeyChooser.zipfian(items.length, 3);
+		int hot = 0;
+		for (int i = 0; i < 1000; i++) {
+			if (df.chooseItem(items, chooser).equals("hot")) {
+				hot++;
+			}
+		}
+		Assert.assertTrue(hot > 700);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectChooserLargerThanArray() {
+		DataFactory.create().chooseItem(new String[] { "a" }, KeyChooser.zipfian(2, 1));
+	}
+
+	@Test
+	public void shouldNotChooseOutsideArrayWhileItemCountChanges() throws Exception {
+		final String[] items = { "a", "b" };
+		final KeyChooser chooser = KeyChooser.latest(2, 0);
+		Thread resizer = new Thread() {
+			@Override
+			public void run() {
+				for (int i = 0; i < SAMPLES; i++) {
+					chooser.setItemCount(i % 2 == 0 ? 1000 : 2);
+				}
+			}
+		};
+		resizer.start();
+		DataFactory df = DataFactory.create(6151);
+		try {
+			while (resizer.isAlive()) {
+				try {
+					Assert.assertNotNull(df.chooseItem(items, chooser));
+				} catch (IllegalArgumentException e) {
+					// the chooser had more items than the array when the count was read
+				}
+			}
+		} finally {
+			resizer.join();
+		}
+	}
+
+	private static int hits(final DataFactory df, final KeyChooser chooser, final long key) {
+		return (int) df.keys(chooser).limit(SAMPLES).filter(k -> k == key).count();
+	}
+}
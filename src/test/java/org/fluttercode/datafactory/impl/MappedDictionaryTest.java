@@ -0,0 +1,146 @@
+package org.fluttercode.datafactory.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MappedDictionaryTest {
+
+	private static final List<String> LAST_NAMES = Arrays.asList("Gibson", "Mayer", "Jim\u00E9nez", "", "O'Neil");
+
+	@Test
+	public void shouldReadValuesWritten() throws Exception {
+		Path file = Files.createTempFile("datafactory", ".dict");
+		try {
+			Assert.assertEquals(LAST_NAMES.size(), MappedDictionary.write(file, LAST_NAMES));
+			MappedDictionary dictionary = MappedDictionary.open(file);
+			Assert.assertEquals(LAST_NAMES.size(), dictionary.size());
+			for (int i = 0; i < LAST_NAMES.size(); i++) {
+				Assert.assertEquals(LAST_NAMES.get(i), dictionary.get(i));
+			}
+			Assert.assertArrayEquals("Jim\u00E9nez".getBytes(StandardCharsets.UTF_8), dictionary.getBytes(2));
+			Assert.assertEquals(LAST_NAMES, Arrays.asList(dictionary.toArray()));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void shouldConvertTextFile() throws Exception {
+		Path text = Files.createTempFile("datafactory", ".txt");
+		Path file = Files.createTempFile("datafactory", ".dict");
+		try {
+			Files.write(text, Arrays.asList("Springfield", "Shelbyville"), StandardCharsets.UTF_8);
+			Assert.assertEquals(2, MappedDictionary.convert(text, file));
+			Assert.assertEquals("Shelbyville", MappedDictionary.open(file).get(1));
+		} finally {
+			Files.delete(text);
+			Files.delete(file);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectOtherFiles() throws Exception {
+		Path file = Files.createTempFile("datafactory", ".dict");
+		try {
+			Files.write(file, Arrays.asList("not a dictionary"), StandardCharsets.UTF_8);
+			MappedDictionary.open(file);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void shouldPickFromMappedDictionaries() throws Exception {
+		Path file = Files.createTempFile("datafactory", ".dict");
+		try {
+			MappedDictionary.write(file, LAST_NAMES);
+			DataFactory df = DataFactory.create(4493);
+			df.setNameDataValues(MappedNameDataValues.open(null, file));
+			Set<String> expected = new HashSet<String>(LAST_NAMES);
+			Set<String> seen = new HashSet<String>();
+			String[] fill = new String[100];
+			df.fillLastNames(fill);
+			ByteBuffer buffer = ByteBuffer.allocate(64);
+			for (int i = 0; i < fill.length; i++) {
+				seen.add(df.getLastName());
+				Assert.assertTrue(expected.contains(fill[i]));
+				buffer.clear();
+				df.writeLastName(buffer);
+				Assert.assertTrue(expected.contains(new String(buffer.array(), 0, buffer.position(),
+						StandardCharsets.UTF_8)));
+			}
+			Assert.assertEquals(expected, seen);
+			Assert.assertTrue(Arrays.asList(new DefaultNameDataValues().getFirstNames()).contains(df.getFirstName()));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void shouldMatchArrayBackedValuesForSameSeed() throws Exception {
+		Path file = Files.createTempFile("datafactory", ".dict");
+		try {
+			String[] cities = new DefaultAddressDataValues().getCities();
+			MappedDictionary.write(file, Arrays.asList(cities));
+			DataFactory mapped = DataFactory.create(4493);
+			mapped.setAddressDataValues(MappedAddressDataValues.open(null, file));
+			DataFactory plain = DataFactory.create(4493);
+			for (int i = 0; i < 100; i++) {
+				Assert.assertEquals(plain.getBusinessName(), mapped.getBusinessName());
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void shouldMatchArrayBackedWordsForSameSeed() throws Exception {
+		Path file = Files.createTempFile("datafactory", ".dict");
+		try {
+			MappedDictionary.write(file, Arrays.asList(new DefaultContentDataValues().getWords()));
+			DataFactory mapped = DataFactory.create(4493);
+			mapped.setContentDataValues(MappedContentDataValues.open(file));
+			DataFactory plain = DataFactory.create(4493);
+			ByteBuffer mappedBuffer = ByteBuffer.allocate(8192);
+			ByteBuffer plainBuffer = ByteBuffer.allocate(8192);
+			for (int i = 0; i < 100; i++) {
+				Assert.assertEquals(plain.getRandomWord(3, 8), mapped.getRandomWord(3, 8));
+				Assert.assertEquals(plain.getRandomText(20, 60), mapped.getRandomText(20, 60));
+				Assert.assertEquals(plain.getEmailAddress(), mapped.getEmailAddress());
+				plain.writeEmailAddress(plainBuffer);
+				mapped.writeEmailAddress(mappedBuffer);
+			}
+			Assert.assertEquals(plainBuffer.flip(), mappedBuffer.flip());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void shouldLowerCaseValuesWhileCopying() throws Exception {
+		Path file = Files.createTempFile("datafactory", ".dict");
+		try {
+			MappedDictionary.write(file, LAST_NAMES);
+			MappedDictionary dictionary = MappedDictionary.open(file);
+			for (int i = 0; i < LAST_NAMES.size(); i++) {
+				for (int mode = Utf8Dictionary.PLAIN; mode <= Utf8Dictionary.LOWER_CASE_INITIAL; mode++) {
+					Assert.assertArrayEquals(Utf8Dictionary.encode(LAST_NAMES.get(i), mode), dictionary.getBytes(i, mode));
+					Assert.assertEquals(Utf8Dictionary.apply(LAST_NAMES.get(i), mode),
+							dictionary.appendTo(new StringBuilder(), i, mode).toString());
+				}
+				Assert.assertEquals(LAST_NAMES.get(i).length(), dictionary.charLength(i));
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MarkovTextModelTest {
+
+	private static final String CORPUS = "The cat sat on the mat. The dog sat on the log!\n"
+			+ "Did the cat see the dog? The dog did not see the cat.";
+
+	@Test
+	public void shouldOnlyFollowTransitionsFromCorpus() {
+		MarkovTextModel model = MarkovTextModel.build(CORPUS, 1);
+		Set<String> pairs = new HashSet<String>();
+		List<String> words = Arrays.asList(CORPUS.split("\\s+"));
+		for (int i = 1; i < words.size(); i++) {
+			pairs.add(words.get(i - 1) + " " + words.get(i));
+		}
+		DataFactory df = DataFactory.create(8114);
+		for (int i = 0; i < 500; i++) {
+			String[] sentence = df.getSentence(model).split(" ");
+			Assert.assertTrue(sentence[0].equals("The") || sentence[0].equals("Did"));
+			String last = sentence[sentence.length - 1];
+			Assert.assertTrue(last, last.matches(".*[.!?]"));
+			for (int j = 1; j < sentence.length; j++) {
+				Assert.assertTrue(pairs.contains(sentence[j - 1] + " " + sentence[j]));
+			}
+		}
+	}
+
+	@Test
+	public void shouldRepeatCorpusSentencesWhenContextIsUnique() {
+		MarkovTextModel model = MarkovTextModel.build("one two three. four five six. seven eight", 3);
+		Set<String> expected = new HashSet<String>(Arrays.asList("one two three.", "four five six.", "seven eight"));
+		DataFactory df = DataFactory.create(8114);
+		Set<String> seen = new HashSet<String>();
+		for (int i = 0; i < 100; i++) {
+			String sentence = df.getSentence(model);
+			Assert.assertTrue(sentence, expected.contains(sentence));
+			seen.add(sentence);
+		}
+		Assert.assertEquals(expected, seen);
+		Assert.assertEquals(8, model.getVocabularySize());
+	}
+
+	@Test
+	public void shouldWeightTransitionsByCount() {
+		MarkovTextModel model = MarkovTextModel.build("a b. a b. a c.", 1);
+		DataFactory df = DataFactory.create(8114);
+		int b = 0;
+		for (int i = 0; i < 30000; i++) {
+			if (df.getSentence(model).equals("a b.")) {
+				b++;
+			}
+		}
+		Assert.assertEquals(20000, b, 500);
+	}
+
+	@Test
+	public void shouldBuildParagraphs() {
+		MarkovTextModel model = MarkovTextModel.build(CORPUS, 2);
+		DataFactory first = DataFactory.create(8114);
+		DataFactory second = DataFactory.create(8114);
+		String paragraph = first.getParagraph(model, 4);
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 4; i++) {
+			if (i > 0) {
+				sb.append(' ');
+			}
+			second.appendSentence(model, sb);
+		}
+		Assert.assertEquals(sb.toString(), paragraph);
+		Assert.assertEquals("", first.getParagraph(model, 0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldRejectEmptyCorpus() {
+		MarkovTextModel.build("  \n ", 2);
+	}
+}
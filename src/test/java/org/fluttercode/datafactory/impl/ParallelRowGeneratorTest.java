@@ -0,0 +1,87 @@
+package org.fluttercode.datafactory.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelRowGeneratorTest {
+
+	private final List<ForkJoinPool> pools = new ArrayList<ForkJoinPool>();
+
+	@After
+	public void shutdownPools() {
+		for (ForkJoinPool pool : pools) {
+			pool.shutdown();
+		}
+	}
+
+	private ParallelRowGenerator createGenerator(int threads) {
+		RowSchema schema = RowSchema.create()
+				.column("id", ColumnGenerator.sequence(1))
+				.column("name", ColumnGenerator.name())
+				.column("email", ColumnGenerator.emailAddress(), 90, null)
+				.column("birth_date", ColumnGenerator.birthDate());
+		ParallelRowGenerator generator = ParallelRowGenerator.create(schema, 73438);
+		generator.setChunkSize(1000);
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		pools.add(pool);
+		generator.setPool(pool);
+		return generator;
+	}
+
+	private byte[] export(int threads, long rows) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ThroughputStatistics stats = createGenerator(threads).export(DelimitedExporter.csv(),
+				Channels.newChannel(out), rows);
+		Assert.assertEquals(rows, stats.getRows());
+		Assert.assertEquals(out.size(), stats.getBytes());
+		return out.toByteArray();
+	}
+
+	@Test
+	public void shouldGenerateSameDataForAnyNumberOfThreads() throws Exception {
+		byte[] single = export(1, 25500);
+		Assert.assertArrayEquals(single, export(4, 25500));
+		Assert.assertArrayEquals(single, export(7, 25500));
+	}
+
+	@Test
+	public void shouldReturnChunksInOrder() throws Exception {
+		final List<Long> firstIds = new ArrayList<Long>();
+		createGenerator(4).generate(10500, (rows, chunkIndex) -> {
+			Row row = rows.newRow();
+			rows.next(row);
+			long firstId = row.getLong(0);
+			int count = 1;
+			while (rows.next(row)) {
+				count++;
+			}
+			Assert.assertEquals(chunkIndex == 10 ? 500 : 1000, count);
+			return firstId;
+		}, firstIds::add);
+		Assert.assertEquals(11, firstIds.size());
+		for (int i = 0; i < firstIds.size(); i++) {
+			Assert.assertEquals(1 + i * 1000L, firstIds.get(i).longValue());
+		}
+	}
+
+	@Test
+	public void shouldRegenerateSingleChunk() throws Exception {
+		ParallelRowGenerator generator = createGenerator(2);
+		RowSource first = generator.getChunk(3, 10000);
+		RowSource second = generator.getChunk(3, 10000);
+		Row firstRow = first.newRow();
+		Row secondRow = second.newRow();
+		while (first.next(firstRow)) {
+			Assert.assertTrue(second.next(secondRow));
+			Assert.assertEquals(firstRow.toString(), secondRow.toString());
+		}
+		Assert.assertEquals(4000L, firstRow.getLong(0));
+	}
+}
@@ -0,0 +1,68 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.Random;
+
+import org.fluttercode.datafactory.RandomSource;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RandomSourceTest {
+
+	private final int ITERATION_COUNT = 100000;
+
+	@Test
+	public void shouldMatchSplitMix64ReferenceOutput() {
+		RandomSource source = new SplitMix64RandomSource(1234567);
+		Assert.assertEquals(6457827717110365317L, source.nextLong());
+		Assert.assertEquals(3203168211198807973L, source.nextLong());
+		Assert.assertEquals(-8629252141511181193L, source.nextLong());
+	}
+
+	@Test
+	public void shouldMatchPcg32ReferenceOutput() {
+		RandomSource source = new Pcg32RandomSource(42, 54);
+		Assert.assertEquals(0xa15c02b7, source.nextInt());
+		Assert.assertEquals(0x7b47f409, source.nextInt());
+		Assert.assertEquals(0xba1d3330, source.nextInt());
+	}
+
+	@Test
+	public void shouldKeepSeededOutputWithDefaultSource() {
+		DataFactory seeded = DataFactory.create(73438);
+		DataFactory fromRandom = DataFactory.create(new Random(73438));
+		for (int i = 0; i < 1000; i++) {
+			Assert.assertEquals(seeded.getEmailAddress(), fromRandom.getEmailAddress());
+		}
+	}
+
+	@Test
+	public void shouldReturnNumbersWithinBound() {
+		RandomSource[] sources = { new SplitMix64RandomSource(73438),
+				new Xoroshiro128PlusPlusRandomSource(73438),
+				new Pcg32RandomSource(73438),
+				new LongSupplierRandomSource(new SplitMix64RandomSource(1)::nextLong) };
+		for (RandomSource source : sources) {
+			for (int i = 0; i < ITERATION_COUNT; i++) {
+				int bound = 1 + (i % 1000);
+				int value = source.nextInt(bound);
+				Assert.assertTrue(value >= 0 && value < bound);
+				double d = source.nextDouble();
+				Assert.assertTrue(d >= 0 && d < 1);
+			}
+		}
+	}
+
+	@Test
+	public void shouldGenerateTextWithFastSource() {
+		DataFactory dataFactory = DataFactory.create(new Xoroshiro128PlusPlusRandomSource(73438));
+		for (int i = 0; i < ITERATION_COUNT; i++) {
+			int len = dataFactory.getNumberUpTo(40);
+			Assert.assertEquals(len, dataFactory.getRandomText(len).length());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldErrorOnNonPositiveBound() {
+		new SplitMix64RandomSource(73438).nextInt(0);
+	}
+}
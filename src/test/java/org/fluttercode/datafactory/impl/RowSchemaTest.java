@@ -0,0 +1,79 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.Date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RowSchemaTest {
+
+	private RowSchema createSchema() {
+		return RowSchema.create()
+				.column("id", ColumnGenerator.sequence(1))
+				.column("first_name", ColumnGenerator.firstName())
+				.column("last_name", ColumnGenerator.lastName())
+				.column("email", ColumnGenerator.emailAddress(), 50, null)
+				.column("age", ColumnGenerator.numberBetween(18, 80), 50, -1)
+				.column("birth_date", ColumnGenerator.birthDate())
+				.column("status", ColumnGenerator.item(new String[] { "A", "B" }))
+				.column("code", ColumnGenerator.customNumber(df -> 42));
+	}
+
+	@Test
+	public void shouldGenerateRowsForSchema() {
+		RowPlan plan = createSchema().compile(DataFactory.create(73438));
+		Row row = plan.newRow();
+		int nullEmails = 0;
+		for (int i = 0; i < 1000; i++) {
+			Assert.assertTrue(plan.next(row));
+			Assert.assertEquals(i + 1, row.getLong(0));
+			Assert.assertTrue(row.getValue(1) instanceof String);
+			Assert.assertTrue(row.getValue(5) instanceof Date);
+			Assert.assertTrue(row.getLong(4) == -1 || (row.getLong(4) >= 18 && row.getLong(4) < 80));
+			Assert.assertEquals(42L, row.getLong(7));
+			if (row.isNull(3)) {
+				nullEmails++;
+			}
+		}
+		Assert.assertTrue("Email should be null about half the time", nullEmails > 400 && nullEmails < 600);
+	}
+
+	@Test
+	public void shouldRepeatRowsForSameSeed() {
+		RowPlan first = createSchema().compile(DataFactory.create(73438));
+		RowPlan second = createSchema().compile(DataFactory.create(73438));
+		Row firstRow = first.newRow();
+		Row secondRow = second.newRow();
+		for (int i = 0; i < 1000; i++) {
+			first.next(firstRow);
+			second.next(secondRow);
+			Assert.assertEquals(firstRow.toString(), secondRow.toString());
+		}
+	}
+
+	@Test
+	public void shouldLimitRows() {
+		RowSource source = createSchema().compile(DataFactory.create(73438)).limit(3);
+		Row row = source.newRow();
+		int count = 0;
+		while (source.next(row)) {
+			count++;
+		}
+		Assert.assertEquals(3, count);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldErrorOnDuplicateColumn() {
+		RowSchema.create().column("id", ColumnGenerator.firstName()).column("id", ColumnGenerator.lastName());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldErrorOnTextDefaultForNumberColumn() {
+		RowSchema.create().column("age", ColumnGenerator.numberBetween(1, 2), 50, "none");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void shouldErrorOnTextDefaultForDateColumn() {
+		RowSchema.create().column("born", ColumnGenerator.birthDate(), 50, "unknown");
+	}
+}
@@ -0,0 +1,108 @@
+package org.fluttercode.datafactory.impl;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.fluttercode.datafactory.NameDataValues;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UniqueValueGeneratorTest {
+
+	@Test
+	public void shouldPermuteWholeRange() {
+		for (long size : new long[] { 1, 2, 3, 17, 1000, 4097 }) {
+			KeyedPermutation permutation = new KeyedPermutation(size, 99);
+			Set<Long> values = new HashSet<Long>();
+			for (long i = 0; i < size; i++) {
+				long value = permutation.apply(i);
+				Assert.assertTrue(value >= 0 && value < size);
+				values.add(value);
+			}
+			Assert.assertEquals(size, values.size());
+		}
+	}
+
+	@Test
+	public void shouldStayInRangeForSizesOver62Bits() {
+		KeyedPermutation permutation = new KeyedPermutation(Long.MAX_VALUE, 99);
+		for (long i = 0; i < 10000; i++) {
+			long value = permutation.apply(i);
+			Assert.assertTrue(value >= 0 && value < Long.MAX_VALUE);
+		}
+	}
+
+	@Test
+	public void shouldGenerateUniqueNames() {
+		UniqueNameGenerator names = UniqueNameGenerator.create(5765297);
+		Set<String> values = new HashSet<String>();
+		for (int i = 0; i < 200000; i++) {
+			Assert.assertTrue(values.add(names.next()));
+		}
+	}
+
+	@Test
+	public void shouldGenerateUniqueEmailAddresses() {
+		UniqueEmailGenerator emails = UniqueEmailGenerator.create(5765297);
+		Set<String> values = new HashSet<String>();
+		for (int i = 0; i < 200000; i++) {
+			String email = emails.next();
+			Assert.assertTrue(email, email.matches("[a-z0-9.]+@[a-z0-9.]+"));
+			Assert.assertTrue(values.add(email));
+		}
+	}
+
+	@Test
+	public void shouldReturnSameValueForIndex() {
+		UniqueNameGenerator names = UniqueNameGenerator.create(12);
+		String name = names.get(12345678L);
+		names.next();
+		Assert.assertEquals(name, UniqueNameGenerator.create(12).get(12345678L));
+		Assert.assertEquals(names.get(0), UniqueNameGenerator.create(12).next());
+		Assert.assertFalse(name.equals(UniqueNameGenerator.create(13).get(12345678L)));
+	}
+
+	@Test
+	public void shouldGenerateEveryNameOnceBeforeExhausted() {
+		UniqueNameGenerator names = UniqueNameGenerator.create(new SmallNames(), 7);
+		// 2 first names, 27 initials, 2 last names, 2 suffixes plus none
+		Assert.assertEquals(2 * 27 * 2 * 3, names.getCapacity());
+		Set<String> values = new HashSet<String>();
+		while (names.getRemaining() > 0) {
+			Assert.assertTrue(values.add(names.next()));
+		}
+		Assert.assertEquals(names.getCapacity(), values.size());
+		try {
+			names.next();
+			Assert.fail("Expected exhaustion");
+		} catch (IllegalStateException expected) {
+		}
+	}
+
+	@Test
+	public void shouldSkipAmbiguousNames() {
+		UniqueNameGenerator names = UniqueNameGenerator.create(new SmallNames(), 7);
+		for (long i = 0; i < names.getCapacity(); i++) {
+			Assert.assertFalse(names.get(i).contains("Mary Ann"));
+		}
+	}
+
+	private static class SmallNames implements NameDataValues {
+
+		public String[] getFirstNames() {
+			return new String[] { "Andy", "Mary Ann", "Karen", "Andy" };
+		}
+
+		public String[] getLastNames() {
+			return new String[] { "Gibson", "Mayer", "B" };
+		}
+
+		public String[] getPrefixes() {
+			return new String[] { "Mr" };
+		}
+
+		public String[] getSuffixes() {
+			return new String[] { "Jr", "Sr" };
+		}
+	}
+}